@@ -0,0 +1,51 @@
+package com.careergate.candidate.controller;
+
+import com.careergate.candidate.service.CandidateSearchService;
+import com.careergate.common.response.ApiResponse;
+import com.careergate.common.response.CursorPage;
+import com.careergate.dto.candidate.CandidateMatchResponse;
+import com.careergate.dto.candidate.CandidateSearchRequest;
+import com.careergate.dto.candidate.CandidateSearchResponse;
+import com.careergate.dto.candidate.CandidateTextMatchResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/candidates")
+public class CandidateSearchController {
+
+    private final CandidateSearchService candidateSearchService;
+
+    public CandidateSearchController(CandidateSearchService candidateSearchService) {
+        this.candidateSearchService = candidateSearchService;
+    }
+
+    @GetMapping("/job/{jobId}")
+    public ResponseEntity<ApiResponse<List<CandidateMatchResponse>>> getBestCandidates(Principal principal,
+            @PathVariable UUID jobId, @RequestParam(defaultValue = "20") int limit) {
+        List<CandidateMatchResponse> candidates = candidateSearchService.findBestCandidates(principal.getName(),
+                jobId, limit);
+        return ResponseEntity.ok(ApiResponse.success(candidates, "Best candidates fetched successfully"));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<CandidateSearchResponse>>> searchCandidates(Principal principal,
+            CandidateSearchRequest request) {
+        List<CandidateSearchResponse> candidates = candidateSearchService.searchCandidates(principal.getName(),
+                request);
+        return ResponseEntity.ok(ApiResponse.success(candidates, "Candidates fetched successfully"));
+    }
+
+    @GetMapping("/text-search")
+    public ResponseEntity<ApiResponse<CursorPage<CandidateTextMatchResponse>>> searchResumes(Principal principal,
+            @RequestParam String q, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<CandidateTextMatchResponse> candidates = candidateSearchService.searchResumes(principal.getName(),
+                q, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(candidates, "Candidates fetched successfully"));
+    }
+}
@@ -0,0 +1,368 @@
+package com.careergate.candidate.service;
+
+import com.careergate.common.collect.TopKLongs;
+import com.careergate.compatibility.service.LocalCompatibilityScorer;
+import com.careergate.user.event.ProfileChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks every candidate in the user base against a job with the local
+ * compatibility score (see {@link LocalCompatibilityScorer}), without touching
+ * the database per request.
+ *
+ * Candidates are held as packed primitive rows: one int per rated skill with
+ * the skill ordinal in the high bits and the rating in the low three, plus the
+ * total experience in tenths of a year (the column is DECIMAL(4,1), so this is
+ * exact). A job is turned into a minimum-rating lookup table over skill
+ * ordinals, after which scoring a candidate is a scan of a few ints. The
+ * candidate range is split across the fork/join pool; each leaf keeps its own
+ * bounded top-K heap and the heaps are merged on the way back up.
+ *
+ * The rows are loaded at startup and a candidate's row is replaced after any
+ * transaction that changes their profile or skills commits.
+ */
+@Service
+@Slf4j
+public class CandidateRanker {
+
+    private static final int RATING_BITS = 3;
+    private static final int RATING_MASK = (1 << RATING_BITS) - 1;
+    private static final short NO_EXPERIENCE = -1;
+    // Candidates per fork/join leaf; large enough that task overhead is noise
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private static final String LOAD_CANDIDATES_SQL = """
+            SELECT u.id, p.total_experience
+            FROM users u
+            LEFT JOIN user_profile p ON p.user_id = u.id
+            WHERE u.role = 'CANDIDATE'
+            """;
+    private static final String LOAD_SKILLS_SQL = """
+            SELECT us.user_id, us.skill_id, us.rating
+            FROM user_skills us
+            JOIN users u ON u.id = us.user_id
+            WHERE u.role = 'CANDIDATE'
+            ORDER BY us.user_id
+            """;
+    private static final String CANDIDATE_SQL = LOAD_CANDIDATES_SQL + " AND u.id = ?";
+    private static final String CANDIDATE_SKILLS_SQL = "SELECT skill_id, rating FROM user_skills WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<UUID, Integer> skillOrdinals = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    // Indexed by candidate ordinal. Writers fill and publish the arrays before
+    // raising count; readers read count first, so every row below it is visible.
+    private volatile UUID[] userIds = new UUID[0];
+    private volatile short[] experienceTenths = new short[0];
+    private volatile int[][] skillRows = new int[0][];
+    private volatile int count;
+
+    public CandidateRanker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<UUID, Integer> loaded = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        List<BigDecimal> experience = new ArrayList<>();
+        jdbcTemplate.query(LOAD_CANDIDATES_SQL, rs -> {
+            UUID userId = rs.getObject(1, UUID.class);
+            if (loaded.putIfAbsent(userId, ids.size()) == null) {
+                ids.add(userId);
+                experience.add(rs.getBigDecimal(2));
+            }
+        });
+
+        int size = ids.size();
+        UUID[] newIds = ids.toArray(new UUID[0]);
+        short[] newExperience = new short[size];
+        int[][] newRows = new int[size][];
+        for (int i = 0; i < size; i++) {
+            newExperience[i] = toTenths(experience.get(i));
+        }
+
+        RowBuilder row = new RowBuilder();
+        UUID[] current = new UUID[1];
+        jdbcTemplate.query(LOAD_SKILLS_SQL, rs -> {
+            UUID userId = rs.getObject(1, UUID.class);
+            if (!userId.equals(current[0])) {
+                if (current[0] != null) {
+                    newRows[loaded.get(current[0])] = row.build();
+                }
+                current[0] = userId;
+                row.clear();
+            }
+            row.add(skillOrdinalOf(rs.getObject(2, UUID.class)), rs.getInt(3));
+        });
+        if (current[0] != null) {
+            newRows[loaded.get(current[0])] = row.build();
+        }
+        for (int i = 0; i < size; i++) {
+            if (newRows[i] == null) {
+                newRows[i] = new int[0];
+            }
+        }
+
+        ordinals.clear();
+        ordinals.putAll(loaded);
+        userIds = newIds;
+        experienceTenths = newExperience;
+        skillRows = newRows;
+        count = size;
+        log.info("Candidate ranker loaded {} candidates and {} skills in {} ms", size, skillOrdinals.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        refresh(event.getUserId());
+    }
+
+    /**
+     * Reloads one candidate's experience and skills. Users that are not
+     * candidates are ignored.
+     */
+    public synchronized void refresh(UUID userId) {
+        List<BigDecimal> experience = jdbcTemplate.query(CANDIDATE_SQL, (rs, i) -> rs.getBigDecimal(2), userId);
+        if (experience.isEmpty()) {
+            return;
+        }
+        RowBuilder row = new RowBuilder();
+        RowCallbackHandler addSkill = rs -> row.add(skillOrdinalOf(rs.getObject(1, UUID.class)), rs.getInt(2));
+        jdbcTemplate.query(CANDIDATE_SKILLS_SQL, addSkill, userId);
+
+        Integer existing = ordinals.get(userId);
+        if (existing != null) {
+            experienceTenths[existing] = toTenths(experience.get(0));
+            skillRows[existing] = row.build();
+            return;
+        }
+
+        int ordinal = count;
+        if (ordinal == userIds.length) {
+            int capacity = Math.max(16, ordinal * 2);
+            userIds = Arrays.copyOf(userIds, capacity);
+            experienceTenths = Arrays.copyOf(experienceTenths, capacity);
+            skillRows = Arrays.copyOf(skillRows, capacity);
+        }
+        userIds[ordinal] = userId;
+        experienceTenths[ordinal] = toTenths(experience.get(0));
+        skillRows[ordinal] = row.build();
+        ordinals.put(userId, ordinal);
+        count = ordinal + 1;
+    }
+
+    /**
+     * The best candidates for a job, highest compatibility first.
+     * requiredRatings maps each required skill id to its minimum rating.
+     */
+    public List<CandidateMatch> topCandidates(Map<UUID, Integer> requiredRatings, BigDecimal minExperience,
+            BigDecimal maxExperience, int limit) {
+        long start = System.nanoTime();
+        int size = count;
+        Snapshot snapshot = new Snapshot(userIds, experienceTenths, skillRows);
+
+        // Skills nobody has rated still count towards the required total
+        byte[] minRating = new byte[skillOrdinals.size() + 1];
+        for (Map.Entry<UUID, Integer> entry : requiredRatings.entrySet()) {
+            Integer skill = skillOrdinals.get(entry.getKey());
+            if (skill != null && skill < minRating.length) {
+                int min = entry.getValue() != null ? entry.getValue() : 1;
+                minRating[skill] = (byte) Math.max(min, 1);
+            }
+        }
+        Job job = new Job(minRating, requiredRatings.size(), toDouble(minExperience), toDouble(maxExperience));
+
+        TopKLongs top = ForkJoinPool.commonPool().invoke(new RankTask(snapshot, job, 0, size, limit));
+
+        long[] ranked = top.toSortedArray();
+        List<CandidateMatch> matches = new ArrayList<>(ranked.length);
+        for (long key : ranked) {
+            int ordinal = (int) (key & Integer.MAX_VALUE);
+            matches.add(job.match(snapshot, ordinal));
+        }
+        log.debug("Ranked {} candidates in {} us", size, (System.nanoTime() - start) / 1000);
+        return matches;
+    }
+
+    // Callers hold the monitor
+    private int skillOrdinalOf(UUID skillId) {
+        return skillOrdinals.computeIfAbsent(skillId, k -> skillOrdinals.size());
+    }
+
+    private static short toTenths(BigDecimal experience) {
+        return experience != null ? experience.movePointRight(1).shortValue() : NO_EXPERIENCE;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class CandidateMatch {
+        private UUID userId;
+        private BigDecimal totalExperience;
+        private int compatibilityScore;
+        private int skillMatchScore;
+        private int experienceScore;
+        private int matchedSkills;
+        private int requiredSkills;
+    }
+
+    private static final class Snapshot {
+        private final UUID[] userIds;
+        private final short[] experienceTenths;
+        private final int[][] skillRows;
+
+        Snapshot(UUID[] userIds, short[] experienceTenths, int[][] skillRows) {
+            this.userIds = userIds;
+            this.experienceTenths = experienceTenths;
+            this.skillRows = skillRows;
+        }
+    }
+
+    /**
+     * A job compiled for scoring. Credit per skill and the rounding are the
+     * same as LocalCompatibilityScorer, so the ranking agrees with the scores
+     * candidates see on the job page.
+     */
+    private static final class Job {
+        private final byte[] minRating;
+        private final int requiredCount;
+        private final double minExperience;
+        private final double maxExperience;
+
+        Job(byte[] minRating, int requiredCount, double minExperience, double maxExperience) {
+            this.minRating = minRating;
+            this.requiredCount = requiredCount;
+            this.minExperience = minExperience;
+            this.maxExperience = maxExperience;
+        }
+
+        // Overall score, then skill score, then ordinal
+        long rankKey(Snapshot snapshot, int ordinal) {
+            int skillScore = skillScore(snapshot.skillRows[ordinal]);
+            int experienceScore = experienceScore(snapshot.experienceTenths[ordinal]);
+            int overall = LocalCompatibilityScorer.overallScore(skillScore, experienceScore);
+            return ((long) overall << 38) | ((long) skillScore << 31) | ordinal;
+        }
+
+        CandidateMatch match(Snapshot snapshot, int ordinal) {
+            int[] row = snapshot.skillRows[ordinal];
+            int matched = 0;
+            for (int packed : row) {
+                int min = minRatingOf(packed >>> RATING_BITS);
+                if (min > 0 && (packed & RATING_MASK) >= min) {
+                    matched++;
+                }
+            }
+            int skillScore = skillScore(row);
+            short tenths = snapshot.experienceTenths[ordinal];
+            int experienceScore = experienceScore(tenths);
+            return new CandidateMatch(snapshot.userIds[ordinal],
+                    tenths == NO_EXPERIENCE ? null : BigDecimal.valueOf(tenths, 1),
+                    LocalCompatibilityScorer.overallScore(skillScore, experienceScore), skillScore,
+                    experienceScore, matched, requiredCount);
+        }
+
+        private int skillScore(int[] row) {
+            if (requiredCount == 0) {
+                return 100;
+            }
+            long credit = 0;
+            for (int packed : row) {
+                int min = minRatingOf(packed >>> RATING_BITS);
+                if (min > 0) {
+                    credit += LocalCompatibilityScorer.skillCredit(packed & RATING_MASK, min);
+                }
+            }
+            return LocalCompatibilityScorer.skillScore(credit, requiredCount);
+        }
+
+        private int experienceScore(short tenths) {
+            double experience = tenths == NO_EXPERIENCE ? Double.NaN : tenths / 10.0;
+            return LocalCompatibilityScorer.experienceScore(experience, minExperience, maxExperience);
+        }
+
+        // Skills first rated after the job was compiled are not required by it
+        private int minRatingOf(int skill) {
+            return skill < minRating.length ? minRating[skill] : 0;
+        }
+    }
+
+    private static final class RankTask extends RecursiveTask<TopKLongs> {
+        private final Snapshot snapshot;
+        private final Job job;
+        private final int from;
+        private final int to;
+        private final int limit;
+
+        RankTask(Snapshot snapshot, Job job, int from, int to, int limit) {
+            this.snapshot = snapshot;
+            this.job = job;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        @Override
+        protected TopKLongs compute() {
+            if (to - from <= LEAF_SIZE) {
+                TopKLongs top = new TopKLongs(limit);
+                for (int i = from; i < to; i++) {
+                    top.offer(job.rankKey(snapshot, i));
+                }
+                return top;
+            }
+            int mid = (from + to) >>> 1;
+            RankTask left = new RankTask(snapshot, job, from, mid, limit);
+            left.fork();
+            TopKLongs top = new RankTask(snapshot, job, mid, to, limit).compute();
+            top.addAll(left.join());
+            return top;
+        }
+    }
+
+    private static final class RowBuilder {
+        private int[] row = new int[16];
+        private int size;
+
+        void add(int skill, int rating) {
+            if (size == row.length) {
+                row = Arrays.copyOf(row, size * 2);
+            }
+            row[size++] = (skill << RATING_BITS) | (rating & RATING_MASK);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(row, size);
+        }
+    }
+}
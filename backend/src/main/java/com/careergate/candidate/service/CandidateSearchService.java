@@ -0,0 +1,199 @@
+package com.careergate.candidate.service;
+
+import com.careergate.common.embedding.EmbeddingProvider;
+import com.careergate.common.response.CursorPage;
+import com.careergate.common.response.Cursors;
+import com.careergate.dto.candidate.CandidateMatchResponse;
+import com.careergate.dto.candidate.CandidateSearchRequest;
+import com.careergate.dto.candidate.CandidateSearchResponse;
+import com.careergate.dto.candidate.CandidateTextMatchResponse;
+import com.careergate.entities.Job;
+import com.careergate.entities.Role;
+import com.careergate.entities.User;
+import com.careergate.repositories.JobRepository;
+import com.careergate.repositories.JobRequiredSkillRepository;
+import com.careergate.repositories.UserProfileRepository;
+import com.careergate.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CandidateSearchService {
+
+    private static final int MAX_CANDIDATES = 200;
+
+    private final JobRepository jobRepository;
+    private final JobRequiredSkillRepository jobRequiredSkillRepository;
+    private final UserRepository userRepository;
+    private final CandidateRanker candidateRanker;
+    private final UserProfileRepository profileRepository;
+    private final EmbeddingProvider embeddingProvider;
+    private final int efSearch;
+
+    public CandidateSearchService(JobRepository jobRepository, JobRequiredSkillRepository jobRequiredSkillRepository,
+            UserRepository userRepository, CandidateRanker candidateRanker, UserProfileRepository profileRepository,
+            EmbeddingProvider embeddingProvider,
+            @Value("${careergate.candidate.search.ef-search:200}") int efSearch) {
+        this.jobRepository = jobRepository;
+        this.jobRequiredSkillRepository = jobRequiredSkillRepository;
+        this.userRepository = userRepository;
+        this.candidateRanker = candidateRanker;
+        this.profileRepository = profileRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.efSearch = efSearch;
+    }
+
+    /**
+     * The best candidates in the whole user base for one of the recruiter's
+     * jobs, whether or not they applied.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateMatchResponse> findBestCandidates(String recruiterEmail, UUID jobId, int limit) {
+        Job job = findOwnJob(recruiterEmail, jobId);
+
+        Map<UUID, Integer> requiredRatings = new HashMap<>();
+        for (Object[] row : jobRequiredSkillRepository.findSkillIdsAndMinRatingsByJobId(jobId)) {
+            requiredRatings.put((UUID) row[0], (Integer) row[1]);
+        }
+        List<CandidateRanker.CandidateMatch> matches = candidateRanker.topCandidates(requiredRatings,
+                job.getMinExperience(), job.getMaxExperience(), Math.max(1, Math.min(limit, MAX_CANDIDATES)));
+
+        Map<UUID, User> users = userRepository.findAllById(matches.stream()
+                .map(CandidateRanker.CandidateMatch::getUserId).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<CandidateMatchResponse> candidates = new ArrayList<>(matches.size());
+        for (CandidateRanker.CandidateMatch match : matches) {
+            User user = users.get(match.getUserId());
+            if (user == null) {
+                continue; // deleted since it was loaded
+            }
+            candidates.add(CandidateMatchResponse.builder()
+                    .userId(user.getId())
+                    .email(user.getEmail())
+                    .totalExperience(match.getTotalExperience())
+                    .compatibilityScore(match.getCompatibilityScore())
+                    .skillMatchScore(match.getSkillMatchScore())
+                    .experienceScore(match.getExperienceScore())
+                    .matchedSkills(match.getMatchedSkills())
+                    .requiredSkills(match.getRequiredSkills())
+                    .build());
+        }
+        return candidates;
+    }
+
+    /**
+     * Natural-language search over resumes: nearest resume embeddings to the
+     * query (or to one of the recruiter's jobs), filtered by experience, CTC
+     * and notice period.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSearchResponse> searchCandidates(String recruiterEmail, CandidateSearchRequest request) {
+        String embedding;
+        if (request.getJobId() != null) {
+            findOwnJob(recruiterEmail, request.getJobId());
+            embedding = jobRepository.findEmbedding(request.getJobId())
+                    .orElseThrow(() -> new RuntimeException("Job is still being indexed, try again shortly"));
+        } else if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            requireRecruiter(recruiterEmail);
+            embedding = EmbeddingProvider.toPgVector(embeddingProvider.embed(request.getQuery()));
+        } else {
+            throw new RuntimeException("Either query or jobId is required");
+        }
+
+        int size = Math.max(1, Math.min(request.getSize(), MAX_CANDIDATES));
+        profileRepository.setLocalHnswEfSearch(String.valueOf(Math.max(efSearch, size)));
+        List<CandidateSearchResponse> candidates = new ArrayList<>();
+        for (Object[] row : profileRepository.searchByResumeEmbedding(embedding, request.getMinExperience(),
+                request.getMaxExperience(), request.getMaxExpectedCtc(), request.getMaxNoticePeriodDays(), size)) {
+            candidates.add(CandidateSearchResponse.builder()
+                    .userId((UUID) row[0])
+                    .email((String) row[1])
+                    .totalExperience((BigDecimal) row[2])
+                    .expectedCtc((BigDecimal) row[3])
+                    .noticePeriodDays(row[4] != null ? ((Number) row[4]).intValue() : null)
+                    .similarity(((Number) row[5]).doubleValue())
+                    .build());
+        }
+        return candidates;
+    }
+
+    /**
+     * Full-text search over resumes, best match first. Quoted phrases match
+     * as phrases.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CandidateTextMatchResponse> searchResumes(String recruiterEmail, String query, String cursor,
+            int size) {
+        requireRecruiter(recruiterEmail);
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        size = Math.max(1, Math.min(size, MAX_CANDIDATES));
+        Float afterRank = null;
+        UUID afterUserId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = Cursors.decode(cursor, 3);
+            try {
+                afterRank = Float.valueOf(parts[1]);
+                afterUserId = UUID.fromString(parts[2]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        List<Object[]> rows = profileRepository.searchByResumeText(query, afterRank, afterUserId,
+                CursorPage.fetchSize(size));
+        boolean hasMore = CursorPage.hasMore(rows, size);
+        rows = CursorPage.trim(rows, size);
+        List<CandidateTextMatchResponse> matches = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            matches.add(CandidateTextMatchResponse.builder()
+                    .userId((UUID) row[0])
+                    .email((String) row[1])
+                    .totalExperience((BigDecimal) row[2])
+                    .rank(((Number) row[3]).floatValue())
+                    .highlight((String) row[4])
+                    .build());
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CandidateTextMatchResponse last = matches.get(matches.size() - 1);
+            nextCursor = Cursors.encode("TEXT", Float.toString(last.getRank()), last.getUserId().toString());
+        }
+        return CursorPage.<CandidateTextMatchResponse>builder()
+                .items(matches)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Job-scoped calls are covered by findOwnJob; free-form searches reach every candidate
+    private void requireRecruiter(String email) {
+        User user = userRepository.findByEmail(email).orElseThrow();
+        if (user.getRole() != Role.RECRUITER) {
+            throw new RuntimeException("Only recruiters can search candidates");
+        }
+    }
+
+    private Job findOwnJob(String recruiterEmail, UUID jobId) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        User recruiter = userRepository.findByEmail(recruiterEmail).orElseThrow();
+        if (!job.getRecruiter().getId().equals(recruiter.getId())) {
+            throw new RuntimeException("You are not authorized to view candidates for this job");
+        }
+        return job;
+    }
+}
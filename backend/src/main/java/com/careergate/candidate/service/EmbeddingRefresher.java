@@ -0,0 +1,138 @@
+package com.careergate.candidate.service;
+
+import com.careergate.common.embedding.EmbeddingProvider;
+import com.careergate.entities.Job;
+import com.careergate.job.event.JobPostedEvent;
+import com.careergate.job.event.JobUpdatedEvent;
+import com.careergate.repositories.JobRepository;
+import com.careergate.repositories.JobRequiredSkillRepository;
+import com.careergate.repositories.UserProfileRepository;
+import com.careergate.user.event.ResumeUploadedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the resume and job embeddings used by candidate search up to date.
+ *
+ * Writers that change the source text set the embedding to NULL in their own
+ * transaction; after commit the row is re-embedded on a single low-priority
+ * thread. A full queue drops the event rather than delaying the request, and
+ * a periodic sweep embeds every row still NULL, which also backfills existing
+ * data after the columns are added.
+ */
+@Service
+@Slf4j
+public class EmbeddingRefresher {
+
+    private final UserProfileRepository profileRepository;
+    private final JobRepository jobRepository;
+    private final JobRequiredSkillRepository jobRequiredSkillRepository;
+    private final EmbeddingProvider embeddingProvider;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ThreadPoolExecutor executor;
+
+    public EmbeddingRefresher(UserProfileRepository profileRepository, JobRepository jobRepository,
+            JobRequiredSkillRepository jobRequiredSkillRepository, EmbeddingProvider embeddingProvider,
+            @Value("${careergate.embedding.refresh.enabled:true}") boolean enabled,
+            @Value("${careergate.embedding.refresh.batch-size:200}") int batchSize,
+            @Value("${careergate.embedding.refresh.queue-capacity:500}") int queueCapacity) {
+        this.profileRepository = profileRepository;
+        this.jobRepository = jobRepository;
+        this.jobRequiredSkillRepository = jobRequiredSkillRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("embedding-refresh-", 0).priority(Thread.MIN_PRIORITY)
+                        .daemon(true).factory());
+    }
+
+    @TransactionalEventListener
+    public void onResumeUploaded(ResumeUploadedEvent event) {
+        submit(() -> embedResume(event.getUserId()));
+    }
+
+    @TransactionalEventListener
+    public void onJobPosted(JobPostedEvent event) {
+        submit(() -> embedJob(event.getJobId()));
+    }
+
+    @TransactionalEventListener
+    public void onJobUpdated(JobUpdatedEvent event) {
+        submit(() -> embedJob(event.getJobId()));
+    }
+
+    @Scheduled(initialDelayString = "${careergate.embedding.refresh.sweep-interval-ms:300000}",
+            fixedDelayString = "${careergate.embedding.refresh.sweep-interval-ms:300000}")
+    public void sweep() {
+        // Only top up an idle queue, so events are never stuck behind a backfill
+        if (!enabled || !executor.getQueue().isEmpty()) {
+            return;
+        }
+        List<UUID> userIds = profileRepository.findUserIdsMissingResumeEmbedding(batchSize);
+        List<UUID> jobIds = jobRepository.findIdsMissingEmbedding(batchSize);
+        if (!userIds.isEmpty() || !jobIds.isEmpty()) {
+            log.info("Embedding {} resumes and {} jobs without an embedding", userIds.size(), jobIds.size());
+        }
+        userIds.forEach(userId -> submit(() -> embedResume(userId)));
+        jobIds.forEach(jobId -> submit(() -> embedJob(jobId)));
+    }
+
+    private void submit(Runnable task) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    // The row stays NULL and is retried by the next sweep
+                    log.warn("Embedding refresh failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Embedding refresh queue is full; the next sweep will pick the row up");
+        }
+    }
+
+    private void embedResume(UUID userId) {
+        profileRepository.findByUserId(userId)
+                .filter(profile -> profile.getResumeText() != null && !profile.getResumeText().isBlank())
+                .ifPresent(profile -> profileRepository.updateResumeEmbedding(userId,
+                        EmbeddingProvider.toPgVector(embeddingProvider.embed(profile.getResumeText()))));
+    }
+
+    private void embedJob(UUID jobId) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        StringBuilder text = new StringBuilder()
+                .append(job.getTitle()).append('\n')
+                .append(job.getCompanyName()).append('\n')
+                .append(job.getDescription());
+        for (Object[] row : jobRequiredSkillRepository.findSkillNamesByJobIdIn(List.of(jobId))) {
+            text.append('\n').append((String) row[1]);
+        }
+        jobRepository.updateEmbedding(jobId, EmbeddingProvider.toPgVector(embeddingProvider.embed(text.toString())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
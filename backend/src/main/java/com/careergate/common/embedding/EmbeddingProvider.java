@@ -0,0 +1,33 @@
+package com.careergate.common.embedding;
+
+/**
+ * Turns text into a fixed-size, L2-normalised vector for pgvector similarity
+ * search. Implementations must be deterministic: the same text always maps to
+ * the same vector, since stored embeddings are compared against new ones.
+ */
+public interface EmbeddingProvider {
+
+    /**
+     * Width of every vector this provider returns; must match the vector(n)
+     * columns it is stored in.
+     */
+    int dimensions();
+
+    float[] embed(String text);
+
+    /**
+     * Formats a vector as a pgvector literal ("[0.1,0.2,...]") for binding as a
+     * String parameter and casting with CAST(:param AS vector).
+     */
+    static String toPgVector(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 8);
+        sb.append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.careergate.common.embedding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline embedding via feature hashing: every word and every character
+ * trigram of a word (with boundary padding) is hashed into one of 512 buckets
+ * with a hash-derived sign, then the vector is L2-normalised. No model or
+ * network access is needed, and texts that share most of their vocabulary land
+ * close together in cosine distance.
+ *
+ * Words and trigrams are hashed straight from the lower-cased text without
+ * creating substrings.
+ */
+@Component
+@ConditionalOnProperty(name = "careergate.embedding.provider", havingValue = "hashed-ngram", matchIfMissing = true)
+public class HashedNgramEmbeddingProvider implements EmbeddingProvider {
+
+    public static final int DIMENSIONS = 512;
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+    private static final int WORD_SEED = 0x3c6ef372;
+    private static final int TRIGRAM_SEED = 0x1b873593;
+
+    @Override
+    public int dimensions() {
+        return DIMENSIONS;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[DIMENSIONS];
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+
+        String lower = text.toLowerCase(java.util.Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && isWordChar(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(vector, lower, start, i);
+                start = -1;
+            }
+        }
+        normalise(vector);
+        return vector;
+    }
+
+    private void addWord(float[] vector, String text, int start, int end) {
+        int h = WORD_SEED;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        add(vector, h, WORD_WEIGHT);
+
+        // Trigrams over " word " so that prefixes and suffixes are features too
+        int padded = end - start + 2;
+        for (int i = 0; i + 3 <= padded; i++) {
+            int t = TRIGRAM_SEED;
+            for (int j = i; j < i + 3; j++) {
+                char c = j == 0 || j == padded - 1 ? ' ' : text.charAt(start + j - 1);
+                t = 31 * t + c;
+            }
+            add(vector, t, TRIGRAM_WEIGHT);
+        }
+    }
+
+    private static void add(float[] vector, int hash, float weight) {
+        int h = mix(hash);
+        vector[Math.floorMod(h, DIMENSIONS)] += (h & 0x40000000) == 0 ? weight : -weight;
+    }
+
+    // murmur3 finaliser, spreads similar n-gram hashes across buckets
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static boolean isWordChar(char c) {
+        // '+' and '#' keep names like C++ and C# intact
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private static void normalise(float[] vector) {
+        double sum = 0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        if (sum == 0) {
+            return;
+        }
+        float inv = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inv;
+        }
+    }
+}
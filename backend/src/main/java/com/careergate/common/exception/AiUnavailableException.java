@@ -0,0 +1,13 @@
+package com.careergate.common.exception;
+
+/**
+ * Thrown when an LLM call is rejected or abandoned by the resilience layer
+ * (open circuit, full bulkhead, rate limit or timeout) rather than failing on
+ * its own.
+ */
+public class AiUnavailableException extends RuntimeException {
+
+    public AiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.careergate.common.exception;
+
+/**
+ * Thrown when the asynchronous analysis queue has no room for another
+ * request; the client should retry later.
+ */
+public class AnalysisQueueFullException extends RuntimeException {
+
+    public AnalysisQueueFullException(String message) {
+        super(message);
+    }
+}
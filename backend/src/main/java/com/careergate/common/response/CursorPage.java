@@ -0,0 +1,44 @@
+package com.careergate.common.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Rows to ask the database for when serving a page of the given size: one
+     * extra, so the presence of a next page is known without a count query.
+     */
+    public static int fetchSize(int size) {
+        return size + 1;
+    }
+
+    /**
+     * Whether rows fetched with {@link #fetchSize(int)} hold more than one page.
+     */
+    public static boolean hasMore(List<?> rows, int size) {
+        return rows.size() > size;
+    }
+
+    /**
+     * The rows that belong on the page, without the extra look-ahead row.
+     */
+    public static <T> List<T> trim(List<T> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+}
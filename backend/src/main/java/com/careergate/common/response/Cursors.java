@@ -0,0 +1,32 @@
+package com.careergate.common.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the fields of the last row on a page, joined with '|'
+ * and base64url-encoded. Malformed cursors fail with "Invalid cursor".
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int parts) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] fields = decoded.split("\\|", -1);
+            if (fields.length != parts) {
+                throw new IllegalArgumentException("expected " + parts + " parts");
+            }
+            return fields;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
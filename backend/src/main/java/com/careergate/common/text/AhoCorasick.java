@@ -0,0 +1,256 @@
+package com.careergate.common.text;
+
+import java.util.Arrays;
+
+/**
+ * Immutable Aho-Corasick automaton over char patterns, for finding every
+ * pattern in a text in one linear pass.
+ *
+ * The API is a state machine rather than a callback so that scans allocate
+ * nothing: feed chars through {@link #next}, then walk the patterns ending at
+ * the new state with {@link #output} / {@link #nextOutput}:
+ *
+ * <pre>
+ * int state = AhoCorasick.ROOT;
+ * for (char c : text) {
+ *     state = automaton.next(state, c);
+ *     for (int s = automaton.output(state); s != AhoCorasick.ROOT; s = automaton.nextOutput(s)) {
+ *         int pattern = automaton.patternOf(s); // ends at c
+ *     }
+ * }
+ * </pre>
+ *
+ * Patterns are matched verbatim; callers fold case before feeding chars.
+ * Payloads are kept by the caller in arrays indexed by pattern id.
+ */
+public final class AhoCorasick {
+
+    public static final int ROOT = 0;
+
+    private final TransitionTable transitions;
+    private final int[] failure;
+    private final int[] pattern;
+    private final int[] outputLink;
+    private final int[] patternLength;
+
+    private AhoCorasick(TransitionTable transitions, int[] failure, int[] pattern, int[] outputLink,
+            int[] patternLength) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.pattern = pattern;
+        this.outputLink = outputLink;
+        this.patternLength = patternLength;
+    }
+
+    public int next(int state, char c) {
+        while (true) {
+            int target = transitions.get(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    /**
+     * First state on the chain of patterns ending at this state, or ROOT if none.
+     */
+    public int output(int state) {
+        return pattern[state] >= 0 ? state : outputLink[state];
+    }
+
+    public int nextOutput(int outputState) {
+        return outputLink[outputState];
+    }
+
+    public int patternOf(int outputState) {
+        return pattern[outputState];
+    }
+
+    public int patternLength(int patternId) {
+        return patternLength[patternId];
+    }
+
+    public int patternCount() {
+        return patternLength.length;
+    }
+
+    /**
+     * Mutable trie the automaton is built from. It only grows, and can be built
+     * again after more patterns are added; each build recomputes the failure
+     * links in one breadth-first pass and snapshots the arrays. Not thread-safe.
+     */
+    public static final class Builder {
+        private final TransitionTable transitions = new TransitionTable();
+        private int[] patternLength = new int[16];
+        private int patterns;
+        private int[] pattern = new int[64];
+        private int[] firstChild = new int[64];
+        private int[] nextSibling = new int[64];
+        private char[] edge = new char[64];
+        private int size = 1;
+
+        public Builder() {
+            pattern[ROOT] = -1;
+            firstChild[ROOT] = -1;
+        }
+
+        /**
+         * Adds a pattern and returns its id; adding an existing pattern returns
+         * the id it already has. Empty patterns are rejected.
+         */
+        public int add(CharSequence text) {
+            if (text.length() == 0) {
+                throw new IllegalArgumentException("Empty pattern");
+            }
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int target = transitions.get(state, c);
+                state = target >= 0 ? target : newState(state, c);
+            }
+            if (pattern[state] < 0) {
+                if (patterns == patternLength.length) {
+                    patternLength = Arrays.copyOf(patternLength, patterns * 2);
+                }
+                patternLength[patterns] = text.length();
+                pattern[state] = patterns++;
+            }
+            return pattern[state];
+        }
+
+        public int patternCount() {
+            return patterns;
+        }
+
+        public int stateCount() {
+            return size;
+        }
+
+        public AhoCorasick build() {
+            int[] failure = new int[size];
+            int[] outputLink = new int[size];
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+            for (int child = firstChild[ROOT]; child >= 0; child = nextSibling[child]) {
+                queue[tail++] = child;
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                for (int child = firstChild[state]; child >= 0; child = nextSibling[child]) {
+                    int f = failure[state];
+                    int target;
+                    while ((target = transitions.get(f, edge[child])) < 0 && f != ROOT) {
+                        f = failure[f];
+                    }
+                    failure[child] = target >= 0 ? target : ROOT;
+                    int suffix = failure[child];
+                    outputLink[child] = pattern[suffix] >= 0 ? suffix : outputLink[suffix];
+                    queue[tail++] = child;
+                }
+            }
+            return new AhoCorasick(transitions.copy(), failure, Arrays.copyOf(pattern, size), outputLink,
+                    Arrays.copyOf(patternLength, patterns));
+        }
+
+        private int newState(int parent, char c) {
+            if (size == pattern.length) {
+                int capacity = size * 2;
+                pattern = Arrays.copyOf(pattern, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                edge = Arrays.copyOf(edge, capacity);
+            }
+            int state = size++;
+            pattern[state] = -1;
+            firstChild[state] = -1;
+            edge[state] = c;
+            nextSibling[state] = firstChild[parent];
+            firstChild[parent] = state;
+            transitions.put(parent, c, state);
+            return state;
+        }
+    }
+
+    /**
+     * Open-addressing hash map from (state, char) to target state, stored in
+     * two primitive arrays so lookups allocate nothing.
+     */
+    private static final class TransitionTable {
+        private long[] keys;
+        private int[] values;
+        private int count;
+
+        TransitionTable() {
+            this(new long[128], new int[128], 0);
+        }
+
+        private TransitionTable(long[] keys, int[] values, int count) {
+            this.keys = keys;
+            this.values = values;
+            this.count = count;
+        }
+
+        // Key 0 marks an empty slot, so the stored key is offset by one
+        private static long key(int state, char c) {
+            return (((long) state << 16) | c) + 1;
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        int get(int state, char c) {
+            long key = key(state, c);
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(int state, char c, int target) {
+            if ((count + 1) * 2 > keys.length) {
+                resize();
+            }
+            insert(key(state, c), target);
+        }
+
+        private void insert(long key, int target) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                count++;
+            }
+            keys[i] = key;
+            values[i] = target;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        TransitionTable copy() {
+            return new TransitionTable(keys.clone(), values.clone(), count);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.careergate.compatibility.controller;
 
 import com.careergate.common.response.ApiResponse;
+import com.careergate.compatibility.dto.BatchScoringStatus;
+import com.careergate.compatibility.service.CompatibilityAnalysisQueue;
+import com.careergate.compatibility.service.CompatibilityBatchService;
 import com.careergate.compatibility.service.CompatibilityService;
 import com.careergate.entities.CompatibilityResult;
 import com.careergate.entities.SkillGap;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.util.List;
@@ -17,18 +22,35 @@ import java.util.Map;
 public class CompatibilityController {
 
     private final CompatibilityService compatibilityService;
+    private final CompatibilityAnalysisQueue analysisQueue;
+    private final CompatibilityBatchService batchService;
 
-    public CompatibilityController(CompatibilityService compatibilityService) {
+    public CompatibilityController(CompatibilityService compatibilityService,
+            CompatibilityAnalysisQueue analysisQueue,
+            CompatibilityBatchService batchService) {
         this.compatibilityService = compatibilityService;
+        this.analysisQueue = analysisQueue;
+        this.batchService = batchService;
     }
 
     @PostMapping("/jobs/{jobId}/compatibility")
     public ResponseEntity<ApiResponse<CompatibilityResult>> calculateCompatibility(Principal principal,
-            @PathVariable UUID jobId) {
+            @PathVariable UUID jobId, @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            CompatibilityResult pending = analysisQueue.submit(principal.getName(), jobId);
+            return ResponseEntity.accepted().body(ApiResponse.success(pending, "Compatibility analysis queued"));
+        }
         CompatibilityResult result = compatibilityService.calculateCompatibility(principal.getName(), jobId);
         return ResponseEntity.ok(ApiResponse.success(result, "Compatibility calculated successfully"));
     }
 
+    @GetMapping("/jobs/{jobId}/compatibility/latest")
+    public ResponseEntity<ApiResponse<CompatibilityResult>> getLatestCompatibility(Principal principal,
+            @PathVariable UUID jobId) {
+        CompatibilityResult result = compatibilityService.getLatestResult(principal.getName(), jobId);
+        return ResponseEntity.ok(ApiResponse.success(result, "Compatibility result fetched successfully"));
+    }
+
     @GetMapping("/compatibility/{id}")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getCompatibilityResult(@PathVariable UUID id) {
         CompatibilityResult result = compatibilityService.getResult(id);
@@ -38,4 +60,23 @@ public class CompatibilityController {
                 Map.of("result", result, "gaps", gaps),
                 "Compatibility result fetched successfully"));
     }
+
+    @GetMapping(value = "/compatibility/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCompatibilityStatus(@PathVariable UUID id) {
+        return analysisQueue.subscribe(id);
+    }
+
+    @PostMapping("/jobs/{jobId}/compatibility/batch")
+    public ResponseEntity<ApiResponse<BatchScoringStatus>> scoreApplicants(Principal principal,
+            @PathVariable UUID jobId) {
+        BatchScoringStatus batch = batchService.startBatch(principal.getName(), jobId);
+        return ResponseEntity.accepted().body(ApiResponse.success(batch, "Applicant scoring started"));
+    }
+
+    @GetMapping("/compatibility/batches/{batchId}")
+    public ResponseEntity<ApiResponse<BatchScoringStatus>> getBatchStatus(Principal principal,
+            @PathVariable UUID batchId) {
+        BatchScoringStatus batch = batchService.getBatch(principal.getName(), batchId);
+        return ResponseEntity.ok(ApiResponse.success(batch, "Batch status fetched successfully"));
+    }
 }
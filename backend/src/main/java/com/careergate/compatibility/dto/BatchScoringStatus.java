@@ -0,0 +1,41 @@
+package com.careergate.compatibility.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class BatchScoringStatus {
+    private UUID batchId;
+    private UUID jobId;
+    private Status status;
+    private int total;
+    private int completed;
+    private int failed;
+    private int percentComplete;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<CandidateProgress> candidates;
+
+    /**
+     * A batch is RUNNING or COMPLETED; a candidate goes from QUEUED through
+     * RUNNING (and RETRYING while the AI is unavailable) to COMPLETED or FAILED.
+     */
+    public enum Status {
+        QUEUED, RUNNING, RETRYING, COMPLETED, FAILED
+    }
+
+    @Data
+    @Builder
+    public static class CandidateProgress {
+        private UUID candidateId;
+        private Status status;
+        private UUID resultId;
+        private Integer compatibilityScore;
+        private String errorMessage;
+    }
+}
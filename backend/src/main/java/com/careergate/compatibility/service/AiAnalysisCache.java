@@ -0,0 +1,130 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.entities.AiAnalysisCacheEntry;
+import com.careergate.repositories.AiAnalysisCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Two-tier cache of AI resume analyses keyed by a SHA-256 hash of the prompt
+ * inputs and the model name. A bounded LRU map sits in front of the
+ * ai_analysis_cache table so identical evaluations never reach the LLM twice.
+ */
+@Service
+@Slf4j
+public class AiAnalysisCache {
+
+    private final AiAnalysisCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+    private final String model;
+    private final Map<String, AiAnalysisResponse> memory;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public AiAnalysisCache(AiAnalysisCacheRepository cacheRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.openai.chat.options.model:unknown}") String model,
+            @Value("${careergate.ai.cache.max-entries:1000}") int maxEntries) {
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+        this.model = model;
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AiAnalysisResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.memoryHits = Counter.builder("careergate.ai.cache.requests")
+                .description("AI analysis cache lookups")
+                .tag("prompt", AiMetrics.PROMPT_ANALYSIS).tag("model", model)
+                .tag("result", "hit").tag("tier", "memory")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("careergate.ai.cache.requests")
+                .description("AI analysis cache lookups")
+                .tag("prompt", AiMetrics.PROMPT_ANALYSIS).tag("model", model)
+                .tag("result", "hit").tag("tier", "database")
+                .register(meterRegistry);
+        this.misses = Counter.builder("careergate.ai.cache.requests")
+                .description("AI analysis cache lookups")
+                .tag("prompt", AiMetrics.PROMPT_ANALYSIS).tag("model", model)
+                .tag("result", "miss").tag("tier", "none")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the cache key for one analysis. Inputs are separated by a NUL byte so
+     * that moving text from one field to the next produces a different hash.
+     */
+    public String keyFor(String resumeText, String jobDescription, String requiredSkills, String userSkills) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] { model, resumeText, jobDescription, requiredSkills, userSkills }) {
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<AiAnalysisResponse> get(String key) {
+        AiAnalysisResponse cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
+
+        try {
+            Optional<AiAnalysisCacheEntry> entry = cacheRepository.findById(key);
+            if (entry.isPresent()) {
+                AiAnalysisResponse response = objectMapper.readValue(entry.get().getResponseJson(),
+                        AiAnalysisResponse.class);
+                memory.put(key, response);
+                cacheRepository.recordHit(key);
+                databaseHits.increment();
+                return Optional.of(response);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read AI analysis cache entry {}", key, e);
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, AiAnalysisResponse response) {
+        memory.put(key, response);
+        try {
+            if (!cacheRepository.existsById(key)) {
+                cacheRepository.save(AiAnalysisCacheEntry.builder()
+                        .cacheKey(key)
+                        .model(model)
+                        .responseJson(objectMapper.writeValueAsString(response))
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to persist AI analysis cache entry {}", key, e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.common.exception.AiUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer for LLM calls. Every call passes, outermost first, through a
+ * circuit breaker, a rate limiter, a time limiter and a bulkhead. All four are
+ * configured per provider under resilience4j.*.instances.{provider}. Rejections
+ * surface as {@link AiUnavailableException}, so callers can fall back instead
+ * of queueing request threads behind a slow upstream.
+ */
+@Service
+public class AiCallGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final TimeLimiter timeLimiter;
+    private final Bulkhead bulkhead;
+    private final Duration streamTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AiCallGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+            RateLimiterRegistry rateLimiterRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${careergate.ai.provider:openrouter}") String provider,
+            @Value("${careergate.ai.resilience.stream-timeout-ms:180000}") long streamTimeoutMs) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(provider);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(provider);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(provider);
+        this.bulkhead = bulkheadRegistry.bulkhead(provider);
+        this.streamTimeout = Duration.ofMillis(streamTimeoutMs);
+    }
+
+    public <T> T call(Supplier<T> llmCall) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker,
+                RateLimiter.decorateSupplier(rateLimiter,
+                        () -> withTimeout(Bulkhead.decorateSupplier(bulkhead, llmCall))));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            throw new AiUnavailableException("AI service is temporarily unavailable, please try again shortly", e);
+        } catch (BulkheadFullException | RequestNotPermitted e) {
+            throw new AiUnavailableException("AI service is busy, please try again shortly", e);
+        }
+    }
+
+    /**
+     * Streaming counterpart of {@link #call}. Permissions are acquired on
+     * subscription, and the bulkhead slot is held until that subscription
+     * terminates or is cancelled, so a Flux that is never subscribed holds
+     * nothing. A rejection is the stream's error signal. The whole stream must
+     * finish within careergate.ai.resilience.stream-timeout-ms (the time
+     * limiter's duration is too short for a multi-week roadmap).
+     */
+    public <T> Flux<T> stream(Supplier<Flux<T>> llmStream) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Flux.error(new AiUnavailableException(
+                        "AI service is temporarily unavailable, please try again shortly",
+                        CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+            }
+            if (!rateLimiter.acquirePermission() || !bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return Flux.error(new AiUnavailableException("AI service is busy, please try again shortly", null));
+            }
+
+            // One deadline for the whole stream: each element only gets the time that is left
+            long start = System.nanoTime();
+            long deadline = start + streamTimeout.toNanos();
+            return Flux.defer(llmStream)
+                    .timeout(Mono.delay(streamTimeout),
+                            element -> Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))))
+                    .onErrorMap(TimeoutException.class,
+                            e -> new AiUnavailableException("AI service did not respond in time", e))
+                    .doOnComplete(() -> circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e))
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+
+    /**
+     * True when the provider is healthy and at least half of both the bulkhead
+     * and the current rate-limit period are free, so that speculative work does
+     * not compete with interactive calls for slots or for permits.
+     */
+    public boolean hasSpareCapacity() {
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+                && bulkhead.getMetrics().getAvailableConcurrentCalls() * 2
+                        >= bulkhead.getBulkheadConfig().getMaxConcurrentCalls()
+                && rateLimiter.getMetrics().getAvailablePermissions() * 2
+                        > rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+    }
+
+    // A FutureTask, unlike a CompletableFuture, interrupts the worker when the time limiter cancels it,
+    // so a timed-out call stops and gives its bulkhead slot back
+    private <T> T withTimeout(Supplier<T> call) {
+        try {
+            return timeLimiter.executeFutureSupplier(() -> executor.submit(call::get));
+        } catch (TimeoutException e) {
+            throw new AiUnavailableException("AI service did not respond in time", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,230 @@
+package com.careergate.compatibility.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Binds raw model output straight into DTOs with a streaming Jackson parser.
+ *
+ * The JSON payload is located by index inside any markdown fences and read
+ * through a Reader positioned at it, so the response is never substring-copied.
+ * Trailing commas are accepted, and output cut off mid-document (token limit,
+ * dropped connection) is repaired by dropping the half-written element and
+ * closing every open object and array, so the complete part can still be used
+ * instead of retrying the whole call.
+ */
+@Component
+@Slf4j
+public class AiJsonParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+
+    public AiJsonParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.reader().with(JsonReadFeature.ALLOW_TRAILING_COMMA);
+    }
+
+    public <T> T parse(String content, Class<T> type) {
+        return parseWithStatus(content, type).getValue();
+    }
+
+    /**
+     * Like {@link #parse} but also reports whether the output had to be repaired,
+     * so callers can use a cut-off response without caching it.
+     */
+    public <T> Parsed<T> parseWithStatus(String content, Class<T> type) {
+        int start = payloadStart(content);
+        if (start < 0) {
+            throw new RuntimeException("AI response did not contain a JSON object");
+        }
+
+        try (JsonParser parser = openAt(content, start)) {
+            return new Parsed<>(reader.forType(type).readValue(parser), false);
+        } catch (IOException e) {
+            if (endsAtInputEnd(e, content.length() - start)) {
+                log.warn("AI response was truncated, binding the complete part: {}", e.getMessage());
+                return new Parsed<>(parseTruncated(content, start, type), true);
+            }
+            throw new RuntimeException("AI response is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index of the '{' that opens the payload: the first non-whitespace character
+     * when the response is bare JSON, otherwise the first '{' after an opening
+     * "```json" / "```" fence, otherwise the first '{' anywhere. An opening fence
+     * must start a line, so a "```" inside a JSON string (where newlines are
+     * escaped) is never mistaken for one.
+     */
+    static int payloadStart(String content) {
+        if (content == null) {
+            return -1;
+        }
+        int first = 0;
+        while (first < content.length() && Character.isWhitespace(content.charAt(first))) {
+            first++;
+        }
+        if (first < content.length() && content.charAt(first) == '{') {
+            return first;
+        }
+
+        for (int fence = content.indexOf("```"); fence >= 0; fence = content.indexOf("```", fence + 3)) {
+            if (fence > 0 && content.charAt(fence - 1) != '\n') {
+                continue;
+            }
+            int lineEnd = content.indexOf('\n', fence);
+            int start = lineEnd < 0 ? -1 : content.indexOf('{', lineEnd);
+            if (start >= 0) {
+                return start;
+            }
+        }
+        return content.indexOf('{');
+    }
+
+    // Reading stops at the end of the root value, so a closing fence or trailing chatter is never touched
+    private JsonParser openAt(String content, int start) throws IOException {
+        StringReader source = new StringReader(content);
+        source.skip(start);
+        return reader.createParser(source);
+    }
+
+    /**
+     * Replays the complete tokens into a TokenBuffer and closes every open
+     * structure. The array element being written when the output stopped (a
+     * half-written gap or day) is dropped rather than bound with missing fields;
+     * an element that already holds a complete list of objects (a week with its
+     * days) is kept.
+     */
+    private <T> T parseTruncated(String content, int start, Class<T> type) {
+        try {
+            Deque<Frame> open = new ArrayDeque<>();
+            JsonToken last = null;
+            int complete = 0;
+            try (JsonParser parser = openAt(content, start)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token == JsonToken.VALUE_STRING) {
+                        // Strings are decoded lazily; an unterminated one fails here, not on the next token
+                        parser.getText();
+                    }
+                    last = token;
+                    if (token.isStructStart()) {
+                        Frame parent = open.peek();
+                        boolean inArray = parent != null && parent.token == JsonToken.START_ARRAY;
+                        if (inArray && token == JsonToken.START_OBJECT) {
+                            parent.holdsObjects = true;
+                        }
+                        open.push(new Frame(token, complete, inArray));
+                    } else if (token.isStructEnd()) {
+                        Frame closed = open.pop();
+                        if (!open.isEmpty() && closed.token == JsonToken.START_ARRAY && closed.holdsObjects) {
+                            open.peek().holdsObjects = true;
+                        }
+                    }
+                    complete++;
+                    if (open.isEmpty()) {
+                        break;
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Expected: stop at the last complete token
+            }
+
+            int keep = complete;
+            Frame partial = partialElement(open);
+            if (partial != null) {
+                keep = partial.tokenIndex;
+                while (open.pop() != partial) {
+                    // Structures opened inside the dropped element are dropped with it
+                }
+            }
+
+            try (JsonParser parser = openAt(content, start);
+                    TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+                for (int i = 0; i < keep; i++) {
+                    parser.nextToken();
+                    buffer.copyCurrentEvent(parser);
+                }
+                if (partial == null && last == JsonToken.FIELD_NAME) {
+                    buffer.writeNull();
+                }
+                while (!open.isEmpty()) {
+                    if (open.pop().token == JsonToken.START_OBJECT) {
+                        buffer.writeEndObject();
+                    } else {
+                        buffer.writeEndArray();
+                    }
+                }
+                return reader.forType(type).readValue(buffer.asParser());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("AI response is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    // Databind wraps the parser failure, and a dangling comma is reported as a plain parse error
+    private static boolean endsAtInputEnd(IOException e, int length) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof JsonEOFException) {
+                return true;
+            }
+            if (t instanceof JsonProcessingException failure && failure.getLocation() != null
+                    && failure.getLocation().getCharOffset() >= length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Innermost open object that is an array element and was cut off mid-write. Lists of plain
+    // values (article links) count as part of their object; lists of objects end the search.
+    private static Frame partialElement(Deque<Frame> open) {
+        for (Frame frame : open) {
+            if (frame.token == JsonToken.START_ARRAY) {
+                if (frame.holdsObjects) {
+                    return null;
+                }
+                continue;
+            }
+            return frame.inArray && !frame.holdsObjects ? frame : null;
+        }
+        return null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Parsed<T> {
+        private final T value;
+        private final boolean repaired;
+    }
+
+    private static final class Frame {
+        private final JsonToken token;
+        private final int tokenIndex;
+        private final boolean inArray;
+        // Arrays: an object element was started. Objects: a list of objects inside was completed.
+        private boolean holdsObjects;
+
+        private Frame(JsonToken token, int tokenIndex, boolean inArray) {
+            this.token = token;
+            this.tokenIndex = tokenIndex;
+            this.inArray = inArray;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.common.exception.AiUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.openai.metadata.OpenAiUsage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for LLM calls, tagged by prompt type, prompt
+ * version and model:
+ *
+ * careergate.ai.requests          timer with histogram, outcome=success|error|rejected
+ * careergate.ai.requests.active   in-flight calls
+ * careergate.ai.tokens            prompt / completion tokens reported by the provider, and
+ *                                 cached = prompt tokens served from the provider's prefix cache
+ * careergate.ai.parse.failures    responses that could not be bound to a DTO
+ * careergate.ai.retries           attempts repeated by Spring AI's retry template
+ *                                 (runs below the prompt level, so tagged by model only)
+ *
+ * Cache lookups are counted by the caches themselves (careergate.ai.cache.requests,
+ * careergate.roadmap.template.requests) with the same prompt and model tags.
+ */
+@Component
+public class AiMetrics {
+
+    public static final String PROMPT_ANALYSIS = "analysis";
+    public static final String PROMPT_ROADMAP = "roadmap";
+    public static final String PROMPT_ROADMAP_STREAM = "roadmap_stream";
+
+    private final MeterRegistry meterRegistry;
+    private final String model;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public AiMetrics(MeterRegistry meterRegistry,
+            ObjectProvider<RetryTemplate> retryTemplates,
+            @Value("${spring.ai.openai.chat.options.model:unknown}") String model) {
+        this.meterRegistry = meterRegistry;
+        this.model = model;
+
+        Counter retries = Counter.builder("careergate.ai.retries")
+                .description("LLM attempts repeated after a transient failure")
+                .tag("model", model)
+                .register(meterRegistry);
+        retryTemplates.ifAvailable(template -> template.registerListener(new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                    Throwable throwable) {
+                // getRetryCount() counts failed attempts; the last one is only a retry if it was followed by success
+                int repeated = context.getRetryCount() - (throwable != null ? 1 : 0);
+                if (repeated > 0) {
+                    retries.increment(repeated);
+                }
+            }
+        }));
+    }
+
+    public ChatResponse recordCall(String prompt, Supplier<ChatResponse> call) {
+        AtomicInteger active = inFlight(prompt);
+        active.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ChatResponse response = call.get();
+            recordUsage(prompt, response);
+            outcome = "success";
+            return response;
+        } catch (AiUnavailableException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            sample.stop(timer(prompt, outcome));
+        }
+    }
+
+    /**
+     * Streaming counterpart of {@link #recordCall}; the timer covers the whole
+     * stream and usage is taken from whichever chunk carries it (usually the last).
+     */
+    public Flux<ChatResponse> recordStream(String prompt, Flux<ChatResponse> stream) {
+        AtomicInteger active = inFlight(prompt);
+        return Flux.defer(() -> {
+            active.incrementAndGet();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return stream
+                    .doOnNext(response -> recordUsage(prompt, response))
+                    .doFinally(signal -> {
+                        active.decrementAndGet();
+                        sample.stop(timer(prompt, signal == SignalType.ON_ERROR ? "error" : "success"));
+                    });
+        });
+    }
+
+    public void recordParseFailure(String prompt) {
+        Counter.builder("careergate.ai.parse.failures")
+                .description("AI responses that could not be parsed")
+                .tag("prompt", prompt)
+                .tag("prompt_version", promptVersion(prompt))
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordUsage(String prompt, ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null) {
+            return;
+        }
+        recordTokens(prompt, "prompt", usage.getPromptTokens());
+        recordTokens(prompt, "completion", usage.getGenerationTokens());
+        if (usage instanceof OpenAiUsage openAiUsage && openAiUsage.getPromptTokensDetails() != null) {
+            Integer cached = openAiUsage.getPromptTokensDetails().cachedTokens();
+            recordTokens(prompt, "cached", cached != null ? cached.longValue() : null);
+        }
+    }
+
+    private void recordTokens(String prompt, String type, Long tokens) {
+        if (tokens == null || tokens <= 0) {
+            return;
+        }
+        DistributionSummary.builder("careergate.ai.tokens")
+                .description("Tokens per LLM call")
+                .baseUnit("tokens")
+                .tag("prompt", prompt)
+                .tag("prompt_version", promptVersion(prompt))
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+
+    private Timer timer(String prompt, String outcome) {
+        return Timer.builder("careergate.ai.requests")
+                .description("LLM call latency")
+                .tag("prompt", prompt)
+                .tag("prompt_version", promptVersion(prompt))
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger inFlight(String prompt) {
+        return inFlight.computeIfAbsent(prompt, p -> {
+            AtomicInteger active = new AtomicInteger();
+            Gauge.builder("careergate.ai.requests.active", active, AtomicInteger::get)
+                    .description("LLM calls in flight")
+                    .tag("prompt", p)
+                    .tag("prompt_version", promptVersion(p))
+                    .tag("model", model)
+                    .register(meterRegistry);
+            return active;
+        });
+    }
+
+    // Lets dashboards compare token counts and latency across prompt changes
+    private static String promptVersion(String prompt) {
+        return switch (prompt) {
+            case PROMPT_ROADMAP, PROMPT_ROADMAP_STREAM -> String.valueOf(AiService.ROADMAP_PROMPT_VERSION);
+            default -> String.valueOf(AiService.ANALYSIS_PROMPT_VERSION);
+        };
+    }
+}
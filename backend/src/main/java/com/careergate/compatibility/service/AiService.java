@@ -1,82 +1,112 @@
 package com.careergate.compatibility.service;
 
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.roadmap.dto.AiRoadmapResponse;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 @Service
 public class AiService {
 
-  private final ChatClient chatClient;
-
-  public AiService(ChatClient.Builder chatClientBuilder) {
-    this.chatClient = chatClientBuilder
-        .defaultAdvisors(new SimpleLoggerAdvisor())
-        .build();
-  }
-
-  public String generateRoadmap(String analysisSummary, String skillGapsJson) {
-    String userPrompt = """
-        Based on the following AI analysis summary and skill gap identification, generate a comprehensive learning roadmap.
-
-        CRITICAL KNOWLEDGE BASE (Use these EXACT IDs for these specific topics):
-        - Java (The core language): UmnCZ7-9yDY, vLqL40b3s9U
-        - JavaScript (Web language): W6NZfCO5SIk, rfscVS0vtbw (JS for beginners)
-        - Python: _uQrJ0TkZlc, rfscVS0vtbw
-        - React: bMknfKXLgFA, T_S7GBJgE1c
-        - Spring Boot: 9ptm2c5Fk5U, 9z_fS1jT77k
-        - PostgreSQL: qw--VwXb71Q, o0i1-aB-aGk
-        - Docker: pTJxdL_pIWM, i9bK2-g1nQ4
-        - Kubernetes: X48VuDVv0do, Wfz3_dIAh4M
-        - AWS: f1c24P3bO2E, 0k5LpD1j31Y
-        - System Design: ZgdS0EUasK0, 66ieVpgS3F0
+  /**
+   * Reported with the LLM metrics; bump when the analysis prompt changes.
+   */
+  public static final int ANALYSIS_PROMPT_VERSION = 1;
+
+  /**
+   * Bump whenever the roadmap prompts change: stored roadmap templates are keyed
+   * on it, so older templates stop matching and are regenerated.
+   */
+  public static final int ROADMAP_PROMPT_VERSION = 2;
+
+  /**
+   * Static instructions, sent as the first message and never templated, so the
+   * request starts with an identical prefix that providers can cache. Videos are
+   * not chosen by the model: each day names its topic and the video is resolved
+   * locally from the YouTubeVideoService catalog.
+   */
+  private static final String ROADMAP_SYSTEM_PROMPT = """
+        You write day-by-day learning roadmaps for software engineers. Given an AI analysis summary
+        and the identified skill gaps, generate a comprehensive learning roadmap.
 
         STRICT RULES:
-        1. NEVER give a 'Java' video for a 'JavaScript' topic. They are COMPLETELY different.
-        2. youtubeVideoId: You MUST provide an 11-character YouTube video ID.
-           - STICK TO THE KNOWLEDGE BASE ABOVE. Use the specific ID for the correct topic.
-           - If a topic is not in the list, use an ID from a verified educational channel (freeCodeCamp, Mosh, Traversy).
-           - NEVER invent or guess IDs. If you don't have a REAL 11-char ID, leave it empty.
+        1. topic: the single technology or concept the day covers, by its common name
+           (e.g. "JavaScript", "Spring Boot", "PostgreSQL", "System Design").
+           NEVER write 'Java' for a 'JavaScript' day. They are COMPLETELY different.
 
-        3. youtubeSearchQuery: Provide a specific search string that will yield the best results for this topic.
+        2. youtubeSearchQuery: Provide a specific search string that will yield the best results for this topic.
            - Formatted as: "[Topic Name] tutorial complete guide [Preferred Channel]"
+           - Prefer verified educational channels (freeCodeCamp, Mosh, Traversy).
 
-        4. articleLinks: Provide 2-3 real, working URLs to official documentation or top-tier technical articles.
+        3. articleLinks: Provide 2-3 real, working URLs to official documentation or top-tier technical articles.
            - PRIORITY: Official docs (docs.python.org, react.dev, spring.io, developer.mozilla.org).
 
+        4. Do NOT include YouTube video IDs.
+
         JSON Structure Requirements:
         - Root: "weeks" (array)
         - Week: "weekNo", "days" (array)
-        - Day: "dayNo", "title", "description", "youtubeVideoId", "youtubeSearchQuery", "articleLinks" (array)
+        - Day: "dayNo", "title", "description", "topic", "youtubeSearchQuery", "articleLinks" (array)
+
+        Return ONLY valid JSON.
+        """;
 
+  private static final String ROADMAP_USER_PROMPT = """
         Analysis Summary: {summary}
         Skill Gaps: {gaps}
-
-        Return ONLY valid JSON. Accuracy and correct topic-to-video mapping is MANDATORY.
         """;
 
-    String content = chatClient.prompt()
-        .user(u -> u.text(userPrompt)
+  private final ChatClient chatClient;
+  private final AiCallGuard callGuard;
+  private final AiJsonParser jsonParser;
+  private final AiMetrics metrics;
+
+  public AiService(ChatClient.Builder chatClientBuilder, AiCallGuard callGuard, AiJsonParser jsonParser,
+      AiMetrics metrics) {
+    this.chatClient = chatClientBuilder
+        .defaultAdvisors(new SimpleLoggerAdvisor())
+        .build();
+    this.callGuard = callGuard;
+    this.jsonParser = jsonParser;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Generates a roadmap in one call. The result reports whether a cut-off
+   * response was repaired, in which case it must not be reused as a template.
+   */
+  public AiJsonParser.Parsed<AiRoadmapResponse> generateRoadmap(String analysisSummary, String skillGapsJson) {
+    ChatResponse response = metrics.recordCall(AiMetrics.PROMPT_ROADMAP, () -> callGuard.call(() -> chatClient.prompt()
+        .system(ROADMAP_SYSTEM_PROMPT)
+        .user(u -> u.text(ROADMAP_USER_PROMPT)
             .param("summary", analysisSummary)
             .param("gaps", skillGapsJson))
         .call()
-        .content();
+        .chatResponse()));
 
-    return cleanJsonResponse(content);
+    return parse(AiMetrics.PROMPT_ROADMAP, response, AiRoadmapResponse.class);
   }
 
-  private String cleanJsonResponse(String content) {
-    if (content != null && content.contains("```json")) {
-      content = content.substring(content.indexOf("```json") + 7);
-      content = content.substring(0, content.lastIndexOf("```"));
-    } else if (content != null && content.contains("```")) {
-      content = content.substring(content.indexOf("```") + 3);
-      content = content.substring(0, content.lastIndexOf("```"));
-    }
-    return content != null ? content.trim() : null;
+  /**
+   * Streams the roadmap JSON as it is generated. Chunks are raw model output
+   * (possibly wrapped in markdown fences); callers parse completed days as they
+   * arrive.
+   */
+  public Flux<String> streamRoadmap(String analysisSummary, String skillGapsJson) {
+    return callGuard.stream(() -> metrics.recordStream(AiMetrics.PROMPT_ROADMAP_STREAM, chatClient.prompt()
+        .system(ROADMAP_SYSTEM_PROMPT)
+        .user(u -> u.text(ROADMAP_USER_PROMPT)
+            .param("summary", analysisSummary)
+            .param("gaps", skillGapsJson))
+        .stream()
+        .chatResponse())
+        .mapNotNull(AiService::textOf));
   }
 
-  public String analyzeResume(String resumeText, String jobDescription, String requiredSkills,
+  public AiJsonParser.Parsed<AiAnalysisResponse> analyzeResume(String resumeText, String jobDescription, String requiredSkills,
       String userSkills) {
     String userPrompt = """
         Analyze the following resume against the job description and the list of required skills.
@@ -110,15 +140,31 @@ public class AiService {
         User Reported Skills & Ratings: {userSkills}
         """;
 
-    String content = chatClient.prompt()
+    ChatResponse response = metrics.recordCall(AiMetrics.PROMPT_ANALYSIS, () -> callGuard.call(() -> chatClient.prompt()
         .user(u -> u.text(userPrompt)
             .param("resume", resumeText)
             .param("jobDescription", jobDescription)
             .param("requiredSkills", requiredSkills.toString())
             .param("userSkills", userSkills))
         .call()
-        .content();
+        .chatResponse()));
+
+    return parse(AiMetrics.PROMPT_ANALYSIS, response, AiAnalysisResponse.class);
+  }
 
-    return cleanJsonResponse(content);
+  private <T> AiJsonParser.Parsed<T> parse(String prompt, ChatResponse response, Class<T> type) {
+    try {
+      return jsonParser.parseWithStatus(textOf(response), type);
+    } catch (RuntimeException e) {
+      metrics.recordParseFailure(prompt);
+      throw e;
+    }
+  }
+
+  private static String textOf(ChatResponse response) {
+    if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+      return null;
+    }
+    return response.getResult().getOutput().getText();
   }
 }
@@ -0,0 +1,251 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.common.exception.AnalysisQueueFullException;
+import com.careergate.entities.CompatibilityResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs compatibility analyses off the request thread. Requests are persisted as
+ * PENDING results, executed by a bounded pool of virtual-thread workers and
+ * observed by clients either by polling the result or via SSE.
+ *
+ * The queue itself lives in memory, so every unfinished result is claimed by
+ * the instance that queued it, which keeps the claim alive with a heartbeat.
+ * Each instance periodically claims results whose heartbeat has gone stale (the
+ * owner stopped or crashed) and queues them again. Claims are taken atomically
+ * with FOR UPDATE SKIP LOCKED, and a worker re-checks its claim before it
+ * starts, so with several instances an analysis is only run by one of them.
+ */
+@Service
+@Slf4j
+public class CompatibilityAnalysisQueue {
+
+    private final CompatibilityService compatibilityService;
+    private final ThreadPoolExecutor executor;
+    private final long sseTimeoutMs;
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long staleAfterMs;
+
+    private final Timer waitTimer;
+    private final Timer runTimer;
+
+    public CompatibilityAnalysisQueue(CompatibilityService compatibilityService,
+            MeterRegistry meterRegistry,
+            @Value("${careergate.compatibility.async.workers:4}") int workers,
+            @Value("${careergate.compatibility.async.queue-capacity:100}") int queueCapacity,
+            @Value("${careergate.compatibility.async.sse-timeout-ms:300000}") long sseTimeoutMs,
+            @Value("${careergate.compatibility.async.stale-after-ms:60000}") long staleAfterMs) {
+        this.compatibilityService = compatibilityService;
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.staleAfterMs = staleAfterMs;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("compatibility-worker-", 0).factory());
+
+        Gauge.builder("careergate.compatibility.queue.depth", executor, e -> e.getQueue().size())
+                .description("Compatibility analyses waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("careergate.compatibility.queue.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Compatibility analyses currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("careergate.compatibility.queue.wait")
+                .description("Time an analysis spends queued before a worker picks it up")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("careergate.compatibility.queue.run")
+                .description("Time a worker spends running an analysis")
+                .register(meterRegistry);
+    }
+
+    public CompatibilityResult submit(String userEmail, UUID jobId) {
+        CompatibilityResult pending = compatibilityService.createPendingResult(userEmail, jobId, instanceId);
+        UUID resultId = pending.getId();
+        long enqueuedAt = System.nanoTime();
+
+        if (!enqueue(resultId, enqueuedAt)) {
+            compatibilityService.updateStatus(resultId, CompatibilityResult.AnalysisStatus.FAILED,
+                    "Analysis queue is full");
+            throw new AnalysisQueueFullException("Analysis queue is full, please try again shortly");
+        }
+        return pending;
+    }
+
+    /**
+     * Claims and queues analyses whose owner stopped sending heartbeats, at most
+     * as many as the queue has room for; the rest wait for a later sweep here or
+     * on another instance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${careergate.compatibility.async.recovery-interval-ms:30000}",
+            fixedDelayString = "${careergate.compatibility.async.recovery-interval-ms:30000}")
+    public void recoverUnfinished() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        List<UUID> claimed;
+        try {
+            claimed = compatibilityService.claimStaleResults(instanceId, staleAfterMs, room);
+        } catch (Exception e) {
+            log.error("Could not claim unfinished compatibility analyses", e);
+            return;
+        }
+        int requeued = 0;
+        for (UUID resultId : claimed) {
+            if (enqueue(resultId, System.nanoTime())) {
+                requeued++;
+            } else {
+                try {
+                    compatibilityService.releaseClaim(resultId, instanceId);
+                } catch (Exception e) {
+                    // Becomes stale again once the heartbeat stops covering it
+                    log.error("Could not release compatibility analysis {}", resultId, e);
+                }
+            }
+        }
+        if (!claimed.isEmpty()) {
+            log.info("Requeued {} of {} unfinished compatibility analyses", requeued, claimed.size());
+        }
+    }
+
+    // Keeps this instance's queued and running analyses from being claimed by another one
+    @Scheduled(fixedDelayString = "${careergate.compatibility.async.heartbeat-ms:15000}")
+    public void heartbeat() {
+        try {
+            compatibilityService.heartbeat(instanceId);
+        } catch (Exception e) {
+            log.warn("Compatibility queue heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    public SseEmitter subscribe(UUID resultId) {
+        // Unknown ids fail here, before anything is registered
+        CompatibilityResult current = compatibilityService.getResult(resultId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        if (isTerminal(current.getStatus())) {
+            send(emitter, current);
+            emitter.complete();
+            return emitter;
+        }
+
+        subscribers.compute(resultId, (id, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> unsubscribe(resultId, emitter));
+        emitter.onTimeout(() -> unsubscribe(resultId, emitter));
+        emitter.onError(e -> unsubscribe(resultId, emitter));
+
+        // Registered first, then read again: a status change in between is delivered twice at worst, never lost
+        current = compatibilityService.getResult(resultId);
+        send(emitter, current);
+        if (isTerminal(current.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(UUID resultId, SseEmitter emitter) {
+        subscribers.computeIfPresent(resultId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private boolean enqueue(UUID resultId, long enqueuedAt) {
+        try {
+            executor.execute(() -> process(resultId, enqueuedAt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void process(UUID resultId, long enqueuedAt) {
+        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        Timer.Sample sample = Timer.start();
+        try {
+            Optional<CompatibilityResult> running = compatibilityService.startClaimed(resultId, instanceId);
+            if (running.isEmpty()) {
+                log.info("Compatibility analysis {} was taken over or finished elsewhere, skipping", resultId);
+                return;
+            }
+            publish(running.get());
+            publish(compatibilityService.completePendingResult(resultId));
+        } catch (Exception e) {
+            log.error("Compatibility analysis {} failed", resultId, e);
+            try {
+                publish(compatibilityService.updateStatus(resultId, CompatibilityResult.AnalysisStatus.FAILED,
+                        e.getMessage()));
+            } catch (Exception statusError) {
+                log.error("Could not mark compatibility analysis {} as failed", resultId, statusError);
+            }
+        } finally {
+            sample.stop(runTimer);
+        }
+    }
+
+    private void publish(CompatibilityResult result) {
+        List<SseEmitter> emitters = subscribers.get(result.getId());
+        if (emitters == null) {
+            return;
+        }
+        boolean terminal = isTerminal(result.getStatus());
+        for (SseEmitter emitter : emitters) {
+            send(emitter, result);
+            if (terminal) {
+                emitter.complete();
+            }
+        }
+        if (terminal) {
+            subscribers.remove(result.getId());
+        }
+    }
+
+    private void send(SseEmitter emitter, CompatibilityResult result) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", result.getId());
+        payload.put("status", result.getStatus());
+        payload.put("compatibilityScore", result.getCompatibilityScore());
+        payload.put("errorMessage", result.getErrorMessage());
+        try {
+            emitter.send(SseEmitter.event().name("status").data(payload));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private boolean isTerminal(CompatibilityResult.AnalysisStatus status) {
+        return status == CompatibilityResult.AnalysisStatus.COMPLETED
+                || status == CompatibilityResult.AnalysisStatus.FAILED;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,241 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.common.exception.AiUnavailableException;
+import com.careergate.compatibility.dto.BatchScoringStatus;
+import com.careergate.entities.CompatibilityResult;
+import com.careergate.entities.Job;
+import com.careergate.entities.User;
+import com.careergate.repositories.JobApplicationRepository;
+import com.careergate.repositories.JobRepository;
+import com.careergate.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores every applicant of a job in the background. Analyses run on virtual
+ * threads, but a semaphore shared by all batches caps how many are in flight at
+ * once. Unchanged inputs are served by {@link AiAnalysisCache}, so re-running a
+ * batch only pays for candidates whose resume, skills or job changed, and it
+ * updates each candidate's batch result instead of adding another.
+ *
+ * A batch easily outruns the provider's rate limit. Rather than record local
+ * fallback scores, a candidate whose call is rejected backs off and retries
+ * while keeping its permit, which also slows the rest of the batch down.
+ */
+@Service
+@Slf4j
+public class CompatibilityBatchService {
+
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final CompatibilityService compatibilityService;
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final Semaphore permits;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, BatchState> batches = new ConcurrentHashMap<>();
+
+    public CompatibilityBatchService(CompatibilityService compatibilityService,
+            JobRepository jobRepository,
+            UserRepository userRepository,
+            JobApplicationRepository jobApplicationRepository,
+            @Value("${careergate.compatibility.batch.concurrency:8}") int concurrency,
+            @Value("${careergate.compatibility.batch.retention-minutes:60}") long retentionMinutes,
+            @Value("${careergate.compatibility.batch.max-attempts:6}") int maxAttempts,
+            @Value("${careergate.compatibility.batch.retry-backoff-ms:5000}") long retryBackoffMs) {
+        this.compatibilityService = compatibilityService;
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.permits = new Semaphore(concurrency);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    public BatchScoringStatus startBatch(String recruiterEmail, UUID jobId) {
+        Job job = jobRepository.findById(jobId).orElseThrow(() -> new RuntimeException("Job not found"));
+        User recruiter = userRepository.findByEmail(recruiterEmail).orElseThrow();
+        if (!job.getRecruiter().getId().equals(recruiter.getId())) {
+            throw new RuntimeException("You are not authorized to score applicants for this job");
+        }
+
+        evictExpiredBatches();
+
+        List<UUID> candidateIds = jobApplicationRepository.findCandidateIdsByJobId(jobId);
+        BatchState batch = new BatchState(UUID.randomUUID(), jobId, recruiter.getId(), candidateIds);
+        batches.put(batch.id, batch);
+
+        executor.execute(() -> runBatch(batch));
+        return batch.snapshot();
+    }
+
+    public BatchScoringStatus getBatch(String recruiterEmail, UUID batchId) {
+        BatchState batch = batches.get(batchId);
+        if (batch == null) {
+            throw new RuntimeException("Batch not found");
+        }
+        User recruiter = userRepository.findByEmail(recruiterEmail).orElseThrow();
+        if (!batch.recruiterId.equals(recruiter.getId())) {
+            throw new RuntimeException("You are not authorized to view this batch");
+        }
+        return batch.snapshot();
+    }
+
+    private void runBatch(BatchState batch) {
+        log.info("Scoring {} applicants for job {} (batch {})", batch.candidates.size(), batch.jobId, batch.id);
+        for (CandidateState candidate : batch.candidates.values()) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            executor.execute(() -> {
+                try {
+                    scoreCandidate(batch, candidate);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    private void scoreCandidate(BatchState batch, CandidateState candidate) {
+        candidate.status = BatchScoringStatus.Status.RUNNING;
+        try {
+            CompatibilityResult result = scoreWithRetry(batch, candidate);
+            candidate.resultId = result.getId();
+            candidate.compatibilityScore = result.getCompatibilityScore();
+            candidate.errorMessage = null;
+            candidate.status = BatchScoringStatus.Status.COMPLETED;
+            batch.completed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            candidate.errorMessage = "Batch was shut down";
+            candidate.status = BatchScoringStatus.Status.FAILED;
+            batch.failed.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Batch {} failed to score candidate {}: {}", batch.id, candidate.candidateId, e.getMessage());
+            candidate.errorMessage = e.getMessage();
+            candidate.status = BatchScoringStatus.Status.FAILED;
+            batch.failed.incrementAndGet();
+        }
+        if (batch.isDone()) {
+            batch.finishedAt = LocalDateTime.now();
+            log.info("Batch {} finished: {} scored, {} failed", batch.id, batch.completed.get(), batch.failed.get());
+        }
+    }
+
+    // Exponential backoff, capped at a minute, while the AI rejects calls
+    private CompatibilityResult scoreWithRetry(BatchState batch, CandidateState candidate)
+            throws InterruptedException {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1;; attempt++) {
+            try {
+                return compatibilityService.scoreForRecruiter(candidate.candidateId, batch.jobId);
+            } catch (AiUnavailableException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                candidate.status = BatchScoringStatus.Status.RETRYING;
+                candidate.errorMessage = e.getMessage();
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                candidate.status = BatchScoringStatus.Status.RUNNING;
+            }
+        }
+    }
+
+    private void evictExpiredBatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        batches.values().removeIf(b -> b.finishedAt != null && b.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class BatchState {
+        private final UUID id;
+        private final UUID jobId;
+        private final UUID recruiterId;
+        private final Map<UUID, CandidateState> candidates = new LinkedHashMap<>();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        private BatchState(UUID id, UUID jobId, UUID recruiterId, List<UUID> candidateIds) {
+            this.id = id;
+            this.jobId = jobId;
+            this.recruiterId = recruiterId;
+            for (UUID candidateId : candidateIds) {
+                candidates.put(candidateId, new CandidateState(candidateId));
+            }
+            if (candidates.isEmpty()) {
+                finishedAt = startedAt;
+            }
+        }
+
+        private boolean isDone() {
+            return completed.get() + failed.get() >= candidates.size();
+        }
+
+        private BatchScoringStatus snapshot() {
+            int total = candidates.size();
+            int done = completed.get() + failed.get();
+            return BatchScoringStatus.builder()
+                    .batchId(id)
+                    .jobId(jobId)
+                    .status(isDone() ? BatchScoringStatus.Status.COMPLETED : BatchScoringStatus.Status.RUNNING)
+                    .total(total)
+                    .completed(completed.get())
+                    .failed(failed.get())
+                    .percentComplete(total == 0 ? 100 : done * 100 / total)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .candidates(candidates.values().stream()
+                            .map(c -> BatchScoringStatus.CandidateProgress.builder()
+                                    .candidateId(c.candidateId)
+                                    .status(c.status)
+                                    .resultId(c.resultId)
+                                    .compatibilityScore(c.compatibilityScore)
+                                    .errorMessage(c.errorMessage)
+                                    .build())
+                            .toList())
+                    .build();
+        }
+    }
+
+    private static class CandidateState {
+        private final UUID candidateId;
+        private volatile BatchScoringStatus.Status status = BatchScoringStatus.Status.QUEUED;
+        private volatile UUID resultId;
+        private volatile Integer compatibilityScore;
+        private volatile String errorMessage;
+
+        private CandidateState(UUID candidateId) {
+            this.candidateId = candidateId;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.job.event.JobPostedEvent;
+import com.careergate.repositories.UserSkillRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speculatively scores likely candidates as soon as a job is posted, so that
+ * they see their compatibility instantly when they open the job.
+ *
+ * Candidates are the users whose skills overlap the job's required skills,
+ * best overlap first, capped at max-candidates. Every one of them gets a local
+ * score; the first ai-budget of them also get the LLM analysis, but only while
+ * the AI provider has spare capacity. Work runs on a single low-priority thread
+ * and a full queue drops new jobs rather than delaying anything interactive.
+ */
+@Service
+@Slf4j
+public class CompatibilityPrecomputeService {
+
+    private final CompatibilityService compatibilityService;
+    private final UserSkillRepository userSkillRepository;
+    private final AiCallGuard callGuard;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final int aiBudget;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter localResults;
+    private final Counter aiResults;
+
+    public CompatibilityPrecomputeService(CompatibilityService compatibilityService,
+            UserSkillRepository userSkillRepository,
+            AiCallGuard callGuard,
+            MeterRegistry meterRegistry,
+            @Value("${careergate.compatibility.precompute.enabled:true}") boolean enabled,
+            @Value("${careergate.compatibility.precompute.max-candidates:200}") int maxCandidates,
+            @Value("${careergate.compatibility.precompute.ai-budget:10}") int aiBudget,
+            @Value("${careergate.compatibility.precompute.queue-capacity:50}") int queueCapacity) {
+        this.compatibilityService = compatibilityService;
+        this.userSkillRepository = userSkillRepository;
+        this.callGuard = callGuard;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+        this.aiBudget = aiBudget;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("compatibility-precompute-", 0).priority(Thread.MIN_PRIORITY)
+                        .daemon(true).factory());
+
+        this.localResults = Counter.builder("careergate.compatibility.precompute.results")
+                .description("Compatibility results precomputed for newly posted jobs")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.aiResults = Counter.builder("careergate.compatibility.precompute.results")
+                .description("Compatibility results precomputed for newly posted jobs")
+                .tag("source", "ai")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onJobPosted(JobPostedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> precomputeJob(event.getJobId()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Precompute queue is full, skipping job {}", event.getJobId());
+        }
+    }
+
+    private void precomputeJob(UUID jobId) {
+        List<UUID> candidateIds = userSkillRepository.findUserIdsBySkillOverlapWithJob(jobId,
+                PageRequest.of(0, maxCandidates));
+        log.info("Precomputing compatibility of {} candidates for job {}", candidateIds.size(), jobId);
+
+        int aiCalls = 0;
+        for (UUID candidateId : candidateIds) {
+            boolean withAi = aiCalls < aiBudget && callGuard.hasSpareCapacity();
+            try {
+                compatibilityService.precompute(candidateId, jobId, withAi);
+                if (withAi) {
+                    aiCalls++;
+                    aiResults.increment();
+                } else {
+                    localResults.increment();
+                }
+            } catch (Exception e) {
+                // Typically a candidate without a resume yet; they can still analyse on demand
+                log.debug("Skipping precompute of candidate {} for job {}: {}", candidateId, jobId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,23 @@
 package com.careergate.compatibility.service;
 
+import com.careergate.common.exception.AiUnavailableException;
+import com.careergate.dashboard.service.CandidateStatsService;
 import com.careergate.entities.*;
 import com.careergate.repositories.*;
+import com.careergate.skill.service.SkillDictionary;
+import com.careergate.user.service.ResumeTextCompactor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,113 +30,425 @@ public class CompatibilityService {
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final UserProfileRepository profileRepository;
-    private final SkillRepository skillRepository;
+    private final SkillDictionary skillDictionary;
     private final JobRequiredSkillRepository jobRequiredSkillRepository;
     private final UserSkillRepository userSkillRepository;
     private final AiService aiService;
-    private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+    private final AiAnalysisCache analysisCache;
+    private final SimilarAnalysisCache similarAnalyses;
+    private final LocalCompatibilityScorer localScorer;
+    private final ResumeTextCompactor resumeTextCompactor;
+    private final CandidateStatsService statsService;
+    private final io.micrometer.core.instrument.Counter localShortCircuits;
+    private final boolean fallbackToLocal;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
 
     public CompatibilityService(CompatibilityResultRepository compatibilityRepository,
             SkillGapRepository skillGapRepository,
             UserRepository userRepository,
             JobRepository jobRepository,
             UserProfileRepository profileRepository,
-            SkillRepository skillRepository,
+            SkillDictionary skillDictionary,
             JobRequiredSkillRepository jobRequiredSkillRepository,
             UserSkillRepository userSkillRepository,
             AiService aiService,
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper) {
+            AiAnalysisCache analysisCache,
+            SimilarAnalysisCache similarAnalyses,
+            LocalCompatibilityScorer localScorer,
+            ResumeTextCompactor resumeTextCompactor,
+            CandidateStatsService statsService,
+            io.micrometer.core.instrument.MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @org.springframework.beans.factory.annotation.Value("${careergate.ai.resilience.fallback-to-local:true}") boolean fallbackToLocal) {
         this.compatibilityRepository = compatibilityRepository;
         this.skillGapRepository = skillGapRepository;
         this.userRepository = userRepository;
         this.jobRepository = jobRepository;
         this.profileRepository = profileRepository;
-        this.skillRepository = skillRepository;
+        this.skillDictionary = skillDictionary;
         this.jobRequiredSkillRepository = jobRequiredSkillRepository;
         this.userSkillRepository = userSkillRepository;
         this.aiService = aiService;
-        this.objectMapper = objectMapper;
+        this.analysisCache = analysisCache;
+        this.similarAnalyses = similarAnalyses;
+        this.localScorer = localScorer;
+        this.resumeTextCompactor = resumeTextCompactor;
+        this.statsService = statsService;
+        this.localShortCircuits = io.micrometer.core.instrument.Counter
+                .builder("careergate.compatibility.prescore.short_circuits")
+                .description("Analyses answered by the local scorer without an LLM call")
+                .register(meterRegistry);
+        this.fallbackToLocal = fallbackToLocal;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public CompatibilityResult calculateCompatibility(String userEmail, UUID jobId) {
+        AnalysisInput input = readTransaction.execute(status -> {
+            User user = userRepository.findByEmail(userEmail).orElseThrow();
+            Job job = jobRepository.findById(jobId).orElseThrow();
+            return loadInput(user, job, null);
+        });
+        return runAnalysis(input, true, Origin.CANDIDATE);
+    }
+
+    /**
+     * Analysis requested by a recruiter's batch. Each (candidate, job) keeps one
+     * batch result that later runs update in place. There is no local fallback:
+     * an unavailable AI surfaces as {@link AiUnavailableException} so that the
+     * batch can back off and retry instead of recording a degraded score.
+     */
+    public CompatibilityResult scoreForRecruiter(UUID userId, UUID jobId) {
+        AnalysisInput input = readTransaction.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            Job job = jobRepository.findById(jobId).orElseThrow(() -> new RuntimeException("Job not found"));
+            CompatibilityResult existing = compatibilityRepository
+                    .findFirstByUserIdAndJobIdAndRecruiterBatchTrueOrderByEvaluatedAtDesc(userId, jobId)
+                    .orElse(null);
+            return loadInput(user, job, existing);
+        });
+        return runAnalysis(input, true, Origin.RECRUITER_BATCH);
+    }
+
+    /**
+     * Persists a PENDING result for the asynchronous flow, claimed by the queueing
+     * instance. The profile is validated up front so that obviously incomplete
+     * requests are rejected before queueing.
+     */
+    @Transactional
+    public CompatibilityResult createPendingResult(String userEmail, UUID jobId, String owner) {
+        User user = userRepository.findByEmail(userEmail).orElseThrow();
+        Job job = jobRepository.findById(jobId).orElseThrow(() -> new RuntimeException("Job not found"));
+        requireProfileWithResume(user.getId());
+
+        CompatibilityResult result = compatibilityRepository.save(CompatibilityResult.builder()
+                .userId(user.getId())
+                .jobId(job.getId())
+                .status(CompatibilityResult.AnalysisStatus.PENDING)
+                .claimedBy(owner)
+                .build());
+        statsService.resultSaved(CandidateStatsService.Contribution.NONE, result);
+        return result;
+    }
+
+    public CompatibilityResult completePendingResult(UUID resultId) {
+        AnalysisInput input = readTransaction.execute(status -> {
+            CompatibilityResult result = compatibilityRepository.findById(resultId)
+                    .orElseThrow(() -> new RuntimeException("Compatibility result not found"));
+            User user = userRepository.findById(result.getUserId()).orElseThrow();
+            Job job = jobRepository.findById(result.getJobId()).orElseThrow();
+            return loadInput(user, job, result);
+        });
+        return runAnalysis(input, true, Origin.CANDIDATE);
+    }
+
+    /**
+     * Speculative analysis for a job that was just posted. Always answers locally
+     * when the AI is not wanted or not available; the result is flagged so that
+     * it does not count towards dashboard statistics.
+     */
+    public CompatibilityResult precompute(UUID userId, UUID jobId, boolean withAi) {
+        AnalysisInput input = readTransaction.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            Job job = jobRepository.findById(jobId).orElseThrow(() -> new RuntimeException("Job not found"));
+            return loadInput(user, job, null);
+        });
+        return runAnalysis(input, withAi, Origin.PRECOMPUTE);
+    }
+
+    public CompatibilityResult getLatestResult(String userEmail, UUID jobId) {
         User user = userRepository.findByEmail(userEmail).orElseThrow();
-        Job job = jobRepository.findById(jobId).orElseThrow();
-        UserProfile profile = profileRepository.findByUserId(user.getId()).orElse(null);
+        return compatibilityRepository
+                .findFirstByUserIdAndJobIdAndStatusAndRecruiterBatchFalseOrderByEvaluatedAtDesc(user.getId(), jobId,
+                        CompatibilityResult.AnalysisStatus.COMPLETED)
+                .orElseThrow(() -> new RuntimeException("No compatibility result for this job yet"));
+    }
+
+    /**
+     * Asynchronous analyses that were accepted but never finished, oldest first.
+     */
+    /**
+     * Claims up to max unfinished analyses whose owner has not sent a heartbeat
+     * for staleAfterMs. Concurrent claims on other instances get disjoint rows.
+     */
+    @Transactional
+    public List<UUID> claimStaleResults(String owner, long staleAfterMs, int max) {
+        List<UUID> ids = compatibilityRepository.lockStaleUnfinishedIds(staleAfterMs, max);
+        if (!ids.isEmpty()) {
+            compatibilityRepository.claim(ids, owner);
+        }
+        return ids;
+    }
+
+    /**
+     * Marks a claimed analysis RUNNING, or returns empty if another instance has
+     * taken it over or it is already finished.
+     */
+    @Transactional
+    public java.util.Optional<CompatibilityResult> startClaimed(UUID resultId, String owner) {
+        if (compatibilityRepository.touchClaim(resultId, owner) == 0) {
+            return java.util.Optional.empty();
+        }
+        CompatibilityResult result = compatibilityRepository.findById(resultId)
+                .orElseThrow(() -> new RuntimeException("Compatibility result not found"));
+        result.setStatus(CompatibilityResult.AnalysisStatus.RUNNING);
+        result.setErrorMessage(null);
+        return java.util.Optional.of(compatibilityRepository.save(result));
+    }
+
+    @Transactional
+    public int heartbeat(String owner) {
+        return compatibilityRepository.heartbeat(owner);
+    }
+
+    @Transactional
+    public void releaseClaim(UUID resultId, String owner) {
+        compatibilityRepository.releaseClaim(resultId, owner);
+    }
+
+    @Transactional
+    public CompatibilityResult updateStatus(UUID resultId, CompatibilityResult.AnalysisStatus status,
+            String errorMessage) {
+        CompatibilityResult result = compatibilityRepository.findById(resultId)
+                .orElseThrow(() -> new RuntimeException("Compatibility result not found"));
+        result.setStatus(status);
+        result.setErrorMessage(errorMessage);
+        return compatibilityRepository.save(result);
+    }
 
+    private UserProfile requireProfileWithResume(UUID userId) {
+        UserProfile profile = profileRepository.findByUserId(userId).orElse(null);
         if (profile == null || profile.getResumeText() == null) {
             throw new RuntimeException("Resume not uploaded or profile incomplete");
         }
+        return profile;
+    }
+
+    /**
+     * Phase 1 (short read-only transaction): snapshot everything the analysis
+     * needs, including the versions the write phase checks against.
+     */
+    private AnalysisInput loadInput(User user, Job job, CompatibilityResult existing) {
+        UserProfile profile = requireProfileWithResume(user.getId());
+        // Profiles uploaded before compaction existed are compacted on the fly
+        String resumeText = profile.getCompactResumeText() != null
+                ? profile.getCompactResumeText()
+                : resumeTextCompactor.compact(profile.getResumeText());
 
         List<UserSkill> userSkills = userSkillRepository.findByUserId(user.getId());
         String userSkillsContext = userSkills.stream()
                 .map(us -> us.getSkill().getName() + ":" + us.getRating())
+                .sorted()
                 .collect(Collectors.joining(", "));
 
-        List<JobRequiredSkill> jobRequiredSkills = jobRequiredSkillRepository.findByJobId(jobId);
+        List<JobRequiredSkill> jobRequiredSkills = jobRequiredSkillRepository.findByJobId(job.getId());
 
         // Format: "SkillName:MinRating, SkillName2:MinRating2"
         String jobRequiredSkillsAndRatingContext = jobRequiredSkills.stream()
                 .map(rs -> rs.getSkill().getName() + ":" + rs.getMinRating())
+                .sorted()
                 .collect(Collectors.joining(", "));
 
-        // 1. Call AI for analysis
-        String aiResponseJson = aiService.analyzeResume(profile.getResumeText(), job.getDescription(),
-                jobRequiredSkillsAndRatingContext, userSkillsContext);
-
-        try {
-            com.careergate.compatibility.dto.AiAnalysisResponse aiData = objectMapper.readValue(aiResponseJson,
-                    com.careergate.compatibility.dto.AiAnalysisResponse.class);
-
-            CompatibilityResult result = CompatibilityResult.builder()
-                    .userId(user.getId())
-                    .jobId(jobId)
-                    .compatibilityScore(aiData.getCompatibilityScore())
-                    .skillMatchScore(aiData.getSkillMatchScore())
-                    .experienceMatchScore(aiData.getExperienceScore())
-                    .resumeMatchScore(aiData.getResumeScore())
-                    .aiAnalysisSummary(aiData.getAnalysisSummary())
+        LocalCompatibilityScorer.LocalScore localScore = localScorer.score(userSkills, jobRequiredSkills,
+                profile.getTotalExperience(), job);
+
+        return new AnalysisInput(user.getId(), job.getId(),
+                existing != null ? existing.getId() : null,
+                existing != null ? existing.getVersion() : null,
+                profile.getId(), profile.getUpdatedAt(), profile.getResumeText(), resumeText,
+                job.getDescription(), jobRequiredSkillsAndRatingContext, userSkillsContext, localScore);
+    }
+
+    /**
+     * Phase 2 runs the local scorer, the cache and the LLM without holding a
+     * database connection; phase 3 persists the outcome in a short transaction.
+     */
+    private CompatibilityResult runAnalysis(AnalysisInput input, boolean allowAi, Origin origin) {
+        // 1. Answer clear mismatches locally; otherwise reuse a cached analysis when the
+        // prompt inputs are unchanged, and only then call AI
+        LocalCompatibilityScorer.LocalScore localScore = input.getLocalScore();
+        com.careergate.compatibility.dto.AiAnalysisResponse aiData = null;
+        CompatibilityResult.AnalysisSource source;
+        String cacheKey = null;
+        SimilarAnalysisCache.Probe probe = null;
+        if (localScorer.isClearMismatch(localScore)) {
+            aiData = localScorer.toAnalysisResponse(localScore);
+            source = CompatibilityResult.AnalysisSource.LOCAL;
+            localShortCircuits.increment();
+        } else if (!allowAi) {
+            aiData = localScorer.toPreviewResponse(localScore);
+            source = CompatibilityResult.AnalysisSource.LOCAL;
+        } else {
+            cacheKey = analysisCache.keyFor(input.getResumeText(), input.getJobDescription(),
+                    input.getRequiredSkillsContext(), input.getUserSkillsContext());
+            aiData = analysisCache.get(cacheKey).orElse(null);
+            if (aiData == null) {
+                // Near-duplicate of this candidate's earlier (resume, job) pair with the same skills
+                probe = similarAnalyses.probe(input.getUserId(), input.getResumeText(), input.getJobDescription(),
+                        input.getRequiredSkillsContext(), input.getUserSkillsContext());
+                aiData = similarAnalyses.find(probe).orElse(null);
+                if (aiData != null) {
+                    analysisCache.put(cacheKey, aiData);
+                }
+            }
+            source = CompatibilityResult.AnalysisSource.AI;
+        }
+
+        if (aiData == null) {
+            try {
+                AiJsonParser.Parsed<com.careergate.compatibility.dto.AiAnalysisResponse> analyzed = aiService
+                        .analyzeResume(input.getResumeText(), input.getJobDescription(),
+                                input.getRequiredSkillsContext(), input.getUserSkillsContext());
+                aiData = analyzed.getValue();
+                resumeTextCompactor.recordSavings(input.getOriginalResumeText(), input.getResumeText());
+                // A cut-off response answers this request only; it is not reused for anyone else
+                if (!analyzed.isRepaired()) {
+                    analysisCache.put(cacheKey, aiData);
+                    similarAnalyses.index(cacheKey, probe);
+                }
+            } catch (AiUnavailableException e) {
+                if (origin == Origin.RECRUITER_BATCH || !fallbackToLocal && origin == Origin.CANDIDATE) {
+                    throw e;
+                }
+                // Shed load gracefully: answer from the local scorer instead of failing
+                aiData = origin == Origin.PRECOMPUTE
+                        ? localScorer.toPreviewResponse(localScore)
+                        : localScorer.toFallbackResponse(localScore);
+                source = CompatibilityResult.AnalysisSource.LOCAL;
+            } catch (Exception e) {
+                e.printStackTrace();
+                throw new RuntimeException("AI Analysis failed: " + e.getMessage());
+            }
+        }
+
+        com.careergate.compatibility.dto.AiAnalysisResponse analysis = aiData;
+        CompatibilityResult.AnalysisSource analysisSource = source;
+        return writeTransaction.execute(status -> saveAnalysis(input, analysis, analysisSource, origin));
+    }
+
+    /**
+     * Phase 3 (short write transaction). The profile (whose updated_at also moves
+     * when the rated skills change) and any pending result are re-checked so that
+     * an analysis based on stale inputs is never persisted.
+     */
+    private CompatibilityResult saveAnalysis(AnalysisInput input,
+            com.careergate.compatibility.dto.AiAnalysisResponse aiData,
+            CompatibilityResult.AnalysisSource source, Origin origin) {
+        UserProfile profile = profileRepository.findById(input.getProfileId())
+                .orElseThrow(() -> new RuntimeException("Resume not uploaded or profile incomplete"));
+        if (!Objects.equals(profile.getUpdatedAt(), input.getProfileUpdatedAt())) {
+            throw new OptimisticLockingFailureException(
+                    "Your profile changed while the analysis was running, please try again");
+        }
+
+        CompatibilityResult result;
+        CandidateStatsService.Contribution counted = CandidateStatsService.Contribution.NONE;
+        if (input.getResultId() != null) {
+            result = compatibilityRepository.findById(input.getResultId())
+                    .orElseThrow(() -> new RuntimeException("Compatibility result not found"));
+            if (!Objects.equals(result.getVersion(), input.getResultVersion())) {
+                throw new OptimisticLockingFailureException(
+                        "Compatibility result was modified while the analysis was running");
+            }
+            counted = CandidateStatsService.Contribution.of(result);
+            skillGapRepository.deleteByCompatibilityId(result.getId());
+            if (origin == Origin.RECRUITER_BATCH) {
+                result.setEvaluatedAt(LocalDateTime.now());
+            }
+        } else {
+            result = CompatibilityResult.builder()
+                    .userId(input.getUserId())
+                    .jobId(input.getJobId())
                     .build();
+        }
+
+        result.setAnalysisSource(source);
+        result.setPrecomputed(origin == Origin.PRECOMPUTE);
+        result.setRecruiterBatch(origin == Origin.RECRUITER_BATCH);
+        result.setCompatibilityScore(aiData.getCompatibilityScore());
+        result.setSkillMatchScore(aiData.getSkillMatchScore());
+        result.setExperienceMatchScore(aiData.getExperienceScore());
+        // The local scorer never reads the resume, so it has no resume score to report
+        result.setResumeMatchScore(source == CompatibilityResult.AnalysisSource.LOCAL
+                ? null
+                : aiData.getResumeScore());
+        result.setAiAnalysisSummary(aiData.getAnalysisSummary());
+        result.setStatus(CompatibilityResult.AnalysisStatus.COMPLETED);
+        result.setErrorMessage(null);
 
-            CompatibilityResult savedResult = compatibilityRepository.save(result);
+        CompatibilityResult savedResult = compatibilityRepository.save(result);
+        statsService.resultSaved(counted, savedResult);
 
-            List<SkillGap> gaps = new ArrayList<>();
+        List<com.careergate.compatibility.dto.AiAnalysisResponse.AiSkillGap> realGaps = new ArrayList<>();
+        if (aiData.getSkillGaps() != null) {
             for (com.careergate.compatibility.dto.AiAnalysisResponse.AiSkillGap aiGap : aiData.getSkillGaps()) {
+                // A truncated response can end with a half-written gap
+                if (aiGap.getSkillName() == null || aiGap.getSkillName().isBlank()) {
+                    continue;
+                }
                 // Fail-safe: only add if there is a real gap (user rating < required rating)
                 if (aiGap.getUserRating() != null && aiGap.getRequiredRating() != null
                         && aiGap.getUserRating() >= aiGap.getRequiredRating()) {
                     continue;
                 }
-
-                Skill skill = skillRepository.findByNameIgnoreCase(aiGap.getSkillName())
-                        .orElseGet(() -> skillRepository
-                                .save(Skill.builder().name(aiGap.getSkillName().toUpperCase()).build()));
-
-                gaps.add(SkillGap.builder()
-                        .compatibility(savedResult)
-                        .skill(skill)
-                        .gap(aiGap.getGapLevel())
-                        .requiredRating(aiGap.getRequiredRating())
-                        .userRating(aiGap.getUserRating())
-                        .improvementSuggestions(aiGap.getImprovementSuggestions())
-                        .build());
+                realGaps.add(aiGap);
             }
+        }
 
-            skillGapRepository.saveAll(gaps);
-            savedResult.setGaps(gaps);
-            return savedResult;
+        Map<String, Skill> skills = skillDictionary.resolveAll(realGaps.stream()
+                .map(com.careergate.compatibility.dto.AiAnalysisResponse.AiSkillGap::getSkillName)
+                .toList());
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("AI Analysis failed: " + e.getMessage());
+        List<SkillGap> gaps = new ArrayList<>();
+        for (com.careergate.compatibility.dto.AiAnalysisResponse.AiSkillGap aiGap : realGaps) {
+            gaps.add(SkillGap.builder()
+                    .compatibility(savedResult)
+                    .skill(skills.get(SkillDictionary.normalise(aiGap.getSkillName())))
+                    .gap(aiGap.getGapLevel())
+                    .requiredRating(aiGap.getRequiredRating())
+                    .userRating(aiGap.getUserRating())
+                    .improvementSuggestions(aiGap.getImprovementSuggestions())
+                    .build());
         }
+
+        skillGapRepository.saveAll(gaps);
+        savedResult.setGaps(gaps);
+        return savedResult;
     }
 
     public CompatibilityResult getResult(UUID id) {
-        return compatibilityRepository.findById(id).orElseThrow();
+        return compatibilityRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Compatibility result not found"));
     }
 
     public List<SkillGap> getGaps(UUID compatibilityId) {
         return skillGapRepository.findByCompatibilityId(compatibilityId);
     }
+
+    /**
+     * Who asked for an analysis, which decides the AI fallback and whether the
+     * result counts as the candidate's own.
+     */
+    private enum Origin {
+        CANDIDATE, PRECOMPUTE, RECRUITER_BATCH
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class AnalysisInput {
+        private UUID userId;
+        private UUID jobId;
+        private UUID resultId;
+        private Long resultVersion;
+        private UUID profileId;
+        private LocalDateTime profileUpdatedAt;
+        private String originalResumeText;
+        private String resumeText;
+        private String jobDescription;
+        private String requiredSkillsContext;
+        private String userSkillsContext;
+        private LocalCompatibilityScorer.LocalScore localScore;
+    }
 }
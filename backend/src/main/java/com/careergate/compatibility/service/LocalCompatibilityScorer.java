@@ -0,0 +1,217 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import com.careergate.entities.UserSkill;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deterministic compatibility scoring from self-reported skill ratings and
+ * experience. Runs in microseconds and is used to answer clear mismatches
+ * without an LLM call.
+ *
+ * Skill match: each required skill contributes min(userRating / minRating, 1),
+ * averaged over all required skills. Experience match: 100 inside the job's
+ * range, proportional below the minimum and gently penalised above the maximum.
+ * The overall score weights skills at 70% and experience at 30%.
+ */
+@Service
+public class LocalCompatibilityScorer {
+
+    private static final double SKILL_WEIGHT = 0.7;
+    private static final double EXPERIENCE_WEIGHT = 0.3;
+    private static final int CREDIT_UNIT = 60;
+
+    private final boolean enabled;
+    private final int rejectThreshold;
+
+    public LocalCompatibilityScorer(
+            @Value("${careergate.compatibility.prescore.enabled:true}") boolean enabled,
+            @Value("${careergate.compatibility.prescore.reject-threshold:35}") int rejectThreshold) {
+        this.enabled = enabled;
+        this.rejectThreshold = rejectThreshold;
+    }
+
+    public LocalScore score(List<UserSkill> userSkills, List<JobRequiredSkill> requiredSkills,
+            BigDecimal totalExperience, Job job) {
+        Map<UUID, Integer> ratings = new HashMap<>(userSkills.size() * 2);
+        for (UserSkill us : userSkills) {
+            ratings.put(us.getSkill().getId(), us.getRating());
+        }
+
+        long credit = 0;
+        List<LocalGap> gaps = new ArrayList<>();
+        for (JobRequiredSkill rs : requiredSkills) {
+            int required = rs.getMinRating() != null ? Math.max(rs.getMinRating(), 1) : 1;
+            int actual = ratings.getOrDefault(rs.getSkill().getId(), 0);
+            credit += skillCredit(actual, required);
+            if (actual < required) {
+                gaps.add(new LocalGap(rs.getSkill().getName(), required, actual, required - actual));
+            }
+        }
+
+        int skillScore = skillScore(credit, requiredSkills.size());
+        int experienceScore = experienceScore(totalExperience, job.getMinExperience(), job.getMaxExperience());
+        int overall = overallScore(skillScore, experienceScore);
+
+        return new LocalScore(overall, skillScore, experienceScore, requiredSkills.size(), gaps);
+    }
+
+    /**
+     * Credit for one required skill, min(rating / minRating, 1), in sixtieths of
+     * a skill. Sixtieths are exact for every minimum rating from 1 to 5, so a
+     * sum of credits does not depend on the order the skills are visited in and
+     * bulk rankers that add them up differently get the same score.
+     */
+    public static int skillCredit(int rating, int minRating) {
+        int required = Math.max(minRating, 1);
+        return Math.min(rating * CREDIT_UNIT / required, CREDIT_UNIT);
+    }
+
+    /**
+     * Skill score from summed {@link #skillCredit} values; 100 when nothing is
+     * required.
+     */
+    public static int skillScore(long credit, int requiredCount) {
+        if (requiredCount == 0) {
+            return 100;
+        }
+        return (int) Math.round(credit * 100.0 / ((long) CREDIT_UNIT * requiredCount));
+    }
+
+    int experienceScore(BigDecimal experience, BigDecimal min, BigDecimal max) {
+        return experienceScore(toDouble(experience), toDouble(min), toDouble(max));
+    }
+
+    /**
+     * Experience score over primitives for bulk ranking; NaN stands for a
+     * missing value.
+     */
+    public static int experienceScore(double experience, double min, double max) {
+        if (Double.isNaN(min) || min <= 0) {
+            if (Double.isNaN(max) || Double.isNaN(experience) || experience <= max) {
+                return 100;
+            }
+        }
+        if (Double.isNaN(experience)) {
+            return 0;
+        }
+        if (!Double.isNaN(min) && experience < min) {
+            return (int) Math.round(100 * experience / min);
+        }
+        if (!Double.isNaN(max) && experience > max) {
+            return (int) Math.max(60, Math.round(100 - 10 * (experience - max)));
+        }
+        return 100;
+    }
+
+    public static int overallScore(int skillScore, int experienceScore) {
+        return (int) Math.round(skillScore * SKILL_WEIGHT + experienceScore * EXPERIENCE_WEIGHT);
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * True when the candidate is far enough below the bar that an LLM analysis
+     * would not change the outcome.
+     */
+    public boolean isClearMismatch(LocalScore score) {
+        return enabled && score.getRequiredSkillCount() > 0 && score.getCompatibilityScore() < rejectThreshold;
+    }
+
+    /**
+     * Renders a local score in the same shape as an AI analysis so that both go
+     * through the same persistence path.
+     */
+    public AiAnalysisResponse toAnalysisResponse(LocalScore score) {
+        AiAnalysisResponse response = new AiAnalysisResponse();
+        response.setCompatibilityScore(score.getCompatibilityScore());
+        response.setSkillMatchScore(score.getSkillMatchScore());
+        response.setExperienceScore(score.getExperienceScore());
+        response.setAnalysisSummary(String.format(
+                "You currently meet %d of the %d skills this role requires at the expected level, "
+                        + "and your experience matches the role's range at %d%%. Close the gaps below "
+                        + "before applying; a detailed AI review becomes available once your profile is closer to the bar.",
+                score.getRequiredSkillCount() - score.getGaps().size(), score.getRequiredSkillCount(),
+                score.getExperienceScore()));
+
+        List<AiAnalysisResponse.AiSkillGap> gaps = new ArrayList<>();
+        for (LocalGap gap : score.getGaps()) {
+            AiAnalysisResponse.AiSkillGap aiGap = new AiAnalysisResponse.AiSkillGap();
+            aiGap.setSkillName(gap.getSkillName());
+            aiGap.setGapLevel(gap.getGap());
+            aiGap.setRequiredRating(gap.getRequiredRating());
+            aiGap.setUserRating(gap.getUserRating());
+            aiGap.setImprovementSuggestions(gap.getUserRating() == 0
+                    ? "Start learning " + gap.getSkillName() + " and build hands-on projects until you reach level "
+                            + gap.getRequiredRating() + "."
+                    : "Grow your " + gap.getSkillName() + " proficiency from level " + gap.getUserRating()
+                            + " to " + gap.getRequiredRating() + " through focused practice and real projects.");
+            gaps.add(aiGap);
+        }
+        response.setSkillGaps(gaps);
+        return response;
+    }
+
+    /**
+     * Same as {@link #toAnalysisResponse} but worded for the case where the AI
+     * service was unavailable rather than the candidate being a clear mismatch.
+     */
+    public AiAnalysisResponse toFallbackResponse(LocalScore score) {
+        AiAnalysisResponse response = toAnalysisResponse(score);
+        response.setAnalysisSummary(String.format(
+                "Our AI reviewer is busy right now, so this is a quick skills-based estimate. You meet %d of the %d "
+                        + "required skills at the expected level and your experience matches the role's range at %d%%. "
+                        + "Run the analysis again later for a full review of your resume.",
+                score.getRequiredSkillCount() - score.getGaps().size(), score.getRequiredSkillCount(),
+                score.getExperienceScore()));
+        return response;
+    }
+
+    /**
+     * Same as {@link #toAnalysisResponse} but worded as a preview prepared when
+     * the job was posted, before the candidate asked for an analysis.
+     */
+    public AiAnalysisResponse toPreviewResponse(LocalScore score) {
+        AiAnalysisResponse response = toAnalysisResponse(score);
+        response.setAnalysisSummary(String.format(
+                "This is a quick skills-based preview. You meet %d of the %d required skills at the expected level "
+                        + "and your experience matches the role's range at %d%%. Run the analysis for a full review "
+                        + "of your resume against this job.",
+                score.getRequiredSkillCount() - score.getGaps().size(), score.getRequiredSkillCount(),
+                score.getExperienceScore()));
+        return response;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LocalScore {
+        private int compatibilityScore;
+        private int skillMatchScore;
+        private int experienceScore;
+        private int requiredSkillCount;
+        private List<LocalGap> gaps;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LocalGap {
+        private String skillName;
+        private int requiredRating;
+        private int userRating;
+        private int gap;
+    }
+}
@@ -0,0 +1,138 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.common.embedding.EmbeddingProvider;
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.repositories.AiAnalysisCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Near-duplicate tier behind {@link AiAnalysisCache}. Every cached analysis is
+ * indexed with embeddings of its resume and job description; a new request
+ * whose skills match exactly and whose resume and job are both within
+ * max-distance (cosine) of a cached pair reuses that analysis. Typical hits are
+ * re-uploads of a lightly edited resume or reposts of the same job.
+ *
+ * Reuse is scoped to the candidate: the summary and suggestions quote the
+ * resume, so a near-identical resume from someone else must never be served
+ * another person's analysis. The user id is folded into the skills hash, and the
+ * lookup only ever compares entries that share it.
+ */
+@Service
+@Slf4j
+public class SimilarAnalysisCache {
+
+    private final AiAnalysisCacheRepository cacheRepository;
+    private final EmbeddingProvider embeddingProvider;
+    private final ObjectMapper objectMapper;
+    private final String model;
+    private final boolean enabled;
+    private final double maxDistance;
+    private final Counter hits;
+
+    public SimilarAnalysisCache(AiAnalysisCacheRepository cacheRepository,
+            EmbeddingProvider embeddingProvider,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.openai.chat.options.model:unknown}") String model,
+            @Value("${careergate.ai.cache.semantic.enabled:true}") boolean enabled,
+            @Value("${careergate.ai.cache.semantic.max-distance:0.05}") double maxDistance) {
+        this.cacheRepository = cacheRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.objectMapper = objectMapper;
+        this.model = model;
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.hits = Counter.builder("careergate.ai.cache.requests")
+                .description("AI analysis cache lookups")
+                .tag("prompt", AiMetrics.PROMPT_ANALYSIS).tag("model", model)
+                .tag("result", "hit").tag("tier", "semantic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Embeds the inputs once so that the same probe can be used for the lookup
+     * and, after a miss, for indexing the fresh analysis.
+     */
+    public Probe probe(UUID userId, String resumeText, String jobDescription, String requiredSkills,
+            String userSkills) {
+        if (!enabled || userId == null || resumeText == null || resumeText.isBlank()
+                || jobDescription == null || jobDescription.isBlank()) {
+            return null;
+        }
+        return new Probe(scopeHash(userId, requiredSkills, userSkills),
+                EmbeddingProvider.toPgVector(embeddingProvider.embed(resumeText)),
+                EmbeddingProvider.toPgVector(embeddingProvider.embed(jobDescription)));
+    }
+
+    public Optional<AiAnalysisResponse> find(Probe probe) {
+        if (probe == null) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> key = cacheRepository.findNearestKey(model, probe.getSkillsHash(),
+                    probe.getResumeEmbedding(), probe.getJobEmbedding(), maxDistance);
+            if (key.isPresent()) {
+                var entry = cacheRepository.findById(key.get());
+                if (entry.isPresent()) {
+                    AiAnalysisResponse response = objectMapper.readValue(entry.get().getResponseJson(),
+                            AiAnalysisResponse.class);
+                    cacheRepository.recordHit(key.get());
+                    hits.increment();
+                    return Optional.of(response);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Near-duplicate analysis lookup failed", e);
+        }
+        return Optional.empty();
+    }
+
+    public void index(String cacheKey, Probe probe) {
+        if (probe == null) {
+            return;
+        }
+        try {
+            cacheRepository.updateEmbeddings(cacheKey, probe.getSkillsHash(), probe.getResumeEmbedding(),
+                    probe.getJobEmbedding());
+        } catch (Exception e) {
+            log.warn("Failed to index AI analysis cache entry {}", cacheKey, e);
+        }
+    }
+
+    private String scopeHash(UUID userId, String requiredSkills, String userSkills) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] { userId.toString(), requiredSkills, userSkills }) {
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Probe {
+        private String skillsHash;
+        private String resumeEmbedding;
+        private String jobEmbedding;
+    }
+}
@@ -1,99 +1,282 @@
 package com.careergate.compatibility.service;
 
+import com.careergate.common.text.AhoCorasick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Service to provide verified, publicly available YouTube video IDs for common
  * tech topics.
- * These are curated, high-quality educational videos from popular channels.
+ * These are curated, high-quality educational videos from popular channels,
+ * listed in a JSON catalog (careergate.youtube.catalog.location) that is
+ * reloaded when the file changes.
+ *
+ * Topics resolve with these rules, in order:
+ * 1. the whole topic is a catalog topic
+ * 2. a priority substring ("javascript", " js ") wins, so JavaScript is never
+ *    taken for Java
+ * 3. the first word (split on whitespace, '-' and '_') that is a catalog topic
+ * 4. the longest catalog topic contained anywhere
+ * 5. the default video
+ *
+ * All rules are answered by one pass of an Aho-Corasick automaton built when
+ * the catalog is loaded; lookups do not allocate.
  */
 @Service
+@Slf4j
 public class YouTubeVideoService {
 
-    private static final Map<String, String> VERIFIED_VIDEOS = new HashMap<>();
-
-    static {
-        // Programming Languages
-        VERIFIED_VIDEOS.put("python", "rfscVS0vtbw"); // Python Tutorial - freeCodeCamp
-        VERIFIED_VIDEOS.put("java", "UmnCZ7-9yDY"); // Java Tutorial - Caleb Curry
-        VERIFIED_VIDEOS.put("javascript", "W6NZfCO5SIk"); // JS Crash Course - Traversy
-        VERIFIED_VIDEOS.put("typescript", "30LWjhZzg50"); // TS Full Course - freeCodeCamp
-        VERIFIED_VIDEOS.put("go", "un6ZyFkqFKo"); // Go Tutorial - freeCodeCamp
-        VERIFIED_VIDEOS.put("rust", "zF34dRivLOw"); // Rust Crash Course
-        VERIFIED_VIDEOS.put("c++", "vLnPwxZdW4Y"); // C++ Tutorial
-
-        // Web Development
-        VERIFIED_VIDEOS.put("react", "bMknfKXLgFA"); // React Course - freeCodeCamp
-        VERIFIED_VIDEOS.put("node", "Oe421EPjeBE"); // Node.js Tutorial
-        VERIFIED_VIDEOS.put("angular", "3qBXWUpoPHo"); // Angular Tutorial
-        VERIFIED_VIDEOS.put("vue", "FXpIoQ_rT_c"); // Vue.js Course
-        VERIFIED_VIDEOS.put("html", "pQN-pnXPaVg"); // HTML Full Course
-        VERIFIED_VIDEOS.put("css", "1Rs2ND1ryYc"); // CSS Tutorial
-
-        // Databases
-        VERIFIED_VIDEOS.put("sql", "HXV3zeQKqGY"); // SQL Tutorial
-        VERIFIED_VIDEOS.put("postgresql", "qw--VwXb71Q"); // PostgreSQL Tutorial - freeCodeCamp
-        VERIFIED_VIDEOS.put("mongodb", "c2M-rlkkT5o"); // MongoDB Crash Course
-        VERIFIED_VIDEOS.put("mysql", "7S_tz1z_5bA"); // MySQL Tutorial
-
-        // Frameworks & Tools
-        VERIFIED_VIDEOS.put("spring", "9ptm2c5Fk5U"); // Spring Boot - Mosh
-        VERIFIED_VIDEOS.put("spring boot", "9z_fS1jT77k"); // Spring Boot Full Course - Amigoscode
-        VERIFIED_VIDEOS.put("docker", "pTJxdL_pIWM"); // Docker Tutorial - Mosh
-        VERIFIED_VIDEOS.put("kubernetes", "X48VuDVv0do"); // Kubernetes Tutorial - TechWorld with Nana
-        VERIFIED_VIDEOS.put("git", "RGOj5yH7evk"); // Git and GitHub
-        VERIFIED_VIDEOS.put("aws", "f1c24P3bO2E"); // AWS Tutorial - freeCodeCamp
-        VERIFIED_VIDEOS.put("system design", "ZgdS0EUasK0"); // System Design Concepts
-
-        // Default
-        VERIFIED_VIDEOS.put("default", "rfscVS0vtbw"); // Python Tutorial as default
+    private static final String DEFAULT_TOPIC = "default";
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+    private volatile Catalog catalog;
+    private volatile long loadedModified;
+
+    public YouTubeVideoService(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+            @Value("${careergate.youtube.catalog.location:classpath:youtube/video-catalog.json}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+        try {
+            load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load YouTube video catalog from " + location, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${careergate.youtube.catalog.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        try {
+            long modified = resourceLoader.getResource(location).lastModified();
+            if (modified != loadedModified) {
+                load();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the last good catalog
+            log.warn("Could not reload YouTube video catalog from {}: {}", location, e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        long modified = resource.lastModified();
+        CatalogFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = objectMapper.readValue(in, CatalogFile.class);
+        }
+        this.catalog = Catalog.compile(file);
+        this.loadedModified = modified;
+        log.info("Loaded {} YouTube videos from {}", file.getVideos().size(), location);
     }
 
     /**
      * Get a verified YouTube video ID for a given topic.
-     * Uses fuzzy matching to find the best match.
      */
     public String getVideoIdForTopic(String topic) {
-        if (topic == null || topic.trim().isEmpty()) {
-            return VERIFIED_VIDEOS.get("default");
+        Catalog current = catalog;
+        if (topic == null) {
+            return current.defaultVideoId;
         }
-
-        String normalizedTopic = topic.toLowerCase().trim();
-
-        // 1. Exact match (highest priority)
-        if (VERIFIED_VIDEOS.containsKey(normalizedTopic)) {
-            return VERIFIED_VIDEOS.get(normalizedTopic);
+        int from = 0;
+        int to = topic.length();
+        while (from < to && topic.charAt(from) <= ' ') {
+            from++;
         }
-
-        // 2. JavaScript specific check (priority over Java)
-        if (normalizedTopic.contains("javascript") || normalizedTopic.contains(" js ")) {
-            return VERIFIED_VIDEOS.get("javascript");
+        while (to > from && topic.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return current.defaultVideoId;
         }
 
-        // 3. Word match behavior
-        String[] words = normalizedTopic.split("[\\s\\-_]+");
-        for (String word : words) {
-            if (VERIFIED_VIDEOS.containsKey(word)) {
-                return VERIFIED_VIDEOS.get(word);
+        AhoCorasick automaton = current.automaton;
+        int priorityMatch = -1;
+        int wordMatch = -1;
+        int wordStart = Integer.MAX_VALUE;
+        int substringMatch = -1;
+        int state = AhoCorasick.ROOT;
+        for (int i = from; i < to; i++) {
+            state = automaton.next(state, Character.toLowerCase(topic.charAt(i)));
+            for (int s = automaton.output(state); s != AhoCorasick.ROOT; s = automaton.nextOutput(s)) {
+                int p = automaton.patternOf(s);
+                int start = i - automaton.patternLength(p) + 1;
+                String video = current.topicVideo[p];
+                if (video != null && start == from && i == to - 1) {
+                    return video;
+                }
+                if (priorityMatch < 0 && current.priorityVideo[p] != null) {
+                    priorityMatch = p;
+                }
+                if (video == null) {
+                    continue;
+                }
+                if (start < wordStart && current.singleWord[p] && (start == from || isSeparator(topic.charAt(start - 1)))
+                        && (i == to - 1 || isSeparator(topic.charAt(i + 1)))) {
+                    wordStart = start;
+                    wordMatch = p;
+                }
+                if (p != current.defaultPattern && (substringMatch < 0
+                        || automaton.patternLength(p) > automaton.patternLength(substringMatch)
+                        || automaton.patternLength(p) == automaton.patternLength(substringMatch)
+                                && current.order[p] < current.order[substringMatch])) {
+                    substringMatch = p;
+                }
             }
         }
 
-        // 4. Fallback substring match (longer keys first)
-        return VERIFIED_VIDEOS.entrySet().stream()
-                .filter(e -> !e.getKey().equals("default"))
-                .sorted((e1, e2) -> Integer.compare(e2.getKey().length(), e1.getKey().length()))
-                .filter(e -> normalizedTopic.contains(e.getKey()))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(VERIFIED_VIDEOS.get("default"));
+        if (priorityMatch >= 0) {
+            return current.priorityVideo[priorityMatch];
+        }
+        if (wordMatch >= 0) {
+            return current.topicVideo[wordMatch];
+        }
+        return substringMatch >= 0 ? current.topicVideo[substringMatch] : current.defaultVideoId;
     }
 
     /**
      * Check if a video ID is in our verified list
      */
     public boolean isVerifiedVideo(String videoId) {
-        return VERIFIED_VIDEOS.containsValue(videoId);
+        return catalog.videoIds.contains(videoId);
+    }
+
+    // Same separators as splitting on [\s\-_]+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r' || c == '-' || c == '_';
+    }
+
+    /**
+     * Compiled catalog. Arrays are indexed by automaton pattern id; a pattern can
+     * be both a topic and a priority substring.
+     */
+    private static final class Catalog {
+        private final AhoCorasick automaton;
+        private final String[] topicVideo;
+        private final String[] priorityVideo;
+        private final boolean[] singleWord;
+        private final int[] order;
+        private final int defaultPattern;
+        private final String defaultVideoId;
+        private final Set<String> videoIds;
+
+        private Catalog(AhoCorasick automaton, String[] topicVideo, String[] priorityVideo, boolean[] singleWord,
+                int[] order, int defaultPattern, String defaultVideoId, Set<String> videoIds) {
+            this.automaton = automaton;
+            this.topicVideo = topicVideo;
+            this.priorityVideo = priorityVideo;
+            this.singleWord = singleWord;
+            this.order = order;
+            this.defaultPattern = defaultPattern;
+            this.defaultVideoId = defaultVideoId;
+            this.videoIds = videoIds;
+        }
+
+        static Catalog compile(CatalogFile file) {
+            if (file.getDefaultVideoId() == null || file.getDefaultVideoId().isBlank()) {
+                throw new IllegalArgumentException("YouTube video catalog has no defaultVideoId");
+            }
+            AhoCorasick.Builder builder = new AhoCorasick.Builder();
+            List<String> topicVideo = new ArrayList<>();
+            List<String> priorityVideo = new ArrayList<>();
+            Set<String> videoIds = new HashSet<>();
+
+            // "default" resolves like any topic for exact and word matches, but never as a substring
+            int defaultPattern = builder.add(DEFAULT_TOPIC);
+            set(topicVideo, defaultPattern, file.getDefaultVideoId());
+            videoIds.add(file.getDefaultVideoId());
+
+            // Substring ties go to whichever topic a HashMap of the catalog iterates first,
+            // as in the original static map, so existing roadmaps keep their videos
+            Map<String, Integer> legacyOrder = new HashMap<>();
+            for (CatalogVideo video : file.getVideos()) {
+                String topic = video.getTopic().trim().toLowerCase(Locale.ROOT);
+                int p = builder.add(topic);
+                if (p < topicVideo.size() && topicVideo.get(p) != null) {
+                    continue; // first entry for a topic wins
+                }
+                set(topicVideo, p, video.getVideoId());
+                legacyOrder.put(topic, p);
+                videoIds.add(video.getVideoId());
+            }
+            legacyOrder.put(DEFAULT_TOPIC, defaultPattern);
+            int[] order = new int[builder.patternCount() + file.getPriority().size()];
+            Arrays.fill(order, Integer.MAX_VALUE);
+            int rank = 0;
+            for (int p : legacyOrder.values()) {
+                order[p] = rank++;
+            }
+
+            for (PriorityRule rule : file.getPriority()) {
+                int target = builder.add(rule.getTopic().trim().toLowerCase(Locale.ROOT));
+                String video = target < topicVideo.size() ? topicVideo.get(target) : null;
+                if (video == null) {
+                    throw new IllegalArgumentException("Priority rule refers to unknown topic " + rule.getTopic());
+                }
+                int p = builder.add(rule.getContains().toLowerCase(Locale.ROOT));
+                if (p >= priorityVideo.size() || priorityVideo.get(p) == null) {
+                    set(priorityVideo, p, video);
+                }
+            }
+
+            int patterns = builder.patternCount();
+            // Topics containing a separator can never be one word of the split topic
+            boolean[] singleWord = new boolean[patterns];
+            for (Map.Entry<String, Integer> entry : legacyOrder.entrySet()) {
+                singleWord[entry.getValue()] = entry.getKey().chars().noneMatch(c -> isSeparator((char) c));
+            }
+            return new Catalog(builder.build(),
+                    toArray(topicVideo, patterns), toArray(priorityVideo, patterns), singleWord,
+                    Arrays.copyOf(order, patterns), defaultPattern, file.getDefaultVideoId(), Set.copyOf(videoIds));
+        }
+
+        private static void set(List<String> list, int index, String value) {
+            while (list.size() <= index) {
+                list.add(null);
+            }
+            list.set(index, value);
+        }
+
+        private static String[] toArray(List<String> list, int size) {
+            return Arrays.copyOf(list.toArray(new String[0]), size);
+        }
+    }
+
+    @Data
+    static class CatalogFile {
+        private String defaultVideoId;
+        private List<PriorityRule> priority = new ArrayList<>();
+        private List<CatalogVideo> videos = new ArrayList<>();
+    }
+
+    @Data
+    static class PriorityRule {
+        private String contains;
+        private String topic;
+    }
+
+    @Data
+    static class CatalogVideo {
+        private String topic;
+        private String videoId;
+        private String title;
     }
 }
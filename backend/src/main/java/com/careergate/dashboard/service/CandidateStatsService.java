@@ -0,0 +1,122 @@
+package com.careergate.dashboard.service;
+
+import com.careergate.entities.CompatibilityResult;
+import com.careergate.repositories.CandidateStatisticsRepository;
+import com.careergate.repositories.CompatibilityResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Keeps the candidate_stats row of each candidate in step with their
+ * compatibility results and roadmaps. Writers call in from the transaction
+ * that saves the row, so the statistics commit or roll back with it.
+ *
+ * The distinct-jobs count is decided from the other results visible to the
+ * writer; two first results for the same job committed concurrently can count
+ * it twice. The scheduled rebuild recomputes everything from the source
+ * tables and corrects that, and any other drift.
+ */
+@Service
+@Slf4j
+public class CandidateStatsService {
+
+    private final CandidateStatisticsRepository statisticsRepository;
+    private final CompatibilityResultRepository compatibilityRepository;
+
+    public CandidateStatsService(CandidateStatisticsRepository statisticsRepository,
+            CompatibilityResultRepository compatibilityRepository) {
+        this.statisticsRepository = statisticsRepository;
+        this.compatibilityRepository = compatibilityRepository;
+    }
+
+    /**
+     * Applies the change from what the result counted before (taken with
+     * {@link Contribution#of} ahead of the update, or {@link Contribution#NONE}
+     * for a new row) to what the saved result counts now.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resultSaved(Contribution before, CompatibilityResult saved) {
+        Contribution after = Contribution.of(saved);
+        int jobsEvaluated = 0;
+        if (before.counted != after.counted && !compatibilityRepository
+                .existsByUserIdAndJobIdAndPrecomputedFalseAndRecruiterBatchFalseAndIdNot(saved.getUserId(),
+                        saved.getJobId(), saved.getId())) {
+            jobsEvaluated = after.counted ? 1 : -1;
+        }
+        long compatibilitySum = after.compatibilitySum() - before.compatibilitySum();
+        int compatibilityCount = after.compatibilityCount() - before.compatibilityCount();
+        long skillScoreSum = after.skillScoreSum() - before.skillScoreSum();
+        int skillScoreCount = after.skillScoreCount() - before.skillScoreCount();
+        if (compatibilitySum == 0 && compatibilityCount == 0 && skillScoreSum == 0 && skillScoreCount == 0
+                && jobsEvaluated == 0) {
+            return;
+        }
+        statisticsRepository.add(saved.getUserId(), compatibilitySum, compatibilityCount, skillScoreSum,
+                skillScoreCount, jobsEvaluated, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void roadmapCreated(UUID userId) {
+        statisticsRepository.add(userId, 0, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Recomputes the whole table from the results and roadmaps. Incremental
+     * writers wait on the table lock until it commits; dashboard reads do not.
+     */
+    @Scheduled(cron = "${careergate.dashboard.stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        long start = System.nanoTime();
+        statisticsRepository.lockForRebuild();
+        statisticsRepository.deleteAllRows();
+        int rows = statisticsRepository.insertFromSource();
+        log.info("Candidate stats rebuilt for {} users in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * What one compatibility result adds to its candidate's statistics.
+     * Precomputed and recruiter batch results add nothing; null scores
+     * (pending, failed) are not averaged.
+     */
+    public static final class Contribution {
+        public static final Contribution NONE = new Contribution(false, null, null);
+
+        private final boolean counted;
+        private final Integer compatibilityScore;
+        private final Integer skillScore;
+
+        private Contribution(boolean counted, Integer compatibilityScore, Integer skillScore) {
+            this.counted = counted;
+            this.compatibilityScore = counted ? compatibilityScore : null;
+            this.skillScore = counted ? skillScore : null;
+        }
+
+        public static Contribution of(CompatibilityResult result) {
+            return new Contribution(!result.isPrecomputed() && !result.isRecruiterBatch(),
+                    result.getCompatibilityScore(),
+                    result.getSkillMatchScore());
+        }
+
+        long compatibilitySum() {
+            return compatibilityScore != null ? compatibilityScore : 0;
+        }
+
+        int compatibilityCount() {
+            return compatibilityScore != null ? 1 : 0;
+        }
+
+        long skillScoreSum() {
+            return skillScore != null ? skillScore : 0;
+        }
+
+        int skillScoreCount() {
+            return skillScore != null ? 1 : 0;
+        }
+    }
+}
@@ -2,59 +2,60 @@ package com.careergate.dashboard.service;
 
 import com.careergate.dashboard.dto.CandidateStats;
 import com.careergate.dashboard.dto.RecruiterStats;
-import com.careergate.entities.Job;
+import com.careergate.entities.CandidateStatistics;
 import com.careergate.entities.User;
+import com.careergate.repositories.CandidateStatisticsRepository;
 import com.careergate.repositories.CompatibilityResultRepository;
 import com.careergate.repositories.JobRepository;
-import com.careergate.repositories.LearningRoadmapRepository;
 import com.careergate.repositories.UserRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
     private final CompatibilityResultRepository compatibilityRepository;
-    private final LearningRoadmapRepository roadmapRepository;
+    private final CandidateStatisticsRepository statisticsRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
 
     public DashboardService(CompatibilityResultRepository compatibilityRepository,
-            LearningRoadmapRepository roadmapRepository,
+            CandidateStatisticsRepository statisticsRepository,
             JobRepository jobRepository,
             UserRepository userRepository) {
         this.compatibilityRepository = compatibilityRepository;
-        this.roadmapRepository = roadmapRepository;
+        this.statisticsRepository = statisticsRepository;
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
     }
 
+    /**
+     * One primary-key read of the totals kept by CandidateStatsService; a
+     * candidate with no results or roadmaps yet has no row.
+     */
     public CandidateStats getCandidateStats(String email) {
-        User user = userRepository.findByEmail(email).orElseThrow();
-        UUID userId = user.getId();
-
-        Double avgCompatibility = compatibilityRepository.findAverageCompatibilityScoreByUserId(userId);
-        Double avgSkillScore = compatibilityRepository.findAverageSkillMatchScoreByUserId(userId);
-        Long activeRoadmaps = (long) roadmapRepository.findByUserId(userId).size();
-        Long jobsApplied = compatibilityRepository.countDistinctJobIdByUserId(userId);
+        CandidateStatistics stats = statisticsRepository.findByUserEmail(email)
+                .orElseGet(CandidateStatistics::new);
 
         return CandidateStats.builder()
-                .compatibility(avgCompatibility != null ? Math.round(avgCompatibility * 10.0) / 10.0 : 0.0)
-                .skillScore(avgSkillScore != null ? Math.round(avgSkillScore * 10.0) / 10.0 : 0.0)
-                .activeRoadmaps(activeRoadmaps)
-                .jobsApplied(jobsApplied)
+                .compatibility(average(stats.getCompatibilitySum(), stats.getCompatibilityCount()))
+                .skillScore(average(stats.getSkillScoreSum(), stats.getSkillScoreCount()))
+                .activeRoadmaps((long) stats.getRoadmapCount())
+                .jobsApplied((long) stats.getJobsEvaluated())
                 .build();
     }
 
+    private static double average(long sum, int count) {
+        return count > 0 ? Math.round((double) sum / count * 10.0) / 10.0 : 0.0;
+    }
+
     public RecruiterStats getRecruiterStats(String email) {
         User recruiter = userRepository.findByEmail(email).orElseThrow();
         UUID recruiterId = recruiter.getId();
 
-        List<Job> jobs = jobRepository.findByRecruiterIdOrderByCreatedAtDesc(recruiterId);
-        List<UUID> jobIds = jobs.stream().map(Job::getId).collect(Collectors.toList());
+        List<UUID> jobIds = jobRepository.findIdsByRecruiterId(recruiterId);
 
         if (jobIds.isEmpty()) {
             return RecruiterStats.builder()
@@ -67,10 +68,10 @@ public class DashboardService {
 
         Long totalApplicants = compatibilityRepository.countDistinctUserIdByJobIdIn(jobIds);
         Double avgSkillScore = compatibilityRepository.findAverageSkillMatchScoreByJobIdIn(jobIds);
-        Long topMatches = compatibilityRepository.countByJobIdInAndCompatibilityScoreGreaterThanEqual(jobIds, 80);
+        Long topMatches = compatibilityRepository.countByJobIdInAndCompatibilityScoreGreaterThanEqualAndPrecomputedFalse(jobIds, 80);
 
         return RecruiterStats.builder()
-                .jobsPosted((long) jobs.size())
+                .jobsPosted((long) jobIds.size())
                 .totalApplicants(totalApplicants)
                 .avgSkillScore(avgSkillScore != null ? Math.round(avgSkillScore * 10.0) / 10.0 : 0.0)
                 .topMatches(topMatches)
@@ -0,0 +1,28 @@
+package com.careergate.dto.candidate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A candidate ranked for a job by the local compatibility score: rated skills
+ * against the job's minimums (70%) and total experience against its range (30%).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateMatchResponse {
+    private UUID userId;
+    private String email;
+    private BigDecimal totalExperience;
+    private int compatibilityScore;
+    private int skillMatchScore;
+    private int experienceScore;
+    private int matchedSkills;
+    private int requiredSkills;
+}
@@ -0,0 +1,27 @@
+package com.careergate.dto.candidate;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Query parameters of GET /api/v1/candidates/search. Candidates are ranked by
+ * how close their resume is to the query text, or to the job's description
+ * when jobId is given instead; the other bounds filter.
+ */
+@Data
+public class CandidateSearchRequest {
+    // e.g. "someone who knows Java and has worked on high-scale FinTech"
+    private String query;
+
+    private UUID jobId;
+
+    private BigDecimal minExperience;
+    private BigDecimal maxExperience;
+
+    private BigDecimal maxExpectedCtc;
+    private Integer maxNoticePeriodDays;
+
+    private int size = 20;
+}
@@ -0,0 +1,26 @@
+package com.careergate.dto.candidate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A candidate found by resume similarity; similarity is cosine similarity
+ * between the resume and query embeddings (1 is identical).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResponse {
+    private UUID userId;
+    private String email;
+    private BigDecimal totalExperience;
+    private BigDecimal expectedCtc;
+    private Integer noticePeriodDays;
+    private double similarity;
+}
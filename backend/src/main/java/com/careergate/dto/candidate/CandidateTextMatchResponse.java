@@ -0,0 +1,26 @@
+package com.careergate.dto.candidate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A candidate found by full-text search over resumes. highlight holds the best
+ * fragments of the resume with matched terms wrapped in &lt;mark&gt; tags; the
+ * rest of the text is not escaped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateTextMatchResponse {
+    private UUID userId;
+    private String email;
+    private BigDecimal totalExperience;
+    private String highlight;
+    private float rank;
+}
@@ -0,0 +1,29 @@
+package com.careergate.dto.job;
+
+import com.careergate.entities.JobApplication;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Application list entry with just enough of the job and the candidate to
+ * render a row, selected directly in JPQL instead of serialising entities.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationSummaryResponse {
+    private UUID id;
+    private JobApplication.ApplicationStatus status;
+    private LocalDateTime appliedAt;
+    private UUID jobId;
+    private String jobTitle;
+    private String companyName;
+    private UUID candidateId;
+    private String candidateEmail;
+}
@@ -0,0 +1,21 @@
+package com.careergate.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A job ranked for a candidate by skill overlap alone. skillMatchScore uses the
+ * same per-skill credit as the local compatibility pre-score.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRecommendationResponse {
+    private JobSummaryResponse job;
+    private int skillMatchScore;
+    private int matchedSkills;
+    private int requiredSkills;
+}
@@ -0,0 +1,31 @@
+package com.careergate.dto.job;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Query parameters of GET /api/v1/jobs. Experience and CTC bounds match jobs
+ * whose range overlaps them; every listed skill must be required by the job.
+ */
+@Data
+public class JobSearchRequest {
+    // Matched against title and company name
+    private String keyword;
+
+    private BigDecimal minExperience;
+    private BigDecimal maxExperience;
+
+    private BigDecimal minCtc;
+    private BigDecimal maxCtc;
+
+    private List<String> skills;
+
+    private JobSort sort = JobSort.NEWEST;
+
+    // Opaque value of nextCursor from the previous page
+    private String cursor;
+
+    private int size = 20;
+}
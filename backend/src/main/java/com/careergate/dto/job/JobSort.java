@@ -0,0 +1,54 @@
+package com.careergate.dto.job;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sort orders supported by the job search. Each sorts on one Job attribute,
+ * nulls last if the column is nullable, with the job id as tie-breaker in the
+ * same direction; both are carried in the keyset cursor. Every order matches
+ * one of the V14 (column, id) indexes, null ordering included, read forwards
+ * or (OLDEST) backwards.
+ */
+public enum JobSort {
+    NEWEST("createdAt", true, false),
+    OLDEST("createdAt", false, false),
+    CTC_HIGH("maxCtc", true, true),
+    EXPERIENCE_LOW("minExperience", false, true);
+
+    private final String attribute;
+    private final boolean descending;
+    private final boolean nullable;
+
+    JobSort(String attribute, boolean descending, boolean nullable) {
+        this.attribute = attribute;
+        this.descending = descending;
+        this.nullable = nullable;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public Comparable<?> parseValue(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        return "createdAt".equals(attribute) ? LocalDateTime.parse(value) : new BigDecimal(value);
+    }
+
+    public String formatValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+}
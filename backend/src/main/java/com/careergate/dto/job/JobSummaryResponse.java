@@ -0,0 +1,32 @@
+package com.careergate.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Job list entry: scalar columns, the first part of the description and the
+ * names of the required skills, without loading Job entities.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummaryResponse {
+    private UUID id;
+    private String title;
+    private String companyName;
+    private String description;
+    private BigDecimal minExperience;
+    private BigDecimal maxExperience;
+    private BigDecimal minCtc;
+    private BigDecimal maxCtc;
+    private LocalDateTime createdAt;
+    private List<String> requiredSkills;
+}
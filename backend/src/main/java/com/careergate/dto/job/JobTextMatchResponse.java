@@ -0,0 +1,21 @@
+package com.careergate.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A job found by full-text search. highlight holds the best fragments of the
+ * description with matched terms wrapped in &lt;mark&gt; tags; the rest of
+ * the text is not escaped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobTextMatchResponse {
+    private JobSummaryResponse job;
+    private String highlight;
+    private float rank;
+}
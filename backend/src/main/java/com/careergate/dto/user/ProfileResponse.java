@@ -20,6 +20,8 @@ public class ProfileResponse {
     private String resumeFilePath;
     private String resumeUrl;
     private List<SkillResponse> skills;
+    // Detected in the resume text at upload, most mentioned first
+    private List<ResumeSkillResponse> resumeSkills;
 
     @Data
     @Builder
@@ -29,4 +31,13 @@ public class ProfileResponse {
         private String skill;
         private Integer rating;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResumeSkillResponse {
+        private String skill;
+        private Integer occurrences;
+    }
 }
@@ -0,0 +1,48 @@
+package com.careergate.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running totals behind the candidate dashboard. Written only through the
+ * upserts in CandidateStatisticsRepository, never by dirty checking.
+ */
+@Entity
+@Table(name = "candidate_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateStatistics {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "compatibility_sum", nullable = false)
+    private long compatibilitySum;
+
+    @Column(name = "compatibility_count", nullable = false)
+    private int compatibilityCount;
+
+    @Column(name = "skill_score_sum", nullable = false)
+    private long skillScoreSum;
+
+    @Column(name = "skill_score_count", nullable = false)
+    private int skillScoreCount;
+
+    @Column(name = "jobs_evaluated", nullable = false)
+    private int jobsEvaluated;
+
+    @Column(name = "roadmap_count", nullable = false)
+    private int roadmapCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.careergate.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -47,10 +49,56 @@ public class CompatibilityResult {
     @Column(name = "experience_match_score")
     private Integer experienceMatchScore;
 
+    // Set on insert, and moved forward when a recruiter batch row is re-scored in place
     @CreationTimestamp
-    @Column(name = "evaluated_at", updatable = false)
+    @Column(name = "evaluated_at")
     private LocalDateTime evaluatedAt;
 
     @Column(name = "ai_analysis_summary", columnDefinition = "TEXT")
     private String aiAnalysisSummary;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private AnalysisStatus status = AnalysisStatus.COMPLETED;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean precomputed = false;
+
+    // Scored by a recruiter's batch rather than requested by the candidate
+    @Column(name = "recruiter_batch", nullable = false)
+    @Builder.Default
+    private boolean recruiterBatch = false;
+
+    // Instance queueing the analysis and its last heartbeat. Written on insert; afterwards only by the
+    // queue's own UPDATEs, so that saving the entity never undoes a claim taken by another instance.
+    // Both are database time, like the heartbeats, so that instances with skewed clocks agree on staleness
+    @Column(name = "claimed_by", updatable = false)
+    @JsonIgnore
+    private String claimedBy;
+
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "heartbeat_at", updatable = false)
+    @JsonIgnore
+    private LocalDateTime heartbeatAt;
+
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @Column(name = "analysis_source")
+    @Enumerated(EnumType.STRING)
+    private AnalysisSource analysisSource;
+
+    public enum AnalysisStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public enum AnalysisSource {
+        AI, LOCAL
+    }
 }
@@ -57,6 +57,6 @@ public class Job {
     private BigDecimal maxCtc;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 }
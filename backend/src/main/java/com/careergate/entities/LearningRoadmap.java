@@ -1,5 +1,6 @@
 package com.careergate.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -34,6 +35,10 @@ public class LearningRoadmap {
     @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "recruiter", "requiredSkills", "description" })
     private Job job;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
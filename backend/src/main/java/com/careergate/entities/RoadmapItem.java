@@ -1,5 +1,6 @@
 package com.careergate.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -51,4 +52,9 @@ public class RoadmapItem {
 
     @Column(name = "course_link")
     private String courseLink; // Kept for backward compatibility
+
+    // Set while a streamed generation is in progress; null once the item is live
+    @JsonIgnore
+    @Column(name = "generation")
+    private UUID generation;
 }
@@ -0,0 +1,46 @@
+package com.careergate.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "roadmap_template")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoadmapTemplate {
+
+    @Id
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false)
+    private Integer promptVersion;
+
+    @Column(name = "roadmap_json", nullable = false, columnDefinition = "TEXT")
+    private String roadmapJson;
+
+    @Builder.Default
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount = 0L;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_hit_at")
+    private LocalDateTime lastHitAt;
+}
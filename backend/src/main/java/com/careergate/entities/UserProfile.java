@@ -46,6 +46,9 @@ public class UserProfile {
     @Column(name = "resume_text", columnDefinition = "TEXT")
     private String resumeText;
 
+    @Column(name = "resume_text_compact", columnDefinition = "TEXT")
+    private String compactResumeText;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
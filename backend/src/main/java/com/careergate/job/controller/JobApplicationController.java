@@ -1,13 +1,14 @@
 package com.careergate.job.controller;
 
 import com.careergate.common.response.ApiResponse;
+import com.careergate.common.response.CursorPage;
+import com.careergate.dto.job.JobApplicationSummaryResponse;
 import com.careergate.entities.JobApplication;
 import com.careergate.job.service.JobApplicationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -27,8 +28,11 @@ public class JobApplicationController {
     }
 
     @GetMapping("/my-applications")
-    public ResponseEntity<ApiResponse<List<JobApplication>>> getMyApplications(Principal principal) {
-        List<JobApplication> applications = jobApplicationService.getMyApplications(principal.getName());
+    public ResponseEntity<ApiResponse<CursorPage<JobApplicationSummaryResponse>>> getMyApplications(
+            Principal principal, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<JobApplicationSummaryResponse> applications = jobApplicationService
+                .getMyApplications(principal.getName(), cursor, size);
         return ResponseEntity.ok(ApiResponse.success(applications, "Applications fetched successfully"));
     }
 
@@ -39,8 +43,11 @@ public class JobApplicationController {
     }
 
     @GetMapping("/job/{jobId}")
-    public ResponseEntity<ApiResponse<List<JobApplication>>> getApplicationsForJob(@PathVariable UUID jobId) {
-        List<JobApplication> applications = jobApplicationService.getApplicationsForJob(jobId);
+    public ResponseEntity<ApiResponse<CursorPage<JobApplicationSummaryResponse>>> getApplicationsForJob(
+            @PathVariable UUID jobId, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<JobApplicationSummaryResponse> applications = jobApplicationService
+                .getApplicationsForJob(jobId, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(applications, "Applications for job fetched successfully"));
     }
 }
@@ -1,7 +1,12 @@
 package com.careergate.job.controller;
 
 import com.careergate.common.response.ApiResponse;
+import com.careergate.common.response.CursorPage;
 import com.careergate.dto.job.JobCreateRequest;
+import com.careergate.dto.job.JobRecommendationResponse;
+import com.careergate.dto.job.JobSearchRequest;
+import com.careergate.dto.job.JobSummaryResponse;
+import com.careergate.dto.job.JobTextMatchResponse;
 import com.careergate.entities.Job;
 import com.careergate.job.service.JobService;
 import jakarta.validation.Valid;
@@ -31,17 +36,32 @@ public class JobController {
     }
 
     @GetMapping("/my-jobs")
-    public ResponseEntity<ApiResponse<List<Job>>> getRecruiterJobs(Principal principal) {
-        List<Job> jobs = jobService.getRecruiterJobs(principal.getName());
+    public ResponseEntity<ApiResponse<CursorPage<JobSummaryResponse>>> getRecruiterJobs(Principal principal,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size) {
+        CursorPage<JobSummaryResponse> jobs = jobService.getRecruiterJobs(principal.getName(), cursor, size);
         return ResponseEntity.ok(ApiResponse.success(jobs, "Recruiter jobs fetched successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Job>>> getAllJobs() {
-        List<Job> jobs = jobService.getAllJobs();
+    public ResponseEntity<ApiResponse<CursorPage<JobSummaryResponse>>> searchJobs(JobSearchRequest request) {
+        CursorPage<JobSummaryResponse> jobs = jobService.searchJobs(request);
         return ResponseEntity.ok(ApiResponse.success(jobs, "Jobs fetched successfully"));
     }
 
+    @GetMapping("/text-search")
+    public ResponseEntity<ApiResponse<CursorPage<JobTextMatchResponse>>> searchJobsByText(@RequestParam String q,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size) {
+        CursorPage<JobTextMatchResponse> jobs = jobService.searchJobsByText(q, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(jobs, "Jobs fetched successfully"));
+    }
+
+    @GetMapping("/recommended")
+    public ResponseEntity<ApiResponse<List<JobRecommendationResponse>>> getRecommendedJobs(Principal principal,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<JobRecommendationResponse> jobs = jobService.recommendJobs(principal.getName(), limit);
+        return ResponseEntity.ok(ApiResponse.success(jobs, "Recommended jobs fetched successfully"));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Job>> getJobById(@PathVariable UUID id) {
         Job job = jobService.getJobById(id);
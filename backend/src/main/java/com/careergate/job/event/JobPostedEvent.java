@@ -0,0 +1,16 @@
+package com.careergate.job.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that creates a job; listeners that need the
+ * job and its required skills to be visible should run after commit.
+ */
+@Data
+@AllArgsConstructor
+public class JobPostedEvent {
+    private UUID jobId;
+}
@@ -0,0 +1,16 @@
+package com.careergate.job.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that updates a job and replaces its
+ * required skills.
+ */
+@Data
+@AllArgsConstructor
+public class JobUpdatedEvent {
+    private UUID jobId;
+}
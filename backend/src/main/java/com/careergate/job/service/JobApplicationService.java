@@ -1,20 +1,29 @@
 package com.careergate.job.service;
 
+import com.careergate.common.response.CursorPage;
+import com.careergate.common.response.Cursors;
+import com.careergate.dto.job.JobApplicationSummaryResponse;
 import com.careergate.entities.Job;
 import com.careergate.entities.JobApplication;
 import com.careergate.entities.User;
 import com.careergate.repositories.JobApplicationRepository;
 import com.careergate.repositories.JobRepository;
 import com.careergate.repositories.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class JobApplicationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final JobApplicationRepository jobApplicationRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
@@ -49,14 +58,60 @@ public class JobApplicationService {
         return jobApplicationRepository.save(application);
     }
 
-    public List<JobApplication> getMyApplications(String email) {
+    public CursorPage<JobApplicationSummaryResponse> getMyApplications(String email, String cursor, int size) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return jobApplicationRepository.findByCandidateIdOrderByAppliedAtDesc(user.getId());
+        return page(cursor, size,
+                pageable -> jobApplicationRepository.findSummariesByCandidateId(user.getId(), pageable),
+                (appliedAt, id, pageable) -> jobApplicationRepository.findSummariesByCandidateIdAfter(user.getId(),
+                        appliedAt, id, pageable));
+    }
+
+    public CursorPage<JobApplicationSummaryResponse> getApplicationsForJob(UUID jobId, String cursor, int size) {
+        return page(cursor, size,
+                pageable -> jobApplicationRepository.findSummariesByJobId(jobId, pageable),
+                (appliedAt, id, pageable) -> jobApplicationRepository.findSummariesByJobIdAfter(jobId, appliedAt, id,
+                        pageable));
+    }
+
+    // Newest first; the cursor is the (appliedAt, id) of the last row returned
+    private static CursorPage<JobApplicationSummaryResponse> page(String cursor, int size,
+            Function<Pageable, List<JobApplicationSummaryResponse>> first, AfterQuery after) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, CursorPage.fetchSize(size));
+        List<JobApplicationSummaryResponse> applications;
+        if (cursor == null || cursor.isBlank()) {
+            applications = first.apply(pageable);
+        } else {
+            String[] parts = Cursors.decode(cursor, 2);
+            LocalDateTime appliedAt;
+            UUID id;
+            try {
+                appliedAt = LocalDateTime.parse(parts[0]);
+                id = UUID.fromString(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            applications = after.find(appliedAt, id, pageable);
+        }
+
+        boolean hasMore = CursorPage.hasMore(applications, size);
+        applications = CursorPage.trim(applications, size);
+        String nextCursor = null;
+        if (hasMore) {
+            JobApplicationSummaryResponse last = applications.get(applications.size() - 1);
+            nextCursor = Cursors.encode(last.getAppliedAt().toString(), last.getId().toString());
+        }
+        return CursorPage.<JobApplicationSummaryResponse>builder()
+                .items(applications)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
-    public List<JobApplication> getApplicationsForJob(UUID jobId) {
-        return jobApplicationRepository.findByJobIdOrderByAppliedAtDesc(jobId);
+    @FunctionalInterface
+    private interface AfterQuery {
+        List<JobApplicationSummaryResponse> find(LocalDateTime appliedAt, UUID id, Pageable pageable);
     }
 
     public boolean hasApplied(String email, UUID jobId) {
@@ -1,29 +1,61 @@
 package com.careergate.job.service;
 
+import com.careergate.common.response.CursorPage;
+import com.careergate.common.response.Cursors;
 import com.careergate.dto.job.JobCreateRequest;
+import com.careergate.dto.job.JobRecommendationResponse;
 import com.careergate.dto.job.JobRequiredSkillRequest;
+import com.careergate.dto.job.JobSearchRequest;
+import com.careergate.dto.job.JobSort;
+import com.careergate.dto.job.JobSummaryResponse;
+import com.careergate.dto.job.JobTextMatchResponse;
 import com.careergate.entities.*;
+import com.careergate.job.event.JobPostedEvent;
+import com.careergate.job.event.JobUpdatedEvent;
 import com.careergate.repositories.*;
+import com.careergate.skill.service.SkillDictionary;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class JobService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RECOMMENDATIONS = 100;
+
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
-    private final SkillRepository skillRepository;
+    private final SkillDictionary skillDictionary;
     private final JobRequiredSkillRepository jobRequiredSkillRepository;
+    private final UserSkillRepository userSkillRepository;
+    private final JobSkillIndex jobSkillIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public JobService(JobRepository jobRepository, UserRepository userRepository,
-            SkillRepository skillRepository, JobRequiredSkillRepository jobRequiredSkillRepository) {
+            SkillDictionary skillDictionary, JobRequiredSkillRepository jobRequiredSkillRepository,
+            UserSkillRepository userSkillRepository, JobSkillIndex jobSkillIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
-        this.skillRepository = skillRepository;
+        this.skillDictionary = skillDictionary;
         this.jobRequiredSkillRepository = jobRequiredSkillRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.jobSkillIndex = jobSkillIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -43,29 +75,208 @@ public class JobService {
 
         Job savedJob = jobRepository.save(job);
 
-        for (JobRequiredSkillRequest skillReq : request.getRequiredSkills()) {
-            Skill skill = skillRepository.findByNameIgnoreCase(skillReq.getSkill())
-                    .orElseGet(() -> skillRepository
-                            .save(Skill.builder().name(skillReq.getSkill().toUpperCase()).build()));
+        saveRequiredSkills(savedJob, request.getRequiredSkills());
+        eventPublisher.publishEvent(new JobPostedEvent(savedJob.getId()));
+        return savedJob.getId();
+    }
 
-            JobRequiredSkill jobRequiredSkill = JobRequiredSkill.builder()
-                    .job(savedJob)
-                    .skill(skill)
-                    .minRating(skillReq.getMinRating())
-                    .build();
-            jobRequiredSkillRepository.save(jobRequiredSkill);
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummaryResponse> getRecruiterJobs(String email, String cursor, int size) {
+        User recruiter = userRepository.findByEmail(email).orElseThrow();
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime afterCreatedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = Cursors.decode(cursor, 2);
+            try {
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
         }
 
-        return savedJob.getId();
+        List<JobSummaryResponse> jobs = jobRepository.findSummariesByRecruiter(recruiter.getId(), afterCreatedAt,
+                afterId, CursorPage.fetchSize(size));
+        boolean hasMore = CursorPage.hasMore(jobs, size);
+        jobs = CursorPage.trim(jobs, size);
+        addSkillNames(jobs.stream().collect(Collectors.toMap(JobSummaryResponse::getId, Function.identity())));
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobSummaryResponse last = jobs.get(jobs.size() - 1);
+            nextCursor = Cursors.encode(last.getCreatedAt().toString(), last.getId().toString());
+        }
+        return CursorPage.<JobSummaryResponse>builder()
+                .items(jobs)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
-    public List<Job> getRecruiterJobs(String email) {
-        User recruiter = userRepository.findByEmail(email).orElseThrow();
-        return jobRepository.findByRecruiterIdOrderByCreatedAtDesc(recruiter.getId());
+    /**
+     * One keyset page of job summaries. The cursor encodes the sort, and the sort
+     * value and id of the last row returned, so the next page starts right after
+     * it even while new jobs are being posted.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummaryResponse> searchJobs(JobSearchRequest request) {
+        if (request.getSort() == null) {
+            request.setSort(JobSort.NEWEST);
+        }
+        int size = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+
+        Set<UUID> skillIds = new LinkedHashSet<>();
+        if (request.getSkills() != null) {
+            for (String name : request.getSkills()) {
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                Optional<Skill> skill = skillDictionary.find(name);
+                if (skill.isEmpty()) {
+                    // No job can require a skill that does not exist
+                    return CursorPage.<JobSummaryResponse>builder().items(List.of()).hasMore(false).build();
+                }
+                skillIds.add(skill.get().getId());
+            }
+        }
+
+        Comparable<?> afterValue = null;
+        UUID afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = Cursors.decode(request.getCursor(), 3);
+            if (!parts[0].equals(request.getSort().name())) {
+                throw new RuntimeException("Cursor does not belong to sort " + request.getSort());
+            }
+            try {
+                afterValue = request.getSort().parseValue(parts[1]);
+                afterId = UUID.fromString(parts[2]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        List<JobSummaryResponse> jobs = jobRepository.search(request, skillIds, afterValue, afterId,
+                CursorPage.fetchSize(size));
+        boolean hasMore = CursorPage.hasMore(jobs, size);
+        jobs = CursorPage.trim(jobs, size);
+
+        Map<UUID, JobSummaryResponse> byId = jobs.stream()
+                .collect(Collectors.toMap(JobSummaryResponse::getId, Function.identity()));
+        addSkillNames(byId);
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobSummaryResponse last = jobs.get(jobs.size() - 1);
+            Object lastValue = switch (request.getSort()) {
+                case NEWEST, OLDEST -> last.getCreatedAt();
+                case CTC_HIGH -> last.getMaxCtc();
+                case EXPERIENCE_LOW -> last.getMinExperience();
+            };
+            nextCursor = Cursors.encode(request.getSort().name(), request.getSort().formatValue(lastValue),
+                    last.getId().toString());
+        }
+        return CursorPage.<JobSummaryResponse>builder()
+                .items(jobs)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    /**
+     * Full-text search over title, company and description, best match first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobTextMatchResponse> searchJobsByText(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Float afterRank = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = Cursors.decode(cursor, 3);
+            try {
+                afterRank = Float.valueOf(parts[1]);
+                afterId = UUID.fromString(parts[2]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        List<Object[]> rows = jobRepository.searchByText(query, afterRank, afterId,
+                CursorPage.fetchSize(size));
+        boolean hasMore = CursorPage.hasMore(rows, size);
+        rows = CursorPage.trim(rows, size);
+
+        Map<UUID, JobSummaryResponse> byId = jobRepository.findSummariesByIds(
+                rows.stream().map(row -> (UUID) row[0]).toList()).stream()
+                .collect(Collectors.toMap(JobSummaryResponse::getId, Function.identity()));
+        addSkillNames(byId);
+
+        List<JobTextMatchResponse> matches = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            matches.add(JobTextMatchResponse.builder()
+                    .job(byId.get((UUID) row[0]))
+                    .rank(((Number) row[1]).floatValue())
+                    .highlight((String) row[2])
+                    .build());
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobTextMatchResponse last = matches.get(matches.size() - 1);
+            nextCursor = Cursors.encode("TEXT", Float.toString(last.getRank()), last.getJob().getId().toString());
+        }
+        return CursorPage.<JobTextMatchResponse>builder()
+                .items(matches)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Jobs ranked by how well the candidate's rated skills cover their
+     * requirements, answered from the in-memory skill index.
+     */
+    @Transactional(readOnly = true)
+    public List<JobRecommendationResponse> recommendJobs(String email, int limit) {
+        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+        Map<UUID, Integer> ratings = new HashMap<>();
+        for (UserSkill us : userSkillRepository.findByUserId(user.getId())) {
+            ratings.put(us.getSkill().getId(), us.getRating());
+        }
+
+        List<JobSkillIndex.JobMatch> matches = jobSkillIndex.topMatches(ratings,
+                Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS)));
+        Map<UUID, JobSummaryResponse> byId = jobRepository.findSummariesByIds(
+                matches.stream().map(JobSkillIndex.JobMatch::getJobId).toList()).stream()
+                .collect(Collectors.toMap(JobSummaryResponse::getId, Function.identity()));
+        addSkillNames(byId);
+
+        List<JobRecommendationResponse> recommendations = new ArrayList<>(matches.size());
+        for (JobSkillIndex.JobMatch match : matches) {
+            JobSummaryResponse job = byId.get(match.getJobId());
+            if (job == null) {
+                continue; // deleted since it was indexed
+            }
+            recommendations.add(JobRecommendationResponse.builder()
+                    .job(job)
+                    .skillMatchScore(match.getSkillMatchScore())
+                    .matchedSkills(match.getMatchedSkills())
+                    .requiredSkills(match.getRequiredSkills())
+                    .build());
+        }
+        return recommendations;
+    }
+
+    private void addSkillNames(Map<UUID, JobSummaryResponse> byId) {
+        if (byId.isEmpty()) {
+            return;
+        }
+        for (Object[] row : jobRequiredSkillRepository.findSkillNamesByJobIdIn(byId.keySet())) {
+            byId.get((UUID) row[0]).getRequiredSkills().add((String) row[1]);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -104,19 +315,37 @@ public class JobService {
         jobRequiredSkillRepository.flush();
         job.getRequiredSkills().clear();
 
-        for (JobRequiredSkillRequest skillReq : request.getRequiredSkills()) {
-            Skill skill = skillRepository.findByNameIgnoreCase(skillReq.getSkill())
-                    .orElseGet(() -> skillRepository
-                            .save(Skill.builder().name(skillReq.getSkill().toUpperCase()).build()));
+        saveRequiredSkills(job, request.getRequiredSkills());
+        jobRepository.clearEmbedding(jobId);
+        Job saved = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobUpdatedEvent(saved.getId()));
+        return saved;
+    }
+
+    private void saveRequiredSkills(Job job, List<JobRequiredSkillRequest> skillRequests) {
+        // Aliases of one skill ("K8s", "Kubernetes") collapse to the strictest requirement
+        Map<String, JobRequiredSkillRequest> uniqueSkills = new LinkedHashMap<>();
+        for (JobRequiredSkillRequest skillReq : skillRequests) {
+            uniqueSkills.merge(skillDictionary.canonicalKey(skillReq.getSkill()), skillReq,
+                    (kept, other) -> rating(other) > rating(kept) ? other : kept);
+        }
+
+        Map<String, Skill> skills = skillDictionary.resolveAll(uniqueSkills.values().stream()
+                .map(JobRequiredSkillRequest::getSkill)
+                .toList());
 
-            JobRequiredSkill jobRequiredSkill = JobRequiredSkill.builder()
+        List<JobRequiredSkill> requiredSkills = new ArrayList<>();
+        for (JobRequiredSkillRequest skillReq : uniqueSkills.values()) {
+            requiredSkills.add(JobRequiredSkill.builder()
                     .job(job)
-                    .skill(skill)
+                    .skill(skills.get(SkillDictionary.normalise(skillReq.getSkill())))
                     .minRating(skillReq.getMinRating())
-                    .build();
-            jobRequiredSkillRepository.save(jobRequiredSkill);
+                    .build());
         }
+        jobRequiredSkillRepository.saveAll(requiredSkills);
+    }
 
-        return jobRepository.save(job);
+    private static int rating(JobRequiredSkillRequest request) {
+        return request.getMinRating() != null ? request.getMinRating() : 0;
     }
 }
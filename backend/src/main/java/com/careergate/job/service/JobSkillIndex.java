@@ -0,0 +1,328 @@
+package com.careergate.job.service;
+
+import com.careergate.common.collect.TopKLongs;
+import com.careergate.compatibility.service.LocalCompatibilityScorer;
+import com.careergate.job.event.JobPostedEvent;
+import com.careergate.job.event.JobUpdatedEvent;
+import com.careergate.repositories.JobRequiredSkillRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index from skill to the jobs requiring it, used to rank
+ * jobs for a candidate without an LLM call or a database scan.
+ *
+ * Jobs get a dense int ordinal in load/creation order. Each skill maps to an
+ * immutable posting list: the sorted ordinals of the jobs requiring it and,
+ * in a parallel byte array, each job's minimum rating (5 bytes per posting).
+ * Ranking merges the candidate's posting lists in ordinal order, scores every
+ * job as it is completed and keeps the best in a fixed-size heap of primitive
+ * longs, so a request costs O(postings touched * log skills) with no per-job
+ * allocation.
+ *
+ * The index is loaded at startup and kept current from the job created/updated
+ * events after commit. Writers replace whole posting lists (copy-on-write), so
+ * readers never lock.
+ */
+@Service
+@Slf4j
+public class JobSkillIndex {
+
+    private static final String LOAD_SQL = """
+            SELECT job_id, skill_id, min_rating
+            FROM job_required_skills
+            ORDER BY job_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRequiredSkillRepository jobRequiredSkillRepository;
+
+    private final Map<UUID, Postings> bySkill = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    // Indexed by ordinal; replaced when grown, entries past the job count are unused
+    private volatile UUID[] jobIds = new UUID[1024];
+    private volatile int[] requiredCounts = new int[1024];
+    private int jobCount;
+
+    public JobSkillIndex(JdbcTemplate jdbcTemplate, JobRequiredSkillRepository jobRequiredSkillRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRequiredSkillRepository = jobRequiredSkillRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<UUID, PostingsBuilder> builders = new HashMap<>();
+        bySkill.clear();
+        ordinals.clear();
+        jobIds = new UUID[1024];
+        requiredCounts = new int[1024];
+        jobCount = 0;
+
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            int ordinal = ordinalOf(rs.getObject("job_id", UUID.class));
+            requiredCounts[ordinal]++;
+            builders.computeIfAbsent(rs.getObject("skill_id", UUID.class), k -> new PostingsBuilder())
+                    .add(ordinal, rs.getInt("min_rating"));
+        });
+        builders.forEach((skillId, builder) -> bySkill.put(skillId, builder.build()));
+        log.info("Job skill index built with {} jobs and {} skills in {} ms", jobCount, bySkill.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onJobPosted(JobPostedEvent event) {
+        reindex(event.getJobId());
+    }
+
+    @TransactionalEventListener
+    public void onJobUpdated(JobUpdatedEvent event) {
+        reindex(event.getJobId());
+    }
+
+    /**
+     * Replaces the job's postings with its current required skills.
+     */
+    public synchronized void reindex(UUID jobId) {
+        Map<UUID, Integer> required = new HashMap<>();
+        for (Object[] row : jobRequiredSkillRepository.findSkillIdsAndMinRatingsByJobId(jobId)) {
+            required.put((UUID) row[0], row[1] != null ? (Integer) row[1] : 1);
+        }
+
+        int ordinal = ordinalOf(jobId);
+        for (Map.Entry<UUID, Postings> entry : bySkill.entrySet()) {
+            if (!required.containsKey(entry.getKey()) && entry.getValue().indexOf(ordinal) >= 0) {
+                entry.setValue(entry.getValue().without(ordinal));
+            }
+        }
+        required.forEach((skillId, minRating) -> bySkill.merge(skillId, Postings.of(ordinal, minRating),
+                (postings, single) -> postings.with(ordinal, minRating)));
+        requiredCounts[ordinal] = required.size();
+    }
+
+    /**
+     * Jobs sharing at least one skill with the candidate, best match first.
+     * ratings maps skill id to the candidate's self-rating.
+     */
+    public List<JobMatch> topMatches(Map<UUID, Integer> ratings, int limit) {
+        int lists = 0;
+        Postings[] postings = new Postings[ratings.size()];
+        int[] userRatings = new int[ratings.size()];
+        for (Map.Entry<UUID, Integer> entry : ratings.entrySet()) {
+            Postings p = bySkill.get(entry.getKey());
+            if (p != null && p.size() > 0) {
+                postings[lists] = p;
+                userRatings[lists++] = entry.getValue() != null ? entry.getValue() : 0;
+            }
+        }
+
+        // Read after the postings: a job is added to the arrays (grown if needed) before any
+        // posting refers to it, so these cover every ordinal seen above. Only a concurrent
+        // rebuild() can shrink them, and its stale ordinals are skipped below.
+        UUID[] ids = jobIds;
+        int[] counts = requiredCounts;
+
+        // Min-heap of list indexes keyed by the ordinal under each list's cursor
+        int[] cursor = new int[lists];
+        int[] heap = new int[lists];
+        for (int i = 0; i < lists; i++) {
+            heap[i] = i;
+        }
+        int heapSize = lists;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, postings, cursor);
+        }
+
+        TopKLongs top = new TopKLongs(limit);
+        int current = -1;
+        long credit = 0;
+        int matched = 0;
+        while (heapSize > 0) {
+            int list = heap[0];
+            Postings p = postings[list];
+            int ordinal = p.ordinals[cursor[list]];
+            if (ordinal != current) {
+                if (current >= 0 && current < counts.length) {
+                    top.offer(rankKey(current, credit, matched, counts[current]));
+                }
+                current = ordinal;
+                credit = 0;
+                matched = 0;
+            }
+            int minRating = Math.max(p.minRatings[cursor[list]], 1);
+            credit += LocalCompatibilityScorer.skillCredit(userRatings[list], minRating);
+            if (userRatings[list] >= minRating) {
+                matched++;
+            }
+
+            if (++cursor[list] == p.size()) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, postings, cursor);
+        }
+        if (current >= 0 && current < counts.length) {
+            top.offer(rankKey(current, credit, matched, counts[current]));
+        }
+
+        long[] ranked = top.toSortedArray();
+        List<JobMatch> matches = new ArrayList<>(ranked.length);
+        for (long key : ranked) {
+            int ordinal = (int) key;
+            if (ordinal >= ids.length || ids[ordinal] == null) {
+                continue;
+            }
+            matches.add(new JobMatch(ids[ordinal], (int) (key >>> 48), (int) ((key >>> 32) & 0x7FFF),
+                    counts[ordinal]));
+        }
+        return matches;
+    }
+
+    // Score, then matched skills, then ordinal so that ties go to newer jobs
+    private static long rankKey(int ordinal, long credit, int matched, int required) {
+        int score = LocalCompatibilityScorer.skillScore(credit, Math.max(required, 1));
+        return ((long) score << 48) | ((long) Math.min(matched, 0x7FFF) << 32) | ordinal;
+    }
+
+    private static void siftDown(int[] heap, int size, int i, Postings[] postings, int[] cursor) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && head(heap[left], postings, cursor) < head(heap[smallest], postings, cursor)) {
+                smallest = left;
+            }
+            if (right < size && head(heap[right], postings, cursor) < head(heap[smallest], postings, cursor)) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = tmp;
+            i = smallest;
+        }
+    }
+
+    private static int head(int list, Postings[] postings, int[] cursor) {
+        return postings[list].ordinals[cursor[list]];
+    }
+
+    // Callers hold the monitor
+    private int ordinalOf(UUID jobId) {
+        Integer existing = ordinals.get(jobId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = jobCount++;
+        if (ordinal == jobIds.length) {
+            // Publish the larger arrays only once they hold everything the old ones did
+            int[] counts = Arrays.copyOf(requiredCounts, ordinal * 2);
+            UUID[] ids = Arrays.copyOf(jobIds, ordinal * 2);
+            requiredCounts = counts;
+            jobIds = ids;
+        }
+        jobIds[ordinal] = jobId;
+        ordinals.put(jobId, ordinal);
+        return ordinal;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class JobMatch {
+        private UUID jobId;
+        // Same skill credit as LocalCompatibilityScorer: min(rating / required, 1) averaged over required skills
+        private int skillMatchScore;
+        private int matchedSkills;
+        private int requiredSkills;
+    }
+
+    /**
+     * Immutable posting list of one skill, sorted by job ordinal.
+     */
+    private static final class Postings {
+        private final int[] ordinals;
+        private final byte[] minRatings;
+
+        private Postings(int[] ordinals, byte[] minRatings) {
+            this.ordinals = ordinals;
+            this.minRatings = minRatings;
+        }
+
+        static Postings of(int ordinal, int minRating) {
+            return new Postings(new int[] { ordinal }, new byte[] { (byte) minRating });
+        }
+
+        int size() {
+            return ordinals.length;
+        }
+
+        int indexOf(int ordinal) {
+            return Arrays.binarySearch(ordinals, ordinal);
+        }
+
+        Postings with(int ordinal, int minRating) {
+            int index = indexOf(ordinal);
+            if (index >= 0) {
+                byte[] ratings = minRatings.clone();
+                ratings[index] = (byte) minRating;
+                return new Postings(ordinals, ratings);
+            }
+            int at = -index - 1;
+            int[] newOrdinals = new int[ordinals.length + 1];
+            byte[] newRatings = new byte[ordinals.length + 1];
+            System.arraycopy(ordinals, 0, newOrdinals, 0, at);
+            System.arraycopy(minRatings, 0, newRatings, 0, at);
+            newOrdinals[at] = ordinal;
+            newRatings[at] = (byte) minRating;
+            System.arraycopy(ordinals, at, newOrdinals, at + 1, ordinals.length - at);
+            System.arraycopy(minRatings, at, newRatings, at + 1, ordinals.length - at);
+            return new Postings(newOrdinals, newRatings);
+        }
+
+        Postings without(int ordinal) {
+            int at = indexOf(ordinal);
+            int[] newOrdinals = new int[ordinals.length - 1];
+            byte[] newRatings = new byte[ordinals.length - 1];
+            System.arraycopy(ordinals, 0, newOrdinals, 0, at);
+            System.arraycopy(minRatings, 0, newRatings, 0, at);
+            System.arraycopy(ordinals, at + 1, newOrdinals, at, ordinals.length - at - 1);
+            System.arraycopy(minRatings, at + 1, newRatings, at, ordinals.length - at - 1);
+            return new Postings(newOrdinals, newRatings);
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private int[] ordinals = new int[8];
+        private byte[] minRatings = new byte[8];
+        private int size;
+
+        // Rows arrive grouped by job, so ordinals are appended in increasing order
+        void add(int ordinal, int minRating) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                minRatings = Arrays.copyOf(minRatings, size * 2);
+            }
+            ordinals[size] = ordinal;
+            minRatings[size++] = (byte) minRating;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ordinals, size), Arrays.copyOf(minRatings, size));
+        }
+    }
+}
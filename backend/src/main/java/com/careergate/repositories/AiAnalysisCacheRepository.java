@@ -0,0 +1,51 @@
+package com.careergate.repositories;
+
+import com.careergate.entities.AiAnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface AiAnalysisCacheRepository extends JpaRepository<AiAnalysisCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiAnalysisCacheEntry e SET e.hitCount = e.hitCount + 1, e.lastHitAt = CURRENT_TIMESTAMP WHERE e.cacheKey = :cacheKey")
+    void recordHit(String cacheKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE ai_analysis_cache SET skills_hash = :skillsHash, "
+            + "resume_embedding = CAST(:resumeEmbedding AS vector), job_embedding = CAST(:jobEmbedding AS vector) "
+            + "WHERE cache_key = :cacheKey", nativeQuery = true)
+    void updateEmbeddings(String cacheKey, String skillsHash, String resumeEmbedding, String jobEmbedding);
+
+    /**
+     * Nearest cached analysis by resume embedding among the entries with the same
+     * model and skills hash, with both the resume and the job description within
+     * maxDistance. The skills hash is scoped to one candidate, so the btree lookup
+     * on it yields a handful of rows whose distances are computed exactly; the
+     * CTE is materialized so that the planner cannot turn the ORDER BY into an
+     * approximate nearest-neighbour scan over every user's entries.
+     */
+    @Query(value = """
+            WITH c AS MATERIALIZED (
+                SELECT cache_key,
+                       resume_embedding <=> CAST(:resumeEmbedding AS vector) AS resume_distance,
+                       job_embedding <=> CAST(:jobEmbedding AS vector) AS job_distance
+                FROM ai_analysis_cache
+                WHERE skills_hash = :skillsHash AND model = :model
+                  AND resume_embedding IS NOT NULL AND job_embedding IS NOT NULL
+            )
+            SELECT cache_key FROM c
+            WHERE resume_distance <= :maxDistance AND job_distance <= :maxDistance
+            ORDER BY resume_distance
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<String> findNearestKey(String model, String skillsHash, String resumeEmbedding, String jobEmbedding,
+            double maxDistance);
+}
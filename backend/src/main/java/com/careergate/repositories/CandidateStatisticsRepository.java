@@ -0,0 +1,72 @@
+package com.careergate.repositories;
+
+import com.careergate.entities.CandidateStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CandidateStatisticsRepository extends JpaRepository<CandidateStatistics, UUID> {
+
+    // Resolves the user through the unique email index and reads the stats row by key, in one statement
+    @Query("SELECT s FROM CandidateStatistics s WHERE s.userId = (SELECT u.id FROM User u WHERE u.email = :email)")
+    Optional<CandidateStatistics> findByUserEmail(String email);
+
+    // Row-locked increment; concurrent writers for the same user serialise on the row, not the table
+    @Modifying
+    @Query(value = """
+            INSERT INTO candidate_stats (user_id, compatibility_sum, compatibility_count, skill_score_sum,
+                    skill_score_count, jobs_evaluated, roadmap_count, updated_at)
+            VALUES (:userId, :compatibilitySum, :compatibilityCount, :skillScoreSum,
+                    :skillScoreCount, :jobsEvaluated, :roadmapCount, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id) DO UPDATE SET
+                compatibility_sum = candidate_stats.compatibility_sum + EXCLUDED.compatibility_sum,
+                compatibility_count = candidate_stats.compatibility_count + EXCLUDED.compatibility_count,
+                skill_score_sum = candidate_stats.skill_score_sum + EXCLUDED.skill_score_sum,
+                skill_score_count = candidate_stats.skill_score_count + EXCLUDED.skill_score_count,
+                jobs_evaluated = candidate_stats.jobs_evaluated + EXCLUDED.jobs_evaluated,
+                roadmap_count = candidate_stats.roadmap_count + EXCLUDED.roadmap_count,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void add(UUID userId, long compatibilitySum, int compatibilityCount, long skillScoreSum, int skillScoreCount,
+            int jobsEvaluated, int roadmapCount);
+
+    // Blocks the incremental writers (but not dashboard reads) while the table is rebuilt
+    @Modifying
+    @Query(value = "LOCK TABLE candidate_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM candidate_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Same aggregates as V18; results and roadmaps have no foreign key, so only existing users are kept
+    @Modifying
+    @Query(value = """
+            INSERT INTO candidate_stats (user_id, compatibility_sum, compatibility_count, skill_score_sum,
+                    skill_score_count, jobs_evaluated, roadmap_count, updated_at)
+            SELECT u.id,
+                   COALESCE(c.compatibility_sum, 0), COALESCE(c.compatibility_count, 0),
+                   COALESCE(c.skill_score_sum, 0), COALESCE(c.skill_score_count, 0),
+                   COALESCE(c.jobs_evaluated, 0), COALESCE(r.roadmap_count, 0), CURRENT_TIMESTAMP
+            FROM users u
+            LEFT JOIN (SELECT user_id,
+                              SUM(compatibility_score) AS compatibility_sum,
+                              COUNT(compatibility_score) AS compatibility_count,
+                              SUM(skill_match_score) AS skill_score_sum,
+                              COUNT(skill_match_score) AS skill_score_count,
+                              COUNT(DISTINCT job_id) AS jobs_evaluated
+                       FROM job_compatibility_result
+                       WHERE precomputed = false AND recruiter_batch = false
+                       GROUP BY user_id) c ON c.user_id = u.id
+            LEFT JOIN (SELECT user_id, COUNT(*) AS roadmap_count
+                       FROM learning_roadmap
+                       GROUP BY user_id) r ON r.user_id = u.id
+            WHERE c.user_id IS NOT NULL OR r.user_id IS NOT NULL
+            """, nativeQuery = true)
+    int insertFromSource();
+}
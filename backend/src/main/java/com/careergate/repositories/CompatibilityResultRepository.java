@@ -13,20 +13,54 @@ public interface CompatibilityResultRepository extends JpaRepository<Compatibili
 
     Optional<CompatibilityResult> findFirstByUserIdAndJobIdOrderByEvaluatedAtDesc(UUID userId, UUID jobId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT AVG(c.compatibilityScore) FROM CompatibilityResult c WHERE c.userId = :userId")
-    Double findAverageCompatibilityScoreByUserId(UUID userId);
+    // The candidate's own latest result; recruiter batch scores are kept apart
+    Optional<CompatibilityResult> findFirstByUserIdAndJobIdAndStatusAndRecruiterBatchFalseOrderByEvaluatedAtDesc(
+            UUID userId, UUID jobId, CompatibilityResult.AnalysisStatus status);
 
-    @org.springframework.data.jpa.repository.Query("SELECT AVG(c.skillMatchScore) FROM CompatibilityResult c WHERE c.userId = :userId")
-    Double findAverageSkillMatchScoreByUserId(UUID userId);
+    // Unfinished analyses whose owner stopped sending heartbeats, oldest first; rows locked by a
+    // concurrent claim on another instance are skipped rather than waited for
+    @org.springframework.data.jpa.repository.Query(value = "SELECT id FROM job_compatibility_result "
+            + "WHERE status IN ('PENDING', 'RUNNING') AND (heartbeat_at IS NULL "
+            + "OR heartbeat_at < CURRENT_TIMESTAMP - CAST(:staleAfterMs AS double precision) * INTERVAL '1 millisecond') "
+            + "ORDER BY evaluated_at LIMIT :max FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    java.util.List<UUID> lockStaleUnfinishedIds(long staleAfterMs, int max);
 
-    @org.springframework.data.jpa.repository.Query("SELECT COUNT(DISTINCT c.jobId) FROM CompatibilityResult c WHERE c.userId = :userId")
-    Long countDistinctJobIdByUserId(UUID userId);
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_compatibility_result "
+            + "SET claimed_by = :owner, heartbeat_at = CURRENT_TIMESTAMP WHERE id IN :ids", nativeQuery = true)
+    int claim(java.util.Collection<UUID> ids, String owner);
 
-    @org.springframework.data.jpa.repository.Query("SELECT COUNT(DISTINCT c.userId) FROM CompatibilityResult c WHERE c.jobId IN :jobIds")
+    // Refreshes the claim and reports whether the owner still holds it
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_compatibility_result "
+            + "SET heartbeat_at = CURRENT_TIMESTAMP "
+            + "WHERE id = :id AND claimed_by = :owner AND status IN ('PENDING', 'RUNNING')", nativeQuery = true)
+    int touchClaim(UUID id, String owner);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_compatibility_result "
+            + "SET heartbeat_at = CURRENT_TIMESTAMP "
+            + "WHERE claimed_by = :owner AND status IN ('PENDING', 'RUNNING')", nativeQuery = true)
+    int heartbeat(String owner);
+
+    // Hands a claimed row back so that the next sweep on any instance can take it
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_compatibility_result "
+            + "SET claimed_by = NULL, heartbeat_at = NULL WHERE id = :id AND claimed_by = :owner", nativeQuery = true)
+    int releaseClaim(UUID id, String owner);
+
+    // Whether another counted result already covers the job, for the distinct-jobs statistic
+    boolean existsByUserIdAndJobIdAndPrecomputedFalseAndRecruiterBatchFalseAndIdNot(UUID userId, UUID jobId, UUID id);
+
+    Optional<CompatibilityResult> findFirstByUserIdAndJobIdAndRecruiterBatchTrueOrderByEvaluatedAtDesc(UUID userId,
+            UUID jobId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(DISTINCT c.userId) FROM CompatibilityResult c WHERE c.jobId IN :jobIds AND c.precomputed = false")
     Long countDistinctUserIdByJobIdIn(java.util.List<UUID> jobIds);
 
-    @org.springframework.data.jpa.repository.Query("SELECT AVG(c.skillMatchScore) FROM CompatibilityResult c WHERE c.jobId IN :jobIds")
+    @org.springframework.data.jpa.repository.Query("SELECT AVG(c.skillMatchScore) FROM CompatibilityResult c WHERE c.jobId IN :jobIds AND c.precomputed = false")
     Double findAverageSkillMatchScoreByJobIdIn(java.util.List<UUID> jobIds);
 
-    Long countByJobIdInAndCompatibilityScoreGreaterThanEqual(java.util.List<UUID> jobIds, Integer score);
+    Long countByJobIdInAndCompatibilityScoreGreaterThanEqualAndPrecomputedFalse(java.util.List<UUID> jobIds,
+            Integer score);
 }
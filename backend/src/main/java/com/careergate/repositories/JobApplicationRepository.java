@@ -1,18 +1,44 @@
 package com.careergate.repositories;
 
+import com.careergate.dto.job.JobApplicationSummaryResponse;
 import com.careergate.entities.JobApplication;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, UUID> {
-    List<JobApplication> findByCandidateIdOrderByAppliedAtDesc(UUID candidateId);
 
-    List<JobApplication> findByJobIdOrderByAppliedAtDesc(UUID jobId);
+    String SUMMARY = "SELECT new com.careergate.dto.job.JobApplicationSummaryResponse("
+            + "a.id, a.status, a.appliedAt, j.id, j.title, j.companyName, c.id, c.email) "
+            + "FROM JobApplication a JOIN a.job j JOIN a.candidate c ";
+    // Rows after the (appliedAt, id) keyset position, in ORDER BY appliedAt DESC, id DESC. The tuple
+    // comparison renders as a row-value comparison, which Postgres uses as the start of the index range
+    String AFTER = "AND (a.appliedAt, a.id) < (:appliedAt, :id) ";
+    String NEWEST_FIRST = "ORDER BY a.appliedAt DESC, a.id DESC";
+
+    @Query(SUMMARY + "WHERE c.id = :candidateId " + NEWEST_FIRST)
+    List<JobApplicationSummaryResponse> findSummariesByCandidateId(UUID candidateId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE c.id = :candidateId " + AFTER + NEWEST_FIRST)
+    List<JobApplicationSummaryResponse> findSummariesByCandidateIdAfter(UUID candidateId, LocalDateTime appliedAt,
+            UUID id, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE j.id = :jobId " + NEWEST_FIRST)
+    List<JobApplicationSummaryResponse> findSummariesByJobId(UUID jobId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE j.id = :jobId " + AFTER + NEWEST_FIRST)
+    List<JobApplicationSummaryResponse> findSummariesByJobIdAfter(UUID jobId, LocalDateTime appliedAt, UUID id,
+            Pageable pageable);
+
+    @Query("SELECT a.candidate.id FROM JobApplication a WHERE a.job.id = :jobId ORDER BY a.appliedAt DESC")
+    List<UUID> findCandidateIdsByJobId(UUID jobId);
 
     Optional<JobApplication> findByCandidateIdAndJobId(UUID candidateId, UUID jobId);
 }
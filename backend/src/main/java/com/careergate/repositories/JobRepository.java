@@ -2,11 +2,62 @@ package com.careergate.repositories;
 
 import com.careergate.entities.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, UUID> {
-    java.util.List<Job> findByRecruiterIdOrderByCreatedAtDesc(UUID recruiterId);
+public interface JobRepository extends JpaRepository<Job, UUID>, JobRepositoryCustom {
+    @Query("SELECT j.id FROM Job j WHERE j.recruiter.id = :recruiterId")
+    List<UUID> findIdsByRecruiterId(UUID recruiterId);
+
+    // Marks the embedding stale; the refresher re-embeds NULLs
+    @Modifying
+    @Query(value = "UPDATE jobs SET embedding = NULL WHERE id = :jobId", nativeQuery = true)
+    void clearEmbedding(UUID jobId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE jobs SET embedding = CAST(:embedding AS vector) WHERE id = :jobId", nativeQuery = true)
+    void updateEmbedding(UUID jobId, String embedding);
+
+    @Query(value = "SELECT id FROM jobs WHERE embedding IS NULL LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsMissingEmbedding(int limit);
+
+    // pgvector literal of the job's embedding, if it has one
+    @Query(value = "SELECT CAST(embedding AS text) FROM jobs WHERE id = :jobId AND embedding IS NOT NULL",
+            nativeQuery = true)
+    Optional<String> findEmbedding(UUID jobId);
+
+    /**
+     * [id, rank, highlight] of jobs matching a web-search style query ("quoted
+     * phrases", -exclusions, or), best rank first, after the (afterRank, afterId)
+     * keyset position when set. The GIN index finds the matches; only the page
+     * that is returned gets a headline.
+     */
+    @Query(value = """
+            SELECT page.id, page.rank,
+                   ts_headline('english', j.description, websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MaxWords=25, MinWords=8, StartSel=<mark>, StopSel=</mark>')
+            FROM (
+                SELECT m.id, m.rank FROM (
+                    SELECT id, ts_rank(search_vector, websearch_to_tsquery('english', :query), 1) AS rank
+                    FROM jobs
+                    WHERE search_vector @@ websearch_to_tsquery('english', :query)
+                ) m
+                WHERE CAST(:afterRank AS real) IS NULL
+                   OR m.rank < :afterRank
+                   OR (m.rank = :afterRank AND m.id < CAST(:afterId AS uuid))
+                ORDER BY m.rank DESC, m.id DESC
+                LIMIT :limit
+            ) page
+            JOIN jobs j ON j.id = page.id
+            ORDER BY page.rank DESC, page.id DESC
+            """, nativeQuery = true)
+    List<Object[]> searchByText(String query, Float afterRank, UUID afterId, int limit);
 }
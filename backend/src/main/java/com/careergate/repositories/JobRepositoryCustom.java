@@ -0,0 +1,33 @@
+package com.careergate.repositories;
+
+import com.careergate.dto.job.JobSearchRequest;
+import com.careergate.dto.job.JobSummaryResponse;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface JobRepositoryCustom {
+
+    /**
+     * Jobs matching the request's filters in its sort order, starting after the
+     * (afterValue, afterId) keyset position when afterId is set. Required skills
+     * are not populated.
+     */
+    List<JobSummaryResponse> search(JobSearchRequest request, Collection<UUID> requiredSkillIds,
+            Comparable<?> afterValue, UUID afterId, int limit);
+
+    /**
+     * The recruiter's jobs, newest first, after the (afterCreatedAt, afterId)
+     * keyset position when afterId is set. Required skills are not populated.
+     */
+    List<JobSummaryResponse> findSummariesByRecruiter(UUID recruiterId, LocalDateTime afterCreatedAt, UUID afterId,
+            int limit);
+
+    /**
+     * Summaries of the given jobs, in no particular order. Required skills are
+     * not populated.
+     */
+    List<JobSummaryResponse> findSummariesByIds(Collection<UUID> ids);
+}
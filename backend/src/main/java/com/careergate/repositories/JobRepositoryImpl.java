@@ -0,0 +1,220 @@
+package com.careergate.repositories;
+
+import com.careergate.dto.job.JobSearchRequest;
+import com.careergate.dto.job.JobSort;
+import com.careergate.dto.job.JobSummaryResponse;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Job search with Criteria so that only the filters that are set end up in the
+ * SQL. Every sort order has a matching (column, id) index (V14), and the
+ * keyset predicate bounds the scan at the last row of the previous page, so
+ * each page is an index range scan however deep the client pages. A nullable
+ * sort reads its null tail as a separate range once the non-null keys run out.
+ */
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    private static final int DESCRIPTION_SNIPPET_LENGTH = 300;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<JobSummaryResponse> search(JobSearchRequest request, Collection<UUID> requiredSkillIds,
+            Comparable<?> afterValue, UUID afterId, int limit) {
+        JobSort sort = request.getSort();
+        if (afterId == null) {
+            return searchRange(request, requiredSkillIds, null, limit);
+        }
+        if (afterValue == null) {
+            // Already in the null tail of a nullable sort
+            return searchRange(request, requiredSkillIds, (cb, key, id) -> cb.and(cb.isNull(key),
+                    sort.isDescending() ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId)), limit);
+        }
+        List<JobSummaryResponse> jobs = searchRange(request, requiredSkillIds,
+                (cb, key, id) -> after(cb, key, id, (Comparable) afterValue, afterId, sort.isDescending()), limit);
+        if (sort.isNullable() && jobs.size() < limit) {
+            // The non-null keys ran out; nulls sort last, so continue from the start of the null tail
+            jobs = new ArrayList<>(jobs);
+            jobs.addAll(searchRange(request, requiredSkillIds, (cb, key, id) -> cb.isNull(key),
+                    limit - jobs.size()));
+        }
+        return jobs;
+    }
+
+    /**
+     * One index range of the search: the request's filters plus the keyset
+     * condition, in the sort order.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<JobSummaryResponse> searchRange(JobSearchRequest request, Collection<UUID> requiredSkillIds,
+            KeysetCondition keyset, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> job = query.from(Job.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (request.getKeyword() != null && !request.getKeyword().isBlank()) {
+            // Served by the trigram indexes on lower(title) / lower(company_name)
+            String pattern = "%" + escapeLike(request.getKeyword().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(job.get("title")), pattern, '\\'),
+                    cb.like(cb.lower(job.get("companyName")), pattern, '\\')));
+        }
+        addOverlap(cb, predicates, job.get("minExperience"), job.get("maxExperience"),
+                request.getMinExperience(), request.getMaxExperience());
+        addOverlap(cb, predicates, job.get("minCtc"), job.get("maxCtc"),
+                request.getMinCtc(), request.getMaxCtc());
+        for (UUID skillId : requiredSkillIds) {
+            // One probe of the unique (job_id, skill_id) index per candidate row
+            Subquery<Integer> requires = query.subquery(Integer.class);
+            Root<JobRequiredSkill> rs = requires.from(JobRequiredSkill.class);
+            requires.select(cb.literal(1))
+                    .where(cb.equal(rs.get("job"), job), cb.equal(rs.get("skill").get("id"), skillId));
+            predicates.add(cb.exists(requires));
+        }
+
+        JobSort sort = request.getSort();
+        Path<Comparable> sortKey = job.get(sort.getAttribute());
+        Path<UUID> id = job.get("id");
+        if (keyset != null) {
+            predicates.add(keyset.on(cb, sortKey, id));
+        }
+
+        query.multiselect(summaryColumns(cb, job))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, sortKey, sort.isDescending(), sort.isNullable()),
+                        sort.isDescending() ? cb.desc(id) : cb.asc(id));
+
+        return toSummaries(entityManager.createQuery(query).setMaxResults(limit).getResultList());
+    }
+
+    @FunctionalInterface
+    @SuppressWarnings("rawtypes")
+    private interface KeysetCondition {
+        Predicate on(HibernateCriteriaBuilder cb, Path<Comparable> key, Path<UUID> id);
+    }
+
+    @Override
+    public List<JobSummaryResponse> findSummariesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> job = query.from(Job.class);
+        query.multiselect(summaryColumns(cb, job)).where(job.get("id").in(ids));
+        return toSummaries(entityManager.createQuery(query).getResultList());
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<JobSummaryResponse> findSummariesByRecruiter(UUID recruiterId, LocalDateTime afterCreatedAt,
+            UUID afterId, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> job = query.from(Job.class);
+        Path<Comparable> createdAt = job.get("createdAt");
+        Path<UUID> id = job.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(job.get("recruiter").get("id"), recruiterId));
+        if (afterId != null) {
+            predicates.add(after(cb, createdAt, id, afterCreatedAt, afterId, true));
+        }
+        // Served by idx_jobs_recruiter_created_at_id (V17)
+        query.multiselect(summaryColumns(cb, job))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return toSummaries(entityManager.createQuery(query).setMaxResults(limit).getResultList());
+    }
+
+    private static List<Selection<?>> summaryColumns(HibernateCriteriaBuilder cb, Root<Job> job) {
+        return List.of(job.get("id"), job.get("title"), job.get("companyName"),
+                cb.substring(job.get("description"), 1, DESCRIPTION_SNIPPET_LENGTH),
+                job.get("minExperience"), job.get("maxExperience"), job.get("minCtc"), job.get("maxCtc"),
+                job.get("createdAt"));
+    }
+
+    private static List<JobSummaryResponse> toSummaries(List<Tuple> rows) {
+        List<JobSummaryResponse> jobs = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            jobs.add(JobSummaryResponse.builder()
+                    .id(row.get(0, UUID.class))
+                    .title(row.get(1, String.class))
+                    .companyName(row.get(2, String.class))
+                    .description(row.get(3, String.class))
+                    .minExperience(row.get(4, BigDecimal.class))
+                    .maxExperience(row.get(5, BigDecimal.class))
+                    .minCtc(row.get(6, BigDecimal.class))
+                    .maxCtc(row.get(7, BigDecimal.class))
+                    .createdAt(row.get(8, LocalDateTime.class))
+                    .requiredSkills(new ArrayList<>())
+                    .build());
+        }
+        return jobs;
+    }
+
+    // Jobs whose [min, max] range overlaps the requested one; open-ended ranges match
+    private static void addOverlap(HibernateCriteriaBuilder cb, List<Predicate> predicates,
+            Path<BigDecimal> jobMin, Path<BigDecimal> jobMax, BigDecimal from, BigDecimal to) {
+        if (from != null) {
+            predicates.add(cb.or(cb.isNull(jobMax), cb.greaterThanOrEqualTo(jobMax, from)));
+        }
+        if (to != null) {
+            predicates.add(cb.or(cb.isNull(jobMin), cb.lessThanOrEqualTo(jobMin, to)));
+        }
+    }
+
+    // Nullable keys sort nulls last; NOT NULL keys use the default so that DESC and ASC share one index
+    @SuppressWarnings("rawtypes")
+    private static Order order(HibernateCriteriaBuilder cb, Expression<Comparable> key, boolean descending,
+            boolean nullable) {
+        if (nullable) {
+            return descending ? cb.desc(key, false) : cb.asc(key, false);
+        }
+        return descending ? cb.desc(key) : cb.asc(key);
+    }
+
+    /**
+     * Rows strictly after a non-null (value, lastId) in ORDER BY key, id, both in
+     * the same direction, excluding null keys. The redundant key <= value (>= when
+     * ascending) bound is what Postgres uses as the index condition, so the scan
+     * of the (key, id) index starts at the previous page's last row; the OR only
+     * drops the ties already returned.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate after(HibernateCriteriaBuilder cb, Expression<Comparable> key, Path<UUID> id,
+            Comparable value, UUID lastId, boolean descending) {
+        Predicate bound = descending ? cb.lessThanOrEqualTo(key, value) : cb.greaterThanOrEqualTo(key, value);
+        Predicate keyAfter = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+        Predicate idAfter = descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+        return cb.and(bound, cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter)));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,6 +14,14 @@ import java.util.UUID;
 public interface JobRequiredSkillRepository extends JpaRepository<JobRequiredSkill, UUID> {
     List<JobRequiredSkill> findByJobId(UUID jobId);
 
+    // [jobId, skillName] pairs for a page of job summaries
+    @Query("SELECT rs.job.id, rs.skill.name FROM JobRequiredSkill rs WHERE rs.job.id IN :jobIds")
+    List<Object[]> findSkillNamesByJobIdIn(Collection<UUID> jobIds);
+
+    // [skillId, minRating] pairs for re-indexing one job
+    @Query("SELECT rs.skill.id, rs.minRating FROM JobRequiredSkill rs WHERE rs.job.id = :jobId")
+    List<Object[]> findSkillIdsAndMinRatingsByJobId(UUID jobId);
+
     @Modifying
     @Query("DELETE FROM JobRequiredSkill j WHERE j.job.id = :jobId")
     void deleteByJobId(UUID jobId);
@@ -1,7 +1,9 @@
 package com.careergate.repositories;
 
 import com.careergate.entities.LearningRoadmap;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +16,8 @@ public interface LearningRoadmapRepository extends JpaRepository<LearningRoadmap
     java.util.List<LearningRoadmap> findByUserId(UUID userId);
 
     Optional<LearningRoadmap> findFirstByUserIdAndJobIdOrderByCreatedAtDesc(UUID userId, UUID jobId);
+
+    // Bumps the version on commit so concurrent regenerations of the same roadmap conflict
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<LearningRoadmap> findWithLockById(UUID id);
 }
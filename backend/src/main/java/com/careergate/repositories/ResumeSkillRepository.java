@@ -0,0 +1,15 @@
+package com.careergate.repositories;
+
+import com.careergate.entities.ResumeSkill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ResumeSkillRepository extends JpaRepository<ResumeSkill, UUID> {
+    List<ResumeSkill> findByUserIdOrderByOccurrencesDesc(UUID userId);
+
+    void deleteByUserId(UUID userId);
+}
@@ -2,6 +2,8 @@ package com.careergate.repositories;
 
 import com.careergate.entities.RoadmapItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +11,21 @@ import java.util.UUID;
 
 @Repository
 public interface RoadmapItemRepository extends JpaRepository<RoadmapItem, UUID> {
-    List<RoadmapItem> findByRoadmapIdOrderByWeekNoAscDayNoAsc(UUID roadmapId);
+    List<RoadmapItem> findByRoadmapIdAndGenerationIsNullOrderByWeekNoAscDayNoAsc(UUID roadmapId);
 
     void deleteByRoadmapId(UUID roadmapId);
+
+    @Modifying
+    @Query("DELETE FROM RoadmapItem i WHERE i.roadmap.id = :roadmapId AND i.generation = :generation")
+    int deleteGeneration(UUID roadmapId, UUID generation);
+
+    // Live items and the leftovers of abandoned generations
+    @Modifying
+    @Query("DELETE FROM RoadmapItem i WHERE i.roadmap.id = :roadmapId "
+            + "AND (i.generation IS NULL OR i.generation <> :generation)")
+    int deleteAllButGeneration(UUID roadmapId, UUID generation);
+
+    @Modifying
+    @Query("UPDATE RoadmapItem i SET i.generation = NULL WHERE i.roadmap.id = :roadmapId AND i.generation = :generation")
+    int promoteGeneration(UUID roadmapId, UUID generation);
 }
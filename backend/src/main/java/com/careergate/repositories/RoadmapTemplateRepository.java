@@ -0,0 +1,17 @@
+package com.careergate.repositories;
+
+import com.careergate.entities.RoadmapTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RoadmapTemplateRepository extends JpaRepository<RoadmapTemplate, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoadmapTemplate t SET t.hitCount = t.hitCount + 1, t.lastHitAt = CURRENT_TIMESTAMP WHERE t.fingerprint = :fingerprint")
+    void recordHit(String fingerprint);
+}
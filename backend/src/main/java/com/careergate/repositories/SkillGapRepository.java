@@ -2,6 +2,8 @@ package com.careergate.repositories;
 
 import com.careergate.entities.SkillGap;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,8 @@ import java.util.UUID;
 @Repository
 public interface SkillGapRepository extends JpaRepository<SkillGap, UUID> {
     List<SkillGap> findByCompatibilityId(UUID compatibilityId);
+
+    @Modifying
+    @Query("DELETE FROM SkillGap g WHERE g.compatibility.id = :compatibilityId")
+    void deleteByCompatibilityId(UUID compatibilityId);
 }
@@ -2,12 +2,91 @@ package com.careergate.repositories;
 
 import com.careergate.entities.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserProfileRepository extends JpaRepository<UserProfile, UUID> {
     Optional<UserProfile> findByUserId(UUID userId);
+
+    // Marks the embedding stale; the refresher re-embeds NULLs
+    @Modifying
+    @Query(value = "UPDATE user_profile SET resume_embedding = NULL WHERE user_id = :userId", nativeQuery = true)
+    void clearResumeEmbedding(UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_profile SET resume_embedding = CAST(:embedding AS vector) WHERE user_id = :userId",
+            nativeQuery = true)
+    void updateResumeEmbedding(UUID userId, String embedding);
+
+    @Query(value = "SELECT user_id FROM user_profile WHERE resume_embedding IS NULL AND resume_text IS NOT NULL "
+            + "LIMIT :limit", nativeQuery = true)
+    List<UUID> findUserIdsMissingResumeEmbedding(int limit);
+
+    /**
+     * Widens the HNSW candidate list for the rest of the transaction, so that
+     * filtered searches still find enough rows after the filters apply.
+     */
+    @Query(value = "SELECT set_config('hnsw.ef_search', :efSearch, true)", nativeQuery = true)
+    String setLocalHnswEfSearch(String efSearch);
+
+    /**
+     * [userId, email, totalExperience, expectedCtc, noticePeriodDays, similarity]
+     * of the candidates whose resumes are nearest to the query embedding (HNSW
+     * index scan), restricted by the filters that are set.
+     */
+    @Query(value = """
+            SELECT p.user_id, u.email, p.total_experience, p.expected_ctc, p.notice_period_days,
+                   1 - (p.resume_embedding <=> CAST(:embedding AS vector)) AS similarity
+            FROM user_profile p
+            JOIN users u ON u.id = p.user_id
+            WHERE p.resume_embedding IS NOT NULL
+              AND u.role = 'CANDIDATE'
+              AND (CAST(:minExperience AS numeric) IS NULL OR p.total_experience >= :minExperience)
+              AND (CAST(:maxExperience AS numeric) IS NULL OR p.total_experience <= :maxExperience)
+              AND (CAST(:maxExpectedCtc AS numeric) IS NULL OR p.expected_ctc <= :maxExpectedCtc)
+              AND (CAST(:maxNoticePeriodDays AS integer) IS NULL OR p.notice_period_days <= :maxNoticePeriodDays)
+            ORDER BY p.resume_embedding <=> CAST(:embedding AS vector)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> searchByResumeEmbedding(String embedding, BigDecimal minExperience, BigDecimal maxExperience,
+            BigDecimal maxExpectedCtc, Integer maxNoticePeriodDays, int limit);
+
+    /**
+     * [userId, email, totalExperience, rank, highlight] of candidates whose
+     * resume matches a web-search style query, best rank first, after the
+     * (afterRank, afterUserId) keyset position when set.
+     */
+    @Query(value = """
+            SELECT page.user_id, u.email, p.total_experience, page.rank,
+                   ts_headline('english', p.resume_text, websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MaxWords=25, MinWords=8, StartSel=<mark>, StopSel=</mark>')
+            FROM (
+                SELECT m.user_id, m.rank FROM (
+                    SELECT p.user_id,
+                           ts_rank(p.resume_search_vector, websearch_to_tsquery('english', :query), 1) AS rank
+                    FROM user_profile p
+                    JOIN users u ON u.id = p.user_id
+                    WHERE p.resume_search_vector @@ websearch_to_tsquery('english', :query)
+                      AND u.role = 'CANDIDATE'
+                ) m
+                WHERE CAST(:afterRank AS real) IS NULL
+                   OR m.rank < :afterRank
+                   OR (m.rank = :afterRank AND m.user_id < CAST(:afterUserId AS uuid))
+                ORDER BY m.rank DESC, m.user_id DESC
+                LIMIT :limit
+            ) page
+            JOIN user_profile p ON p.user_id = page.user_id
+            JOIN users u ON u.id = page.user_id
+            ORDER BY page.rank DESC, page.user_id DESC
+            """, nativeQuery = true)
+    List<Object[]> searchByResumeText(String query, Float afterRank, UUID afterUserId, int limit);
 }
@@ -1,7 +1,9 @@
 package com.careergate.repositories;
 
 import com.careergate.entities.UserSkill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,10 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, UUID> {
     List<UserSkill> findByUserId(UUID userId);
 
     void deleteByUserId(UUID userId);
+
+    // Candidates sharing the most required skills with the job come first
+    @Query("SELECT us.user.id FROM UserSkill us WHERE us.skill.id IN "
+            + "(SELECT rs.skill.id FROM JobRequiredSkill rs WHERE rs.job.id = :jobId) "
+            + "GROUP BY us.user.id ORDER BY COUNT(us) DESC")
+    List<UUID> findUserIdsBySkillOverlapWithJob(UUID jobId, Pageable pageable);
 }
@@ -2,10 +2,13 @@ package com.careergate.roadmap.controller;
 
 import com.careergate.common.response.ApiResponse;
 import com.careergate.roadmap.service.RoadmapService;
+import com.careergate.roadmap.service.RoadmapStreamingService;
 import com.careergate.entities.LearningRoadmap;
 import com.careergate.entities.RoadmapItem;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.util.List;
@@ -17,9 +20,11 @@ import java.util.Map;
 public class RoadmapController {
 
     private final RoadmapService roadmapService;
+    private final RoadmapStreamingService roadmapStreamingService;
 
-    public RoadmapController(RoadmapService roadmapService) {
+    public RoadmapController(RoadmapService roadmapService, RoadmapStreamingService roadmapStreamingService) {
         this.roadmapService = roadmapService;
+        this.roadmapStreamingService = roadmapStreamingService;
     }
 
     @PostMapping("/generate/{jobId}")
@@ -28,6 +33,11 @@ public class RoadmapController {
         return ResponseEntity.ok(ApiResponse.success(roadmap, "Roadmap generated successfully"));
     }
 
+    @PostMapping(value = "/generate/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoadmap(Principal principal, @PathVariable UUID jobId) {
+        return roadmapStreamingService.streamRoadmap(principal.getName(), jobId);
+    }
+
     @GetMapping("/my-roadmaps")
     public ResponseEntity<ApiResponse<List<LearningRoadmap>>> getUserRoadmaps(Principal principal) {
         List<LearningRoadmap> roadmaps = roadmapService.getUserRoadmaps(principal.getName());
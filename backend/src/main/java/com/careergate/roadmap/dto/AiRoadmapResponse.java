@@ -18,6 +18,9 @@ public class AiRoadmapResponse {
         private int dayNo;
         private String title;
         private String description;
+        // Technology the day covers; its video is resolved from the local catalog
+        private String topic;
+        // Only present in roadmaps generated before the prompt stopped asking for IDs
         private String youtubeVideoId;
         private String youtubeSearchQuery;
         private List<String> articleLinks;
@@ -0,0 +1,14 @@
+package com.careergate.roadmap.dto;
+
+import com.careergate.entities.LearningRoadmap;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RoadmapGenerationContext {
+    private LearningRoadmap roadmap;
+    private String analysisSummary;
+    private String gapsJson;
+    private String gapFingerprint;
+}
@@ -1,9 +1,13 @@
 package com.careergate.roadmap.service;
 
+import com.careergate.dashboard.service.CandidateStatsService;
 import com.careergate.entities.*;
 import com.careergate.repositories.*;
+import com.careergate.roadmap.dto.RoadmapGenerationContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,6 +23,9 @@ public class RoadmapService {
     private final com.careergate.compatibility.service.AiService aiService;
     private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
     private final com.careergate.compatibility.service.YouTubeVideoService youTubeVideoService;
+    private final RoadmapTemplateStore templateStore;
+    private final CandidateStatsService statsService;
+    private final TransactionTemplate transactionTemplate;
 
     public RoadmapService(LearningRoadmapRepository roadmapRepository,
             RoadmapItemRepository roadmapItemRepository,
@@ -27,7 +34,10 @@ public class RoadmapService {
             SkillGapRepository skillGapRepository,
             com.careergate.compatibility.service.AiService aiService,
             com.fasterxml.jackson.databind.ObjectMapper objectMapper,
-            com.careergate.compatibility.service.YouTubeVideoService youTubeVideoService) {
+            com.careergate.compatibility.service.YouTubeVideoService youTubeVideoService,
+            RoadmapTemplateStore templateStore,
+            CandidateStatsService statsService,
+            PlatformTransactionManager transactionManager) {
         this.roadmapRepository = roadmapRepository;
         this.roadmapItemRepository = roadmapItemRepository;
         this.userRepository = userRepository;
@@ -36,72 +46,210 @@ public class RoadmapService {
         this.aiService = aiService;
         this.objectMapper = objectMapper;
         this.youTubeVideoService = youTubeVideoService;
+        this.templateStore = templateStore;
+        this.statsService = statsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public LearningRoadmap generateRoadmap(String userEmail, UUID jobId) {
+        // 1. Short transaction: resolve the analysis and the roadmap. A new roadmap is only
+        // saved with its items, so a failed generation does not leave an empty one behind
+        RoadmapGenerationContext context = transactionTemplate.execute(status -> loadContext(userEmail, jobId, false));
+
+        // 2. Reuse a stored roadmap for the same gap set, otherwise call AI with no
+        // database connection held
+        com.careergate.roadmap.dto.AiRoadmapResponse roadmapData = templateStore.get(context.getGapFingerprint())
+                .orElse(null);
+        if (roadmapData == null) {
+            com.careergate.compatibility.service.AiJsonParser.Parsed<com.careergate.roadmap.dto.AiRoadmapResponse> generated;
+            try {
+                generated = aiService.generateRoadmap(context.getAnalysisSummary(), context.getGapsJson());
+            } catch (com.careergate.common.exception.AiUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("AI Roadmap generation failed: " + e.getMessage());
+            }
+            roadmapData = generated.getValue();
+            if (roadmapData.getWeeks() == null || roadmapData.getWeeks().isEmpty()) {
+                throw new RuntimeException("AI Roadmap generation returned no items");
+            }
+            // A cut-off response is still shown, but is not served to everyone else for the TTL
+            if (!generated.isRepaired()) {
+                templateStore.put(context.getGapFingerprint(), roadmapData);
+            }
+        }
+        com.careergate.roadmap.dto.AiRoadmapResponse roadmapItems = roadmapData;
+
+        // 3. Short transaction: swap the old items for the new ones
+        return transactionTemplate.execute(status -> replaceItems(context.getRoadmap(), roadmapItems));
+    }
+
+    /**
+     * Resolves the latest compatibility result, creates the roadmap if needed
+     * and builds the AI context for the streaming flow. The version bump makes
+     * any generation started earlier lose when it tries to publish; the current
+     * items stay live until this one does.
+     */
+    @Transactional
+    public RoadmapGenerationContext prepareRoadmap(String userEmail, UUID jobId) {
+        RoadmapGenerationContext context = loadContext(userEmail, jobId, true);
+        lockRoadmap(context.getRoadmap());
+        return context;
+    }
+
+    private RoadmapGenerationContext loadContext(String userEmail, UUID jobId, boolean createRoadmap) {
         User user = userRepository.findByEmail(userEmail).orElseThrow();
 
         // Find latest compatibility result
         CompatibilityResult comp = compatibilityRepository
-                .findFirstByUserIdAndJobIdOrderByEvaluatedAtDesc(user.getId(), jobId)
+                .findFirstByUserIdAndJobIdAndStatusAndRecruiterBatchFalseOrderByEvaluatedAtDesc(user.getId(), jobId,
+                        CompatibilityResult.AnalysisStatus.COMPLETED)
                 .orElseThrow(() -> new RuntimeException("Calculate compatibility first"));
 
         List<SkillGap> gaps = skillGapRepository.findByCompatibilityId(comp.getId());
 
         LearningRoadmap roadmap = roadmapRepository.findFirstByUserIdAndJobIdOrderByCreatedAtDesc(user.getId(), jobId)
-                .orElse(LearningRoadmap.builder().userId(user.getId()).jobId(jobId).build());
-
-        LearningRoadmap savedRoadmap = roadmapRepository.save(roadmap);
-
-        // Delete old items if re-generating
-        roadmapItemRepository.deleteByRoadmapId(savedRoadmap.getId());
+                .orElse(null);
+        if (roadmap == null) {
+            roadmap = LearningRoadmap.builder().userId(user.getId()).jobId(jobId).build();
+            if (createRoadmap) {
+                roadmap = createRoadmap(roadmap);
+            }
+        }
 
         // 2. Prepare AI Context
         String gapsJson = gaps.stream()
                 .map(g -> g.getSkill().getName() + " (Gap Level: " + g.getGap() + ")")
                 .collect(java.util.stream.Collectors.joining(", "));
 
-        // 3. Call AI for Roadmap
-        String aiRoadmapJson = aiService.generateRoadmap(comp.getAiAnalysisSummary(), gapsJson);
+        return new RoadmapGenerationContext(roadmap, comp.getAiAnalysisSummary(), gapsJson,
+                templateStore.fingerprint(gaps));
+    }
 
-        try {
-            com.careergate.roadmap.dto.AiRoadmapResponse roadmapData = objectMapper.readValue(aiRoadmapJson,
-                    com.careergate.roadmap.dto.AiRoadmapResponse.class);
-
-            for (com.careergate.roadmap.dto.AiRoadmapResponse.Week week : roadmapData.getWeeks()) {
-                for (com.careergate.roadmap.dto.AiRoadmapResponse.Day day : week.getDays()) {
-                    // Serialize article links to JSON string
-                    String articleLinksJson = day.getArticleLinks() != null
-                            ? objectMapper.writeValueAsString(day.getArticleLinks())
-                            : "[]";
-
-                    // Get verified YouTube video ID
-                    // If AI provides a video ID, use it; otherwise, get one from our verified
-                    // database
-                    String videoId = day.getYoutubeVideoId();
-                    if (videoId == null || videoId.trim().isEmpty() || videoId.length() != 11) {
-                        // Fallback to verified video based on topic
-                        videoId = youTubeVideoService.getVideoIdForTopic(day.getTitle());
-                    }
-
-                    roadmapItemRepository.save(RoadmapItem.builder()
-                            .roadmap(savedRoadmap)
-                            .weekNo(week.getWeekNo())
-                            .dayNo(day.getDayNo())
-                            .title(day.getTitle())
-                            .description(day.getDescription())
-                            .youtubeVideoId(videoId)
-                            .youtubeSearchQuery(day.getYoutubeSearchQuery())
-                            .articleLinks(articleLinksJson)
-                            .build());
+    private LearningRoadmap createRoadmap(LearningRoadmap roadmap) {
+        LearningRoadmap saved = roadmapRepository.save(roadmap);
+        statsService.roadmapCreated(saved.getUserId());
+        return saved;
+    }
+
+    // The snapshot is unsaved when the roadmap is new; it is created here, together with its items
+    private LearningRoadmap replaceItems(LearningRoadmap snapshot,
+            com.careergate.roadmap.dto.AiRoadmapResponse roadmapData) {
+        LearningRoadmap roadmap;
+        if (snapshot.getId() == null) {
+            roadmap = createRoadmap(snapshot);
+        } else {
+            roadmap = lockRoadmap(snapshot);
+            roadmapItemRepository.deleteByRoadmapId(roadmap.getId());
+        }
+        writeItems(roadmap, roadmapData);
+        return roadmap;
+    }
+
+    /**
+     * Replaces the roadmap's items with a stored template in one transaction.
+     */
+    @Transactional
+    public List<RoadmapItem> replayTemplate(LearningRoadmap snapshot,
+            com.careergate.roadmap.dto.AiRoadmapResponse template) {
+        LearningRoadmap roadmap = lockRoadmap(snapshot);
+        roadmapItemRepository.deleteByRoadmapId(roadmap.getId());
+        return writeItems(roadmap, template);
+    }
+
+    private List<RoadmapItem> writeItems(LearningRoadmap roadmap,
+            com.careergate.roadmap.dto.AiRoadmapResponse roadmapData) {
+        List<RoadmapItem> items = new java.util.ArrayList<>();
+        for (com.careergate.roadmap.dto.AiRoadmapResponse.Week week : roadmapData.getWeeks()) {
+            if (week.getDays() == null) {
+                continue;
+            }
+            for (com.careergate.roadmap.dto.AiRoadmapResponse.Day day : week.getDays()) {
+                // A truncated response can end with a half-written day
+                if (day.getTitle() == null) {
+                    continue;
                 }
+                items.add(roadmapItemRepository.save(buildItem(roadmap, week.getWeekNo(), day)));
             }
-        } catch (Exception e) {
-            throw new RuntimeException("AI Roadmap generation failed: " + e.getMessage());
+        }
+        return items;
+    }
+
+    /**
+     * Re-reads the roadmap with a forced version bump and fails if another
+     * generation has touched it since the snapshot was taken.
+     */
+    private LearningRoadmap lockRoadmap(LearningRoadmap snapshot) {
+        LearningRoadmap roadmap = roadmapRepository.findWithLockById(snapshot.getId())
+                .orElseThrow(() -> new RuntimeException("Roadmap not found"));
+        if (!java.util.Objects.equals(roadmap.getVersion(), snapshot.getVersion())) {
+            throw new org.springframework.dao.OptimisticLockingFailureException(
+                    "Roadmap is already being regenerated, please try again");
+        }
+        return roadmap;
+    }
+
+    /**
+     * Saves a streamed day under its generation; it stays invisible until
+     * {@link #publishGeneration} makes the generation live.
+     */
+    public RoadmapItem saveItem(LearningRoadmap roadmap, UUID generation, int weekNo,
+            com.careergate.roadmap.dto.AiRoadmapResponse.Day day) {
+        RoadmapItem item = buildItem(roadmap, weekNo, day);
+        item.setGeneration(generation);
+        return roadmapItemRepository.save(item);
+    }
+
+    /**
+     * Swaps a completed streamed generation in for the live items. Fails if the
+     * roadmap was regenerated after this generation was prepared.
+     */
+    @Transactional
+    public void publishGeneration(LearningRoadmap snapshot, UUID generation) {
+        LearningRoadmap roadmap = lockRoadmap(snapshot);
+        roadmapItemRepository.deleteAllButGeneration(roadmap.getId(), generation);
+        if (roadmapItemRepository.promoteGeneration(roadmap.getId(), generation) == 0) {
+            // Discarded meanwhile (client gone); roll back rather than leave the roadmap empty
+            throw new org.springframework.dao.OptimisticLockingFailureException(
+                    "Roadmap generation was discarded before it could be published");
+        }
+    }
+
+    @Transactional
+    public void discardGeneration(UUID roadmapId, UUID generation) {
+        roadmapItemRepository.deleteGeneration(roadmapId, generation);
+    }
+
+    private RoadmapItem buildItem(LearningRoadmap roadmap, int weekNo,
+            com.careergate.roadmap.dto.AiRoadmapResponse.Day day) {
+        // Serialize article links to JSON string
+        String articleLinksJson;
+        try {
+            articleLinksJson = day.getArticleLinks() != null
+                    ? objectMapper.writeValueAsString(day.getArticleLinks())
+                    : "[]";
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            articleLinksJson = "[]";
+        }
+
+        // Get verified YouTube video ID from the day's topic (or its title when the
+        // model omitted it); an ID from an older roadmap is kept if well-formed
+        String videoId = day.getYoutubeVideoId();
+        if (videoId == null || videoId.trim().isEmpty() || videoId.length() != 11) {
+            videoId = youTubeVideoService.getVideoIdForTopic(
+                    day.getTopic() != null && !day.getTopic().isBlank() ? day.getTopic() : day.getTitle());
         }
 
-        return savedRoadmap;
+        return RoadmapItem.builder()
+                .roadmap(roadmap)
+                .weekNo(weekNo)
+                .dayNo(day.getDayNo())
+                .title(day.getTitle())
+                .description(day.getDescription())
+                .youtubeVideoId(videoId)
+                .youtubeSearchQuery(day.getYoutubeSearchQuery())
+                .articleLinks(articleLinksJson)
+                .build();
     }
 
     private LearningRoadmap savedResultWorkaround(LearningRoadmap r) {
@@ -118,7 +266,7 @@ public class RoadmapService {
     }
 
     public List<RoadmapItem> getItems(UUID roadmapId) {
-        return roadmapItemRepository.findByRoadmapIdOrderByWeekNoAscDayNoAsc(roadmapId);
+        return roadmapItemRepository.findByRoadmapIdAndGenerationIsNullOrderByWeekNoAscDayNoAsc(roadmapId);
     }
 
     @Transactional
@@ -0,0 +1,124 @@
+package com.careergate.roadmap.service;
+
+import com.careergate.roadmap.dto.AiRoadmapResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental parser for streamed roadmap JSON. Chunks are fed as they arrive
+ * and every day object that has been closed is returned exactly once, together
+ * with the number of the week that contains it.
+ *
+ * The scanner only tracks object depth and string state: the root object is at
+ * depth 1, weeks at depth 2 and days at depth 3. Not thread-safe; use one
+ * instance per stream.
+ */
+@Slf4j
+public class RoadmapStreamParser {
+
+    private static final Pattern WEEK_NO = Pattern.compile("\"weekNo\"\\s*:\\s*(\\d+)");
+
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int scanPos = 0;
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+    private int weekStart = -1;
+    private int dayStart = -1;
+    private int weekOrdinal = 0;
+    private Integer currentWeekNo;
+    private boolean complete = false;
+
+    public RoadmapStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<StreamedDay> feed(String chunk) {
+        List<StreamedDay> days = new ArrayList<>();
+        if (chunk == null || chunk.isEmpty()) {
+            return days;
+        }
+        buffer.append(chunk);
+
+        for (; scanPos < buffer.length(); scanPos++) {
+            char c = buffer.charAt(scanPos);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+                if (depth == 2) {
+                    weekStart = scanPos;
+                    weekOrdinal++;
+                    currentWeekNo = null;
+                } else if (depth == 3) {
+                    dayStart = scanPos;
+                    if (currentWeekNo == null) {
+                        currentWeekNo = resolveWeekNo();
+                    }
+                }
+            } else if (c == '}') {
+                if (depth == 3 && dayStart >= 0) {
+                    StreamedDay day = parseDay(buffer.substring(dayStart, scanPos + 1));
+                    if (day != null) {
+                        days.add(day);
+                    }
+                    dayStart = -1;
+                }
+                depth--;
+                if (depth == 0) {
+                    complete = true;
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Whether the root object has been closed, i.e. the stream was not cut off.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private int resolveWeekNo() {
+        Matcher matcher = WEEK_NO.matcher(buffer).region(weekStart, scanPos);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : weekOrdinal;
+    }
+
+    private StreamedDay parseDay(String json) {
+        try {
+            AiRoadmapResponse.Day day = objectMapper.readValue(json, AiRoadmapResponse.Day.class);
+            return new StreamedDay(currentWeekNo != null ? currentWeekNo : weekOrdinal, day);
+        } catch (Exception e) {
+            log.warn("Skipping unparseable roadmap day: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StreamedDay {
+        private int weekNo;
+        private AiRoadmapResponse.Day day;
+    }
+}
@@ -0,0 +1,185 @@
+package com.careergate.roadmap.service;
+
+import com.careergate.compatibility.service.AiService;
+import com.careergate.entities.RoadmapItem;
+import com.careergate.roadmap.dto.AiRoadmapResponse;
+import com.careergate.roadmap.dto.RoadmapGenerationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming variant of roadmap generation. Each day is persisted as a
+ * RoadmapItem and pushed to the client as soon as the model has finished
+ * writing it, instead of waiting for the complete multi-week response.
+ *
+ * SSE events: "roadmap" (the roadmap being filled), one "item" per saved day,
+ * then "complete" with the item count, or "error". When a stored template
+ * matches the gap set, the items are replayed from it without calling the LLM.
+ *
+ * Streamed days are saved under a generation id and replace the current items
+ * only on "complete", so a failed, abandoned or superseded stream leaves the
+ * previous roadmap as it was.
+ */
+@Service
+@Slf4j
+public class RoadmapStreamingService {
+
+    private final RoadmapService roadmapService;
+    private final AiService aiService;
+    private final ObjectMapper objectMapper;
+    private final RoadmapTemplateStore templateStore;
+    private final long sseTimeoutMs;
+
+    public RoadmapStreamingService(RoadmapService roadmapService,
+            AiService aiService,
+            ObjectMapper objectMapper,
+            RoadmapTemplateStore templateStore,
+            @Value("${careergate.roadmap.stream.sse-timeout-ms:300000}") long sseTimeoutMs) {
+        this.roadmapService = roadmapService;
+        this.aiService = aiService;
+        this.objectMapper = objectMapper;
+        this.templateStore = templateStore;
+        this.sseTimeoutMs = sseTimeoutMs;
+    }
+
+    public SseEmitter streamRoadmap(String userEmail, UUID jobId) {
+        RoadmapGenerationContext context = roadmapService.prepareRoadmap(userEmail, jobId);
+
+        Optional<AiRoadmapResponse> template = templateStore.get(context.getGapFingerprint());
+        if (template.isPresent()) {
+            SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+            send(emitter, "roadmap", context.getRoadmap());
+            replayTemplate(emitter, context, template.get());
+            return emitter;
+        }
+
+        // Admitted by the call guard on subscription; a rejection arrives as the "error" event
+        Flux<String> chunks = aiService.streamRoadmap(context.getAnalysisSummary(), context.getGapsJson());
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        send(emitter, "roadmap", context.getRoadmap());
+
+        UUID roadmapId = context.getRoadmap().getId();
+        UUID generation = UUID.randomUUID();
+        RoadmapStreamParser parser = new RoadmapStreamParser(objectMapper);
+        AtomicInteger savedItems = new AtomicInteger();
+        Map<Integer, AiRoadmapResponse.Week> streamedWeeks = new TreeMap<>();
+
+        Disposable subscription = chunks
+                // Items are saved through JPA, so keep blocking work off the HTTP client threads
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        chunk -> {
+                            for (RoadmapStreamParser.StreamedDay streamed : parser.feed(chunk)) {
+                                if (streamed.getDay().getTitle() == null) {
+                                    continue;
+                                }
+                                RoadmapItem item = roadmapService.saveItem(context.getRoadmap(), generation,
+                                        streamed.getWeekNo(), streamed.getDay());
+                                savedItems.incrementAndGet();
+                                collect(streamedWeeks, streamed);
+                                send(emitter, "item", item);
+                            }
+                        },
+                        error -> {
+                            log.error("Streaming roadmap generation failed for roadmap {}", roadmapId, error);
+                            discard(roadmapId, generation);
+                            send(emitter, "error", Map.of("message",
+                                    "AI Roadmap generation failed: " + error.getMessage()));
+                            emitter.complete();
+                        },
+                        () -> {
+                            if (savedItems.get() == 0) {
+                                discard(roadmapId, generation);
+                                send(emitter, "error", Map.of("message", "AI Roadmap generation returned no items"));
+                            } else if (publish(context, generation)) {
+                                // A stream that ended before the roadmap closed is kept for this user only
+                                if (parser.isComplete()) {
+                                    templateStore.put(context.getGapFingerprint(), toRoadmap(streamedWeeks));
+                                }
+                                send(emitter, "complete", Map.of("roadmapId", roadmapId, "items", savedItems.get()));
+                            } else {
+                                send(emitter, "error", Map.of("message",
+                                        "Roadmap was regenerated by another request, please reload it"));
+                            }
+                            emitter.complete();
+                        });
+
+        Runnable cancel = () -> {
+            if (!subscription.isDisposed()) {
+                subscription.dispose();
+                discard(roadmapId, generation);
+            }
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
+
+    private void replayTemplate(SseEmitter emitter, RoadmapGenerationContext context, AiRoadmapResponse template) {
+        List<RoadmapItem> items = roadmapService.replayTemplate(context.getRoadmap(), template);
+        for (RoadmapItem item : items) {
+            send(emitter, "item", item);
+        }
+        send(emitter, "complete", Map.of("roadmapId", context.getRoadmap().getId(), "items", items.size()));
+        emitter.complete();
+    }
+
+    private boolean publish(RoadmapGenerationContext context, UUID generation) {
+        try {
+            roadmapService.publishGeneration(context.getRoadmap(), generation);
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            discard(context.getRoadmap().getId(), generation);
+            return false;
+        }
+    }
+
+    private void discard(UUID roadmapId, UUID generation) {
+        try {
+            roadmapService.discardGeneration(roadmapId, generation);
+        } catch (Exception e) {
+            // Removed by the next generation that publishes
+            log.warn("Could not discard roadmap {} generation {}: {}", roadmapId, generation, e.getMessage());
+        }
+    }
+
+    private void collect(Map<Integer, AiRoadmapResponse.Week> weeks, RoadmapStreamParser.StreamedDay streamed) {
+        AiRoadmapResponse.Week week = weeks.computeIfAbsent(streamed.getWeekNo(), weekNo -> {
+            AiRoadmapResponse.Week w = new AiRoadmapResponse.Week();
+            w.setWeekNo(weekNo);
+            w.setDays(new ArrayList<>());
+            return w;
+        });
+        week.getDays().add(streamed.getDay());
+    }
+
+    private AiRoadmapResponse toRoadmap(Map<Integer, AiRoadmapResponse.Week> weeks) {
+        AiRoadmapResponse roadmap = new AiRoadmapResponse();
+        roadmap.setWeeks(new ArrayList<>(weeks.values()));
+        return roadmap;
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Roadmap stream client went away: {}", e.getMessage());
+        }
+    }
+}
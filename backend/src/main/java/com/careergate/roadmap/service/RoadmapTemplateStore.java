@@ -0,0 +1,161 @@
+package com.careergate.roadmap.service;
+
+import com.careergate.compatibility.service.AiMetrics;
+import com.careergate.compatibility.service.AiService;
+import com.careergate.entities.RoadmapTemplate;
+import com.careergate.entities.SkillGap;
+import com.careergate.repositories.RoadmapTemplateRepository;
+import com.careergate.roadmap.dto.AiRoadmapResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Stores generated roadmaps as reusable templates. Candidates with the same
+ * set of skill gaps get the same roadmap, so a new roadmap is copied from a
+ * template instead of calling the LLM again.
+ *
+ * The fingerprint hashes the model, the roadmap prompt version and the sorted,
+ * de-duplicated "skill:gapLevel" pairs. Templates expire after a TTL so that
+ * content refreshes even when neither the model nor the prompt change.
+ */
+@Service
+@Slf4j
+public class RoadmapTemplateStore {
+
+    private final RoadmapTemplateRepository templateRepository;
+    private final ObjectMapper objectMapper;
+    private final String model;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RoadmapTemplateStore(RoadmapTemplateRepository templateRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.openai.chat.options.model:unknown}") String model,
+            @Value("${careergate.roadmap.template.enabled:true}") boolean enabled,
+            @Value("${careergate.roadmap.template.ttl-days:30}") long ttlDays) {
+        this.templateRepository = templateRepository;
+        this.objectMapper = objectMapper;
+        this.model = model;
+        this.enabled = enabled;
+        this.ttl = Duration.ofDays(ttlDays);
+
+        this.hits = Counter.builder("careergate.roadmap.template.requests")
+                .description("Roadmap template lookups")
+                .tag("prompt", AiMetrics.PROMPT_ROADMAP).tag("model", model)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("careergate.roadmap.template.requests")
+                .description("Roadmap template lookups")
+                .tag("prompt", AiMetrics.PROMPT_ROADMAP).tag("model", model)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public String fingerprint(List<SkillGap> gaps) {
+        List<String> pairs = gaps.stream()
+                .map(g -> g.getSkill().getName().trim().toLowerCase(Locale.ROOT) + ":" + g.getGap())
+                .distinct()
+                .sorted()
+                .toList();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((model + "\u0000" + AiService.ROADMAP_PROMPT_VERSION).getBytes(StandardCharsets.UTF_8));
+            for (String pair : pairs) {
+                digest.update((byte) 0);
+                digest.update(pair.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<AiRoadmapResponse> get(String fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Optional<RoadmapTemplate> template = templateRepository.findById(fingerprint)
+                    .filter(t -> t.getExpiresAt().isAfter(LocalDateTime.now()));
+            if (template.isPresent()) {
+                AiRoadmapResponse roadmap = objectMapper.readValue(template.get().getRoadmapJson(),
+                        AiRoadmapResponse.class);
+                templateRepository.recordHit(fingerprint);
+                hits.increment();
+                return Optional.of(roadmap);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read roadmap template {}", fingerprint, e);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Saves (or refreshes an expired) template. Fingerprints already include the
+     * model and prompt version, so overwriting only ever replaces stale content.
+     * Callers only pass complete generations; days without a title and weeks
+     * without days are dropped here so a template replays exactly what was saved.
+     */
+    public void put(String fingerprint, AiRoadmapResponse generated) {
+        if (!enabled) {
+            return;
+        }
+        AiRoadmapResponse roadmap = usableWeeks(generated);
+        if (roadmap.getWeeks().isEmpty()) {
+            return;
+        }
+        try {
+            templateRepository.save(RoadmapTemplate.builder()
+                    .fingerprint(fingerprint)
+                    .model(model)
+                    .promptVersion(AiService.ROADMAP_PROMPT_VERSION)
+                    .roadmapJson(objectMapper.writeValueAsString(roadmap))
+                    .expiresAt(LocalDateTime.now().plus(ttl))
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to persist roadmap template {}", fingerprint, e);
+        }
+    }
+
+    private AiRoadmapResponse usableWeeks(AiRoadmapResponse generated) {
+        List<AiRoadmapResponse.Week> weeks = new ArrayList<>();
+        for (AiRoadmapResponse.Week week : generated.getWeeks() != null ? generated.getWeeks()
+                : List.<AiRoadmapResponse.Week>of()) {
+            if (week.getDays() == null) {
+                continue;
+            }
+            List<AiRoadmapResponse.Day> days = week.getDays().stream()
+                    .filter(day -> day != null && day.getTitle() != null)
+                    .toList();
+            if (!days.isEmpty()) {
+                AiRoadmapResponse.Week copy = new AiRoadmapResponse.Week();
+                copy.setWeekNo(week.getWeekNo());
+                copy.setDays(days);
+                weeks.add(copy);
+            }
+        }
+        AiRoadmapResponse roadmap = new AiRoadmapResponse();
+        roadmap.setWeeks(weeks);
+        return roadmap;
+    }
+}
@@ -0,0 +1,20 @@
+package com.careergate.skill.event;
+
+import com.careergate.entities.Skill;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Published by the skill dictionary with every skill once it has warmed up,
+ * then with each batch of newly created skills. Listeners should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}: a batch is
+ * published inside the creating transaction and only becomes real on commit.
+ * Skills are detached copies.
+ */
+@Data
+@AllArgsConstructor
+public class SkillsAddedEvent {
+    private List<Skill> skills;
+}
@@ -0,0 +1,185 @@
+package com.careergate.skill.service;
+
+import com.careergate.entities.Skill;
+import com.careergate.repositories.SkillRepository;
+import com.careergate.skill.event.SkillsAddedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide map of canonical skill key to skill, warmed from the skills
+ * table at startup. Keys come from {@link SkillNormalizer}, so aliases and
+ * spelling variants ("JS", "Node.js" / "nodejs", "Python 3") land on one skill. Lookups never touch the database; names missing from the
+ * map are created (or picked up if another instance created them) with a single
+ * INSERT ... ON CONFLICT statement per call.
+ *
+ * Returned Skill objects are fresh detached copies, safe to attach to new
+ * UserSkill / JobRequiredSkill / SkillGap rows in any persistence context.
+ * Skills created inside a transaction are returned to that caller at once but
+ * only enter the shared map, and the {@link SkillsAddedEvent}, after commit.
+ */
+@Service
+@Slf4j
+public class SkillDictionary {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Inserted and pre-existing rows come back from one statement: the final SELECT
+    // cannot see rows inserted by the CTE, and the CTE does not return conflicting ones
+    private static final String UPSERT_SQL = """
+            WITH input(name) AS (SELECT DISTINCT unnest(?::text[])),
+            inserted AS (
+                INSERT INTO skills (name)
+                SELECT name FROM input
+                ON CONFLICT (name) DO NOTHING
+                RETURNING id, name
+            )
+            SELECT id, name FROM inserted
+            UNION ALL
+            SELECT s.id, s.name FROM skills s JOIN input i ON s.name = i.name
+            """;
+    private static final String SELECT_SQL = "SELECT id, name FROM skills WHERE name = ANY(?::text[])";
+    private static final RowMapper<Skill> SKILL_ROW = (rs, rowNum) -> Skill.builder()
+            .id(rs.getObject("id", UUID.class))
+            .name(rs.getString("name"))
+            .build();
+
+    private final SkillRepository skillRepository;
+    private final SkillNormalizer normalizer;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Skill> byKey = new ConcurrentHashMap<>();
+
+    public SkillDictionary(SkillRepository skillRepository, SkillNormalizer normalizer, JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher) {
+        this.skillRepository = skillRepository;
+        this.normalizer = normalizer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        normalizer.reload();
+        List<Skill> skills = skillRepository.findAll();
+        for (Skill skill : skills) {
+            byKey.putIfAbsent(normalizer.canonicalKey(skill.getName()), copy(skill));
+        }
+        log.info("Skill dictionary warmed with {} skills", byKey.size());
+        eventPublisher.publishEvent(new SkillsAddedEvent(byKey.values().stream().map(SkillDictionary::copy).toList()));
+    }
+
+    /**
+     * Lower-cased, trimmed, inner whitespace collapsed: " Spring  Boot" and
+     * "spring boot" are the same skill.
+     */
+    public static String normalise(String name) {
+        return WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key under which two names are the same skill; use it to de-duplicate
+     * input before creating rows with a unique skill_id per owner.
+     */
+    public String canonicalKey(String name) {
+        return normalizer.canonicalKey(name);
+    }
+
+    public Optional<Skill> find(String name) {
+        Skill skill = byKey.get(canonicalKey(name));
+        return Optional.ofNullable(skill).map(SkillDictionary::copy);
+    }
+
+    public Skill resolve(String name) {
+        return resolveAll(List.of(name)).get(normalise(name));
+    }
+
+    /**
+     * Resolves every name to its canonical skill, creating the missing ones in
+     * one batched upsert. Keys of the returned map are the normalised input
+     * names, in input order; aliases of one skill map to the same value.
+     */
+    public Map<String, Skill> resolveAll(Collection<String> names) {
+        Map<String, String> keysByInput = new LinkedHashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : names) {
+            String input = normalise(name);
+            if (keysByInput.containsKey(input)) {
+                continue;
+            }
+            String canonical = normalizer.canonicalName(name);
+            String key = SkillNormalizer.compact(canonical);
+            keysByInput.put(input, key);
+            if (!byKey.containsKey(key)) {
+                // New skills keep the repo's convention of upper-case stored names
+                missing.putIfAbsent(key, canonical.toUpperCase(Locale.ROOT));
+            }
+        }
+
+        Map<String, Skill> created = new LinkedHashMap<>();
+        if (!missing.isEmpty()) {
+            String[] storedNames = missing.values().toArray(String[]::new);
+            List<Skill> rows = jdbcTemplate.query(UPSERT_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", storedNames)), SKILL_ROW);
+            if (rows.size() < storedNames.length) {
+                // Lost a race with a concurrent insert that committed after our snapshot
+                rows = jdbcTemplate.query(SELECT_SQL,
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", storedNames)), SKILL_ROW);
+            }
+            List<Skill> added = new ArrayList<>();
+            for (Skill row : rows) {
+                String key = normalizer.canonicalKey(row.getName());
+                if (!byKey.containsKey(key) && created.putIfAbsent(key, row) == null) {
+                    added.add(copy(row));
+                }
+            }
+            if (!added.isEmpty()) {
+                // Listeners, this dictionary included, only see the rows once the caller's transaction commits
+                eventPublisher.publishEvent(new SkillsAddedEvent(added));
+            }
+        }
+
+        Map<String, Skill> resolved = new LinkedHashMap<>();
+        keysByInput.forEach((input, key) -> {
+            Skill skill = byKey.getOrDefault(key, created.get(key));
+            if (skill == null) {
+                throw new IllegalStateException("Could not resolve skill " + input);
+            }
+            resolved.put(input, copy(skill));
+        });
+        return resolved;
+    }
+
+    /**
+     * Makes newly created skills visible to every caller. Runs after the creating
+     * transaction commits, so a rolled-back insert never reaches the cache;
+     * outside a transaction it runs straight away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillsAdded(SkillsAddedEvent event) {
+        for (Skill skill : event.getSkills()) {
+            byKey.putIfAbsent(normalizer.canonicalKey(skill.getName()), copy(skill));
+        }
+    }
+
+    private static Skill copy(Skill skill) {
+        return Skill.builder().id(skill.getId()).name(skill.getName()).build();
+    }
+}
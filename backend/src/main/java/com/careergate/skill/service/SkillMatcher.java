@@ -0,0 +1,160 @@
+package com.careergate.skill.service;
+
+import com.careergate.common.text.AhoCorasick;
+import com.careergate.entities.Skill;
+import com.careergate.skill.event.SkillsAddedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every known skill mentioned in a piece of text in one linear pass,
+ * using an Aho-Corasick automaton over skill names and their aliases.
+ *
+ * The text is lower-cased and whitespace-collapsed on the fly, the same way
+ * skill names are normalised. A match only counts on word boundaries ("Go" is
+ * not found in "Google") and overlapping matches keep the longest one, so
+ * "Spring Boot" is not also counted as "Spring". Single-character names (C, R)
+ * are too ambiguous in free text and are not matched.
+ *
+ * The trie only ever grows: skills created later are inserted into it and the
+ * failure links are recomputed in one breadth-first pass, after which a new
+ * immutable snapshot is published. Scans run lock-free on the current snapshot.
+ */
+@Service
+@Slf4j
+public class SkillMatcher {
+
+    private static final int MIN_PATTERN_LENGTH = 2;
+
+    private final SkillNormalizer normalizer;
+    // Guarded by itself; skills are indexed by pattern id
+    private final AhoCorasick.Builder trie = new AhoCorasick.Builder();
+    private final List<Skill> patternSkills = new ArrayList<>();
+    private volatile Snapshot snapshot = new Snapshot(new AhoCorasick.Builder().build(), new Skill[0]);
+
+    public SkillMatcher(SkillNormalizer normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    // After commit, so text is never matched to a skill row that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillsAdded(SkillsAddedEvent event) {
+        synchronized (trie) {
+            int before = trie.patternCount();
+            for (Skill skill : event.getSkills()) {
+                String name = SkillDictionary.normalise(skill.getName());
+                addPattern(name, skill);
+                for (String alias : normalizer.aliasesOf(normalizer.canonicalName(name))) {
+                    addPattern(alias, skill);
+                }
+            }
+            int added = trie.patternCount() - before;
+            if (added > 0) {
+                long start = System.nanoTime();
+                snapshot = new Snapshot(trie.build(), patternSkills.toArray(new Skill[0]));
+                log.debug("Skill matcher rebuilt with {} new patterns ({} states) in {} us", added,
+                        trie.stateCount(), (System.nanoTime() - start) / 1000);
+            }
+        }
+    }
+
+    // The first skill to claim a spelling keeps it
+    private void addPattern(String text, Skill skill) {
+        if (text.length() >= MIN_PATTERN_LENGTH && trie.add(text) == patternSkills.size()) {
+            patternSkills.add(skill);
+        }
+    }
+
+    /**
+     * Skills mentioned in the text with their occurrence counts, in order of
+     * first mention.
+     */
+    public Map<Skill, Integer> extract(String text) {
+        Map<Skill, Integer> found = new LinkedHashMap<>();
+        if (text == null || text.isEmpty()) {
+            return found;
+        }
+        Snapshot current = snapshot;
+        AhoCorasick automaton = current.automaton;
+        char[] buffer = normalise(text);
+
+        // Matches arrive ordered by end position; an overlapping longer match replaces the previous one
+        int keptPattern = -1;
+        int keptStart = -1;
+        int keptEnd = -1;
+        int state = AhoCorasick.ROOT;
+        for (int i = 0; i < buffer.length; i++) {
+            state = automaton.next(state, buffer[i]);
+            for (int s = automaton.output(state); s != AhoCorasick.ROOT; s = automaton.nextOutput(s)) {
+                int p = automaton.patternOf(s);
+                int start = i - automaton.patternLength(p) + 1;
+                if (!onWordBoundary(buffer, start, i)) {
+                    continue;
+                }
+                if (keptPattern >= 0 && start <= keptEnd) {
+                    if (i - start > keptEnd - keptStart) {
+                        keptPattern = p;
+                        keptStart = start;
+                        keptEnd = i;
+                    }
+                    continue;
+                }
+                if (keptPattern >= 0) {
+                    found.merge(current.skills[keptPattern], 1, Integer::sum);
+                }
+                keptPattern = p;
+                keptStart = start;
+                keptEnd = i;
+            }
+        }
+        if (keptPattern >= 0) {
+            found.merge(current.skills[keptPattern], 1, Integer::sum);
+        }
+        return found;
+    }
+
+    private static char[] normalise(String text) {
+        char[] buffer = new char[text.length()];
+        int length = 0;
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!space) {
+                    buffer[length++] = ' ';
+                    space = true;
+                }
+            } else {
+                buffer[length++] = Character.toLowerCase(c);
+                space = false;
+            }
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    // Boundaries only apply at alphanumeric edges, so ".net" still matches in "asp.net"
+    private static boolean onWordBoundary(char[] buffer, int start, int end) {
+        if (Character.isLetterOrDigit(buffer[start]) && start > 0 && Character.isLetterOrDigit(buffer[start - 1])) {
+            return false;
+        }
+        return !(Character.isLetterOrDigit(buffer[end]) && end + 1 < buffer.length
+                && Character.isLetterOrDigit(buffer[end + 1]));
+    }
+
+    private static final class Snapshot {
+        private final AhoCorasick automaton;
+        private final Skill[] skills;
+
+        Snapshot(AhoCorasick automaton, Skill[] skills) {
+            this.automaton = automaton;
+            this.skills = skills;
+        }
+    }
+}
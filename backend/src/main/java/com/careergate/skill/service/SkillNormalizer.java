@@ -0,0 +1,128 @@
+package com.careergate.skill.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Maps free-text skill names to canonical names using the skill_aliases table
+ * and a few token rules:
+ *
+ * 1. normalise case and whitespace ("  JavaScript " -> "javascript")
+ * 2. compare with separators removed, so "Node.js", "nodejs" and "node js" meet
+ * 3. apply an alias ("JS" -> "javascript", "k8s" -> "kubernetes")
+ * 4. otherwise drop a trailing version ("Python 3.11", "Java 17", "Angular v15.x")
+ *
+ * Aliases are loaded once into two parallel sorted arrays searched with binary
+ * search; there are only a few hundred of them, so this is smaller and faster
+ * to build than a hash map and the lookup is allocation free apart from the key.
+ */
+@Service
+@Slf4j
+public class SkillNormalizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s._/-]");
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("\\s+(v?\\d+(\\.\\d+)*(\\.x)?|es\\d{1,4})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile AliasIndex aliases = new AliasIndex(new String[0], new String[0]);
+    private volatile Map<String, List<String>> aliasesByCanonical = Map.of();
+
+    public SkillNormalizer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reloads the alias table. Called by {@link SkillDictionary} before it warms
+     * up, since dictionary keys depend on the aliases.
+     */
+    public void reload() {
+        List<String[]> rows = jdbcTemplate.query("SELECT alias, canonical_name FROM skill_aliases",
+                (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2) });
+
+        // Canonical names map to themselves, so their separator-free forms resolve too
+        TreeMap<String, String> sorted = new TreeMap<>();
+        Map<String, List<String>> byCanonical = new HashMap<>();
+        for (String[] row : rows) {
+            String canonical = SkillDictionary.normalise(row[1]);
+            sorted.putIfAbsent(compact(canonical), canonical);
+        }
+        for (String[] row : rows) {
+            String alias = SkillDictionary.normalise(row[0]);
+            String canonical = SkillDictionary.normalise(row[1]);
+            sorted.putIfAbsent(compact(alias), canonical);
+            byCanonical.computeIfAbsent(canonical, c -> new ArrayList<>()).add(alias);
+        }
+
+        String[] keys = new String[sorted.size()];
+        String[] values = new String[sorted.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        this.aliases = new AliasIndex(keys, values);
+        this.aliasesByCanonical = byCanonical;
+        log.info("Loaded {} skill aliases", keys.length);
+    }
+
+    /**
+     * Canonical, normalised name for a free-text skill.
+     */
+    public String canonicalName(String text) {
+        String name = SkillDictionary.normalise(text);
+        String aliased = aliases.lookup(compact(name));
+        if (aliased != null) {
+            return aliased;
+        }
+        String unversioned = VERSION_SUFFIX.matcher(name).replaceFirst("");
+        if (unversioned.isEmpty() || unversioned.equals(name)) {
+            return name;
+        }
+        aliased = aliases.lookup(compact(unversioned));
+        return aliased != null ? aliased : unversioned;
+    }
+
+    /**
+     * Normalised spellings listed as aliases of a canonical name, for matchers
+     * that need the literal text rather than a lookup.
+     */
+    public List<String> aliasesOf(String canonicalName) {
+        return aliasesByCanonical.getOrDefault(canonicalName, List.of());
+    }
+
+    /**
+     * Identity of a skill: its canonical name with separators removed.
+     */
+    public String canonicalKey(String text) {
+        return compact(canonicalName(text));
+    }
+
+    static String compact(String normalised) {
+        return SEPARATORS.matcher(normalised).replaceAll("");
+    }
+
+    private static final class AliasIndex {
+
+        private final String[] keys;
+        private final String[] values;
+
+        AliasIndex(String[] keys, String[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        String lookup(String key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? values[index] : null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.careergate.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes a candidate's experience or
+ * rated skills.
+ */
+@Data
+@AllArgsConstructor
+public class ProfileChangedEvent {
+    private UUID userId;
+}
@@ -0,0 +1,15 @@
+package com.careergate.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that stores a candidate's new resume text.
+ */
+@Data
+@AllArgsConstructor
+public class ResumeUploadedEvent {
+    private UUID userId;
+}
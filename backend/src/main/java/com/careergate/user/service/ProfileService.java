@@ -5,8 +5,13 @@ import com.careergate.dto.user.ProfileResponse;
 import com.careergate.dto.user.SkillRequest;
 import com.careergate.entities.*;
 import com.careergate.repositories.*;
+import com.careergate.skill.service.SkillDictionary;
+import com.careergate.skill.service.SkillMatcher;
+import com.careergate.user.event.ProfileChangedEvent;
+import com.careergate.user.event.ResumeUploadedEvent;
 import org.apache.tika.Tika;
 import org.apache.tika.exception.TikaException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,19 +25,29 @@ public class ProfileService {
 
     private final UserProfileRepository profileRepository;
     private final UserRepository userRepository;
-    private final SkillRepository skillRepository;
+    private final SkillDictionary skillDictionary;
     private final UserSkillRepository userSkillRepository;
     private final com.careergate.common.service.MinioService minioService;
+    private final ResumeTextCompactor resumeTextCompactor;
+    private final SkillMatcher skillMatcher;
+    private final ResumeSkillRepository resumeSkillRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Tika tika = new Tika();
 
     public ProfileService(UserProfileRepository profileRepository, UserRepository userRepository,
-            SkillRepository skillRepository, UserSkillRepository userSkillRepository,
-            com.careergate.common.service.MinioService minioService) {
+            SkillDictionary skillDictionary, UserSkillRepository userSkillRepository,
+            com.careergate.common.service.MinioService minioService,
+            ResumeTextCompactor resumeTextCompactor, SkillMatcher skillMatcher,
+            ResumeSkillRepository resumeSkillRepository, ApplicationEventPublisher eventPublisher) {
         this.profileRepository = profileRepository;
         this.userRepository = userRepository;
-        this.skillRepository = skillRepository;
+        this.skillDictionary = skillDictionary;
         this.userSkillRepository = userSkillRepository;
         this.minioService = minioService;
+        this.resumeTextCompactor = resumeTextCompactor;
+        this.skillMatcher = skillMatcher;
+        this.resumeSkillRepository = resumeSkillRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ProfileResponse getProfile(String email) {
@@ -41,6 +56,7 @@ public class ProfileService {
                 .orElse(UserProfile.builder().user(user).build());
 
         List<UserSkill> userSkills = userSkillRepository.findByUserId(user.getId());
+        List<ResumeSkill> resumeSkills = resumeSkillRepository.findByUserIdOrderByOccurrencesDesc(user.getId());
 
         return ProfileResponse.builder()
                 .totalExperience(profile.getTotalExperience())
@@ -53,6 +69,10 @@ public class ProfileService {
                         .skill(us.getSkill().getName())
                         .rating(us.getRating())
                         .build()).collect(Collectors.toList()))
+                .resumeSkills(resumeSkills.stream().map(rs -> ProfileResponse.ResumeSkillResponse.builder()
+                        .skill(rs.getSkill().getName())
+                        .occurrences(rs.getOccurrences())
+                        .build()).collect(Collectors.toList()))
                 .build();
     }
 
@@ -68,6 +88,7 @@ public class ProfileService {
         profile.setNoticePeriodDays(request.getNoticePeriodDays());
 
         profileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(user.getId()));
     }
 
     @Transactional
@@ -79,27 +100,31 @@ public class ProfileService {
         userSkillRepository.deleteByUserId(user.getId());
         userSkillRepository.flush();
 
-        // Filter duplicates by skill name (case-insensitive) to prevent multiple
-        // insertions in the same transaction
+        // Filter duplicates by canonical skill ("JS" and "JavaScript" are one skill)
+        // to prevent multiple insertions in the same transaction
         java.util.Map<String, SkillRequest> uniqueSkills = new java.util.LinkedHashMap<>();
         for (SkillRequest req : requests) {
-            uniqueSkills.put(req.getSkill().toLowerCase(), req);
+            uniqueSkills.put(skillDictionary.canonicalKey(req.getSkill()), req);
         }
 
-        for (SkillRequest req : uniqueSkills.values()) {
-            Skill skill = skillRepository.findByNameIgnoreCase(req.getSkill())
-                    .orElseGet(() -> {
-                        Skill newSkill = Skill.builder().name(req.getSkill().toUpperCase()).build();
-                        return skillRepository.saveAndFlush(newSkill);
-                    });
+        java.util.Map<String, Skill> skills = skillDictionary.resolveAll(uniqueSkills.values().stream()
+                .map(SkillRequest::getSkill)
+                .toList());
 
-            UserSkill userSkill = UserSkill.builder()
+        List<UserSkill> userSkills = new java.util.ArrayList<>();
+        for (SkillRequest req : uniqueSkills.values()) {
+            userSkills.add(UserSkill.builder()
                     .user(user)
-                    .skill(skill)
+                    .skill(skills.get(SkillDictionary.normalise(req.getSkill())))
                     .rating(req.getRating())
-                    .build();
-            userSkillRepository.save(userSkill);
+                    .build());
         }
+        userSkillRepository.saveAll(userSkills);
+        // Skills are part of the profile: the bump makes analyses that read the old skills fail their
+        // updated_at check instead of saving a stale result
+        profileRepository.findByUserId(user.getId())
+                .ifPresent(profile -> profile.setUpdatedAt(java.time.LocalDateTime.now()));
+        eventPublisher.publishEvent(new ProfileChangedEvent(user.getId()));
     }
 
     @Transactional
@@ -112,14 +137,32 @@ public class ProfileService {
             // 1. Parse text for AI analysis
             String content = tika.parseToString(file.getInputStream());
             profile.setResumeText(content);
+            // Compact once here so every later analysis sends the smaller prompt
+            profile.setCompactResumeText(resumeTextCompactor.compact(content));
+            saveResumeSkills(user, content);
 
             // 2. Upload to MinIO for storage
             String minioKey = minioService.uploadFile(file);
             profile.setResumeFilePath(minioKey);
 
+            profileRepository.clearResumeEmbedding(user.getId());
             profileRepository.save(profile);
+            eventPublisher.publishEvent(new ResumeUploadedEvent(user.getId()));
         } catch (TikaException e) {
             throw new RuntimeException("Failed to parse resume: " + e.getMessage());
         }
     }
+
+    private void saveResumeSkills(User user, String resumeText) {
+        resumeSkillRepository.deleteByUserId(user.getId());
+        resumeSkillRepository.flush();
+
+        List<ResumeSkill> resumeSkills = new java.util.ArrayList<>();
+        skillMatcher.extract(resumeText).forEach((skill, occurrences) -> resumeSkills.add(ResumeSkill.builder()
+                .user(user)
+                .skill(skill)
+                .occurrences(occurrences)
+                .build()));
+        resumeSkillRepository.saveAll(resumeSkills);
+    }
 }
@@ -0,0 +1,160 @@
+package com.careergate.user.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks Tika resume output before it is sent to the LLM: normalises
+ * whitespace, drops page furniture and repeated header/footer lines, removes
+ * sections that never affect a job match (references, hobbies, declarations...)
+ * and truncates to a token budget. A line that does not fit whole is cut at a
+ * word boundary, as Tika often emits a paragraph or a whole page as one line.
+ *
+ * Only boilerplate is deduplicated: repeats of contact lines, of the first line
+ * (usually the candidate's name) and of header lines that follow other dropped
+ * lines, as a page header repeats as a block. Job titles and bullets that
+ * legitimately occur more than once are kept.
+ *
+ * Token counts are estimated at four characters per token, which is close
+ * enough for budgeting English text.
+ */
+@Service
+public class ResumeTextCompactor {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[\\h\\x0B\\f]+");
+    private static final Pattern PAGE_FURNITURE = Pattern.compile(
+            "(?i)^(page\\s*\\d+(\\s*(of|/)\\s*\\d+)?|\\d{1,3}|-\\s*\\d+\\s*-|curriculum vitae|resume|r[e\\u00e9]sum[e\\u00e9]"
+                    + "|references available (up)?on request\\.?)$");
+    private static final Pattern HEADING = Pattern.compile("^[\\p{L} &/]{3,40}:?$");
+    private static final Pattern CONTACT = Pattern.compile(
+            "(?i)[\\w.+-]+@[\\w-]+\\.[\\w.]+|https?://|www\\.|linkedin\\.com|github\\.com|\\+?\\d(?:[ ()-]?\\d){8,}");
+
+    private static final Set<String> DROPPED_SECTIONS = Set.of(
+            "references", "reference", "hobbies", "hobbies and interests", "interests", "personal interests",
+            "declaration", "personal details", "personal information", "personal profile", "personal data");
+    private static final Set<String> KEPT_SECTIONS = Set.of(
+            "summary", "professional summary", "profile", "objective", "career objective", "experience",
+            "work experience", "professional experience", "employment history", "skills", "technical skills",
+            "key skills", "core competencies", "projects", "key projects", "education", "certifications",
+            "certificates", "achievements", "awards", "publications", "languages");
+
+    private final int maxTokens;
+    private final DistributionSummary savedTokens;
+
+    public ResumeTextCompactor(MeterRegistry meterRegistry,
+            @Value("${careergate.resume.compaction.max-tokens:1500}") int maxTokens) {
+        this.maxTokens = maxTokens;
+        this.savedTokens = DistributionSummary.builder("careergate.resume.compaction.tokens.saved")
+                .description("Estimated prompt tokens removed from a resume by compaction")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    public String compact(String resumeText) {
+        if (resumeText == null) {
+            return null;
+        }
+
+        StringBuilder out = new StringBuilder(Math.min(resumeText.length(), maxTokens * CHARS_PER_TOKEN));
+        Set<String> seen = new HashSet<>();
+        // Lines above the first section heading: name, title and contact details
+        Set<String> headerLines = new HashSet<>();
+        String firstLine = null;
+        boolean inHeader = true;
+        boolean previousDropped = false;
+        int budget = maxTokens * CHARS_PER_TOKEN;
+        boolean skippingSection = false;
+
+        for (String rawLine : resumeText.split("\\R")) {
+            String line = HORIZONTAL_WHITESPACE.matcher(rawLine).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (PAGE_FURNITURE.matcher(line).matches()) {
+                previousDropped = true;
+                continue;
+            }
+            String key = line.toLowerCase(Locale.ROOT);
+            if (firstLine == null) {
+                firstLine = key;
+            }
+
+            if (HEADING.matcher(line).matches()) {
+                String heading = line.replace(":", "").trim().toLowerCase(Locale.ROOT);
+                if (DROPPED_SECTIONS.contains(heading)) {
+                    inHeader = false;
+                    skippingSection = true;
+                    continue;
+                }
+                if (KEPT_SECTIONS.contains(heading)) {
+                    inHeader = false;
+                    skippingSection = false;
+                }
+            }
+            if (skippingSection) {
+                continue;
+            }
+            if (inHeader) {
+                headerLines.add(key);
+            }
+
+            boolean repeated = !seen.add(key);
+            if (repeated && (CONTACT.matcher(line).find() || key.equals(firstLine)
+                    || previousDropped && headerLines.contains(key))) {
+                previousDropped = true;
+                continue;
+            }
+            previousDropped = false;
+
+            if (out.length() + line.length() + 1 > budget) {
+                String head = fittingHead(line, budget - out.length() - (out.length() > 0 ? 1 : 0), out.length() == 0);
+                if (!head.isEmpty()) {
+                    if (out.length() > 0) {
+                        out.append('\n');
+                    }
+                    out.append(head);
+                }
+                break;
+            }
+            if (out.length() > 0) {
+                out.append('\n');
+            }
+            out.append(line);
+        }
+        return out.toString();
+    }
+
+    // The longest prefix of line within room chars that ends at a word boundary;
+    // a single overlong word is only cut mid-word when nothing else was kept
+    private static String fittingHead(String line, int room, boolean nothingKept) {
+        if (room <= 0) {
+            return "";
+        }
+        int end = line.charAt(room) == ' ' ? room : line.lastIndexOf(' ', room - 1);
+        if (end <= 0) {
+            return nothingKept ? line.substring(0, room) : "";
+        }
+        return line.substring(0, end).stripTrailing();
+    }
+
+    public int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Records how many prompt tokens one request saved by sending the compacted
+     * resume instead of the raw text.
+     */
+    public void recordSavings(String original, String compacted) {
+        savedTokens.record(Math.max(0, estimateTokens(original) - estimateTokens(compacted)));
+    }
+}
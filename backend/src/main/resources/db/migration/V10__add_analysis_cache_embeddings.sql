@@ -0,0 +1,8 @@
+-- Embeddings for near-duplicate lookups in the AI analysis cache. Only entries
+-- with the same skills_hash (required + self-reported skills) are comparable.
+ALTER TABLE ai_analysis_cache ADD COLUMN IF NOT EXISTS skills_hash VARCHAR(64);
+ALTER TABLE ai_analysis_cache ADD COLUMN IF NOT EXISTS resume_embedding vector(512);
+ALTER TABLE ai_analysis_cache ADD COLUMN IF NOT EXISTS job_embedding vector(512);
+
+CREATE INDEX IF NOT EXISTS idx_ai_analysis_cache_resume_embedding
+    ON ai_analysis_cache USING hnsw (resume_embedding vector_cosine_ops);
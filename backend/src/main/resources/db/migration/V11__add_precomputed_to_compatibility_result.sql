@@ -0,0 +1,2 @@
+-- Results computed speculatively when a job is posted, before the candidate asked
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS precomputed BOOLEAN NOT NULL DEFAULT FALSE;
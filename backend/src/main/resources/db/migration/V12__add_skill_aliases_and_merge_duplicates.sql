@@ -0,0 +1,128 @@
+-- Free-text skill aliases. Both columns hold normalised (lower-case, single-spaced)
+-- names; lookups compare them with spaces, dots, dashes, underscores and slashes
+-- removed, so "Node.js", "nodejs" and "node js" need only one row.
+CREATE TABLE IF NOT EXISTS skill_aliases (
+    alias VARCHAR(100) PRIMARY KEY,
+    canonical_name VARCHAR(100) NOT NULL
+);
+
+INSERT INTO skill_aliases (alias, canonical_name) VALUES
+    ('js', 'javascript'),
+    ('javascript es6', 'javascript'),
+    ('es6', 'javascript'),
+    ('ecmascript', 'javascript'),
+    ('vanilla js', 'javascript'),
+    ('ts', 'typescript'),
+    ('node', 'node.js'),
+    ('reactjs', 'react'),
+    ('react js', 'react'),
+    ('vue', 'vue.js'),
+    ('angularjs', 'angular'),
+    ('nextjs', 'next.js'),
+    ('expressjs', 'express'),
+    ('spring boot', 'spring boot'),
+    ('spring framework', 'spring'),
+    ('postgres', 'postgresql'),
+    ('psql', 'postgresql'),
+    ('mongo', 'mongodb'),
+    ('mssql', 'sql server'),
+    ('microsoft sql server', 'sql server'),
+    ('k8s', 'kubernetes'),
+    ('amazon web services', 'aws'),
+    ('gcp', 'google cloud'),
+    ('google cloud platform', 'google cloud'),
+    ('azure cloud', 'azure'),
+    ('microsoft azure', 'azure'),
+    ('golang', 'go'),
+    ('py', 'python'),
+    ('csharp', 'c#'),
+    ('c sharp', 'c#'),
+    ('cpp', 'c++'),
+    ('ml', 'machine learning'),
+    ('dl', 'deep learning'),
+    ('dsa', 'data structures and algorithms'),
+    ('html5', 'html'),
+    ('css3', 'css'),
+    ('restful', 'rest'),
+    ('rest api', 'rest'),
+    ('rest apis', 'rest'),
+    ('restful api', 'rest'),
+    ('ci cd', 'ci/cd'),
+    ('cicd', 'ci/cd'),
+    ('oop', 'object oriented programming'),
+    ('oops', 'object oriented programming')
+ON CONFLICT (alias) DO NOTHING;
+
+-- One-off merge of existing duplicates. Every skill is mapped to a canonical key
+-- (version suffix dropped, alias applied, separators removed); each key keeps one
+-- survivor and all references move to it.
+CREATE TEMP TABLE skill_merge AS
+WITH base AS (
+    SELECT id, name,
+           regexp_replace(regexp_replace(lower(trim(name)), '\s+', ' ', 'g'),
+                          '\s+(v?\d+(\.\d+)*(\.x)?|es\d{1,4})$', '') AS base_name
+    FROM skills
+),
+-- Several aliases can strip to the same key ('react js' / 'reactjs'); DISTINCT ON keeps
+-- one row per skill, otherwise the joins below would see a skill's references twice
+-- and the de-duplication would delete rows that have no real duplicate
+keyed AS (
+    SELECT DISTINCT ON (b.id) b.id, b.name, COALESCE(a.canonical_name, b.base_name) AS canonical_name
+    FROM base b
+    LEFT JOIN skill_aliases a
+        ON regexp_replace(a.alias, '[\s._/-]', '', 'g') = regexp_replace(b.base_name, '[\s._/-]', '', 'g')
+    ORDER BY b.id, a.canonical_name
+)
+SELECT k.id AS skill_id,
+       k.canonical_name,
+       FIRST_VALUE(k.id) OVER (
+           PARTITION BY regexp_replace(k.canonical_name, '[\s._/-]', '', 'g')
+           ORDER BY (upper(k.name) = upper(k.canonical_name)) DESC, k.name, k.id) AS survivor_id
+FROM keyed k;
+
+ALTER TABLE skill_merge ADD PRIMARY KEY (skill_id);
+
+-- A user keeps their highest rating, a job its highest requirement
+DELETE FROM user_skills us
+USING (
+    SELECT s.id, ROW_NUMBER() OVER (
+               PARTITION BY s.user_id, m.survivor_id
+               ORDER BY s.rating DESC NULLS LAST, (s.skill_id = m.survivor_id) DESC) AS rn
+    FROM user_skills s JOIN skill_merge m ON m.skill_id = s.skill_id
+) ranked
+WHERE us.id = ranked.id AND ranked.rn > 1;
+
+UPDATE user_skills us SET skill_id = m.survivor_id
+FROM skill_merge m
+WHERE us.skill_id = m.skill_id AND m.skill_id <> m.survivor_id;
+
+DELETE FROM job_required_skills jrs
+USING (
+    SELECT r.id, ROW_NUMBER() OVER (
+               PARTITION BY r.job_id, m.survivor_id
+               ORDER BY r.min_rating DESC NULLS LAST, (r.skill_id = m.survivor_id) DESC) AS rn
+    FROM job_required_skills r JOIN skill_merge m ON m.skill_id = r.skill_id
+) ranked
+WHERE jrs.id = ranked.id AND ranked.rn > 1;
+
+UPDATE job_required_skills jrs SET skill_id = m.survivor_id
+FROM skill_merge m
+WHERE jrs.skill_id = m.skill_id AND m.skill_id <> m.survivor_id;
+
+UPDATE skill_gap_analysis g SET skill_id = m.survivor_id
+FROM skill_merge m
+WHERE g.skill_id = m.skill_id AND m.skill_id <> m.survivor_id;
+
+DELETE FROM skills s
+USING skill_merge m
+WHERE s.id = m.skill_id AND m.skill_id <> m.survivor_id;
+
+-- Survivors that were only an alias or a versioned name take the canonical name
+UPDATE skills s SET name = upper(m.canonical_name)
+FROM skill_merge m
+WHERE s.id = m.survivor_id
+  AND m.skill_id = m.survivor_id
+  AND upper(s.name) <> upper(m.canonical_name)
+  AND NOT EXISTS (SELECT 1 FROM skills o WHERE o.name = upper(m.canonical_name));
+
+DROP TABLE skill_merge;
@@ -0,0 +1,12 @@
+-- Skills detected in the uploaded resume text, with how often each was mentioned.
+-- Replaced on every upload; independent of the self-rated user_skills.
+CREATE TABLE IF NOT EXISTS resume_skills (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    skill_id UUID NOT NULL REFERENCES skills(id) ON DELETE CASCADE,
+    occurrences INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_resume_skill UNIQUE (user_id, skill_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resume_skills_skill ON resume_skills(skill_id);
@@ -0,0 +1,17 @@
+-- Job search: trigram indexes for the keyword filter (LIKE '%kw%' on the
+-- lower-cased columns) and one (sort column, id) index per keyset sort order.
+-- Each index has the null ordering its sort uses (JobSort), or Postgres cannot
+-- scan it in order: max_ctc and min_experience sort nulls last; created_at is
+-- always set, so as a NOT NULL column it keeps the default null ordering and
+-- OLDEST walks idx_jobs_created_at_id backwards.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_title_trgm ON jobs USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_jobs_company_name_trgm ON jobs USING gin (lower(company_name) gin_trgm_ops);
+
+UPDATE jobs SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE jobs ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_created_at_id ON jobs (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_max_ctc_id ON jobs (max_ctc DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_min_experience_id ON jobs (min_experience ASC NULLS LAST, id ASC);
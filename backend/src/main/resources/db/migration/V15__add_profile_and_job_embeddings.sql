@@ -0,0 +1,10 @@
+-- Embeddings for natural-language candidate search. A NULL embedding means
+-- "not embedded yet or source text changed"; the background refresher fills
+-- them in. Width matches careergate.embedding.provider (hashed-ngram: 512).
+ALTER TABLE user_profile ADD COLUMN IF NOT EXISTS resume_embedding vector(512);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS embedding vector(512);
+
+CREATE INDEX IF NOT EXISTS idx_user_profile_resume_embedding
+    ON user_profile USING hnsw (resume_embedding vector_cosine_ops);
+CREATE INDEX IF NOT EXISTS idx_jobs_embedding
+    ON jobs USING hnsw (embedding vector_cosine_ops);
@@ -0,0 +1,15 @@
+-- Full-text search over jobs and resumes. The tsvectors are generated columns,
+-- so every write keeps them current without triggers or application code.
+-- Job titles rank above company names, which rank above the description.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(company_name, '')), 'B')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+ALTER TABLE user_profile ADD COLUMN IF NOT EXISTS resume_search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(resume_text, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_search_vector ON jobs USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_user_profile_resume_search_vector ON user_profile USING gin (resume_search_vector);
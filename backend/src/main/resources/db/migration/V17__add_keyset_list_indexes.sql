@@ -0,0 +1,14 @@
+-- Keyset pagination of the per-owner lists: each page is a range scan of
+-- (owner, sort column, id) that starts where the previous page ended.
+--
+-- applied_at is always set, like jobs.created_at (V14); as a NOT NULL column it
+-- sorts with the default null ordering, so one DESC index serves both directions.
+UPDATE job_applications SET applied_at = CURRENT_TIMESTAMP WHERE applied_at IS NULL;
+ALTER TABLE job_applications ALTER COLUMN applied_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_job_applications_candidate_applied_at_id
+    ON job_applications (candidate_id, applied_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_job_applications_job_applied_at_id
+    ON job_applications (job_id, applied_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_recruiter_created_at_id
+    ON jobs (recruiter_id, created_at DESC, id DESC);
@@ -0,0 +1,36 @@
+-- Candidate dashboard statistics, maintained in the same transaction as the
+-- compatibility results and roadmaps they summarise, so that the dashboard
+-- reads one row by primary key. Averages are stored as sum and count.
+--
+-- Only non-precomputed results count, as before. CandidateStatsService
+-- rebuilds the table on a schedule to correct any drift.
+CREATE TABLE IF NOT EXISTS candidate_stats (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    compatibility_sum BIGINT NOT NULL DEFAULT 0,
+    compatibility_count INTEGER NOT NULL DEFAULT 0,
+    skill_score_sum BIGINT NOT NULL DEFAULT 0,
+    skill_score_count INTEGER NOT NULL DEFAULT 0,
+    jobs_evaluated INTEGER NOT NULL DEFAULT 0,
+    roadmap_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO candidate_stats (user_id, compatibility_sum, compatibility_count, skill_score_sum,
+        skill_score_count, jobs_evaluated, roadmap_count)
+SELECT u.id,
+       COALESCE(c.compatibility_sum, 0), COALESCE(c.compatibility_count, 0),
+       COALESCE(c.skill_score_sum, 0), COALESCE(c.skill_score_count, 0),
+       COALESCE(c.jobs_evaluated, 0), COALESCE(r.roadmap_count, 0)
+FROM users u
+LEFT JOIN (SELECT user_id,
+                  SUM(compatibility_score) AS compatibility_sum, COUNT(compatibility_score) AS compatibility_count,
+                  SUM(skill_match_score) AS skill_score_sum, COUNT(skill_match_score) AS skill_score_count,
+                  COUNT(DISTINCT job_id) AS jobs_evaluated
+           FROM job_compatibility_result
+           WHERE precomputed = false
+           GROUP BY user_id) c ON c.user_id = u.id
+LEFT JOIN (SELECT user_id, COUNT(*) AS roadmap_count
+           FROM learning_roadmap
+           GROUP BY user_id) r ON r.user_id = u.id
+WHERE c.user_id IS NOT NULL OR r.user_id IS NOT NULL
+ON CONFLICT (user_id) DO NOTHING;
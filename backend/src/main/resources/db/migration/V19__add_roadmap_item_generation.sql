@@ -0,0 +1,6 @@
+-- Streamed roadmap items are written under a generation id and only replace
+-- the live items (generation IS NULL) once the stream completes, so a failed
+-- or concurrent regeneration never wipes or interleaves with the current roadmap.
+ALTER TABLE roadmap_items ADD COLUMN IF NOT EXISTS generation UUID;
+
+CREATE INDEX IF NOT EXISTS idx_roadmap_items_roadmap_generation ON roadmap_items (roadmap_id, generation);
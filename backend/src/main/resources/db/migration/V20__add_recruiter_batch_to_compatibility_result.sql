@@ -0,0 +1,4 @@
+-- Results produced by a recruiter's batch scoring are kept apart from the
+-- candidate's own analyses: one row per (candidate, job) is reused across
+-- batch runs, and they do not count towards the candidate's dashboard stats.
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS recruiter_batch BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,9 @@
+-- Near-duplicate lookups compare only entries with the same skills_hash, which
+-- is scoped to one candidate. A btree on it finds that small set directly; the
+-- HNSW index returned the nearest resumes across all users first and filtered
+-- afterwards, so a candidate's own entries could fall outside its window.
+CREATE INDEX IF NOT EXISTS idx_ai_analysis_cache_skills_hash_model
+    ON ai_analysis_cache (skills_hash, model)
+    WHERE skills_hash IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_ai_analysis_cache_resume_embedding;
@@ -0,0 +1,11 @@
+-- Asynchronous analyses belong to the instance whose in-memory queue holds
+-- them. The owner refreshes heartbeat_at while a row is PENDING or RUNNING; a
+-- row whose heartbeat has gone stale belonged to an instance that stopped, and
+-- another instance may claim it. Rows from before this change have no owner and
+-- count as stale.
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(64);
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_compatibility_unfinished_heartbeat
+    ON job_compatibility_result (heartbeat_at NULLS FIRST)
+    WHERE status IN ('PENDING', 'RUNNING');
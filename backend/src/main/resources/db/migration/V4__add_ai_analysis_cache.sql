@@ -0,0 +1,9 @@
+-- Content-addressed cache of AI resume analyses (key = SHA-256 of prompt inputs + model)
+CREATE TABLE IF NOT EXISTS ai_analysis_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    model VARCHAR(255) NOT NULL,
+    response_json TEXT NOT NULL,
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at TIMESTAMP
+);
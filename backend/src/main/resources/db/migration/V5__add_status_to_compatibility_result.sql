@@ -0,0 +1,6 @@
+-- Track asynchronous compatibility analysis state
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS error_message TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_compatibility_user_job_status
+    ON job_compatibility_result (user_id, job_id, status, evaluated_at DESC);
@@ -0,0 +1,3 @@
+-- Record whether a compatibility result came from the LLM or the local scorer
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS analysis_source VARCHAR(20);
+UPDATE job_compatibility_result SET analysis_source = 'AI' WHERE analysis_source IS NULL AND status = 'COMPLETED';
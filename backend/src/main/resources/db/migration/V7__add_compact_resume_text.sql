@@ -0,0 +1,2 @@
+-- Compacted resume text sent to the LLM (raw Tika output stays in resume_text)
+ALTER TABLE user_profile ADD COLUMN IF NOT EXISTS resume_text_compact TEXT;
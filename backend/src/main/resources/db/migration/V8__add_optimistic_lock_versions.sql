@@ -0,0 +1,3 @@
+-- Optimistic lock versions for rows written after a connection-free LLM phase
+ALTER TABLE job_compatibility_result ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE learning_roadmap ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Reusable roadmaps keyed by a fingerprint of the sorted (skill, gap level) set,
+-- the model and the roadmap prompt version; rows past expires_at are regenerated
+CREATE TABLE IF NOT EXISTS roadmap_template (
+    fingerprint VARCHAR(64) PRIMARY KEY,
+    model VARCHAR(255) NOT NULL,
+    prompt_version INT NOT NULL,
+    roadmap_json TEXT NOT NULL,
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    last_hit_at TIMESTAMP
+);
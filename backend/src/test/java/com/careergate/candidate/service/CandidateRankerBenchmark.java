@@ -0,0 +1,113 @@
+package com.careergate.candidate.service;
+
+import com.careergate.compatibility.service.LocalCompatibilityScorer;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import com.careergate.entities.Skill;
+import com.careergate.entities.UserSkill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top 50 candidates for a job: {@link CandidateRanker} against scoring every
+ * candidate's entities with {@link LocalCompatibilityScorer} and sorting.
+ *
+ * Run with {@code main} from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateRankerBenchmark {
+
+    private static final int LIMIT = 50;
+
+    @Param({ "10000", "100000" })
+    private int candidates;
+
+    private final LocalCompatibilityScorer scorer = new LocalCompatibilityScorer(true, 35);
+    private final Map<UUID, BigDecimal> experience = new LinkedHashMap<>();
+    private final Map<UUID, List<UserSkill>> userSkills = new HashMap<>();
+    private List<JobRequiredSkill> required;
+    private Map<UUID, Integer> requiredRatings;
+    private Job job;
+    private CandidateRanker ranker;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            skills.add(Skill.builder().id(UUID.randomUUID()).name("SKILL" + i).build());
+        }
+        for (int i = 0; i < candidates; i++) {
+            UUID userId = UUID.randomUUID();
+            experience.put(userId, BigDecimal.valueOf(random.nextInt(200), 1));
+            Collections.shuffle(skills, random);
+            List<UserSkill> rated = new ArrayList<>();
+            for (Skill skill : skills.subList(0, 5 + random.nextInt(15))) {
+                rated.add(UserSkill.builder().skill(skill).rating(1 + random.nextInt(5)).build());
+            }
+            userSkills.put(userId, rated);
+        }
+
+        required = new ArrayList<>();
+        requiredRatings = new HashMap<>();
+        for (Skill skill : skills.subList(0, 8)) {
+            int minRating = 2 + random.nextInt(4);
+            required.add(JobRequiredSkill.builder().skill(skill).minRating(minRating).build());
+            requiredRatings.put(skill.getId(), minRating);
+        }
+        job = Job.builder().minExperience(new BigDecimal("3")).maxExperience(new BigDecimal("7")).build();
+
+        ranker = new CandidateRanker(new InMemoryCandidateJdbcTemplate(experience, userSkills));
+        ranker.rebuild();
+    }
+
+    @Benchmark
+    public List<CandidateRanker.CandidateMatch> packedRanker() {
+        return ranker.topCandidates(requiredRatings, job.getMinExperience(), job.getMaxExperience(), LIMIT);
+    }
+
+    @Benchmark
+    public List<LocalCompatibilityScorer.LocalScore> scoreEachCandidate() {
+        List<LocalCompatibilityScorer.LocalScore> scores = new ArrayList<>(experience.size());
+        for (Map.Entry<UUID, BigDecimal> candidate : experience.entrySet()) {
+            scores.add(scorer.score(userSkills.get(candidate.getKey()), required, candidate.getValue(), job));
+        }
+        scores.sort(Comparator.comparingInt(LocalCompatibilityScorer.LocalScore::getCompatibilityScore)
+                .thenComparingInt(LocalCompatibilityScorer.LocalScore::getSkillMatchScore)
+                .reversed());
+        return scores.subList(0, Math.min(LIMIT, scores.size()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CandidateRankerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
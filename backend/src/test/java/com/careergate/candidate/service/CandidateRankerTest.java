@@ -0,0 +1,175 @@
+package com.careergate.candidate.service;
+
+import com.careergate.compatibility.service.LocalCompatibilityScorer;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import com.careergate.entities.Skill;
+import com.careergate.entities.UserSkill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the packed, parallel ranking gives every candidate exactly the
+ * scores {@link LocalCompatibilityScorer} computes from the same entities.
+ */
+class CandidateRankerTest {
+
+    // More than one fork/join leaf, so the heap merge is exercised too
+    private static final int CANDIDATES = 20_000;
+
+    private final LocalCompatibilityScorer scorer = new LocalCompatibilityScorer(true, 35);
+    private final Random random = new Random(42);
+    private final List<Skill> skills = new ArrayList<>();
+    private final Map<UUID, BigDecimal> experience = new LinkedHashMap<>();
+    private final Map<UUID, List<UserSkill>> userSkills = new HashMap<>();
+
+    private CandidateRanker ranker;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 60; i++) {
+            skills.add(Skill.builder().id(UUID.randomUUID()).name("SKILL" + i).build());
+        }
+        for (int i = 0; i < CANDIDATES; i++) {
+            UUID userId = UUID.randomUUID();
+            // About one in ten has no profile experience
+            experience.put(userId, random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(200), 1));
+            List<UserSkill> rated = new ArrayList<>();
+            for (Skill skill : pick(random.nextInt(12))) {
+                rated.add(UserSkill.builder().skill(skill).rating(1 + random.nextInt(5)).build());
+            }
+            userSkills.put(userId, rated);
+        }
+        ranker = new CandidateRanker(new InMemoryCandidateJdbcTemplate(experience, userSkills));
+        ranker.rebuild();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 3, 8, 15 })
+    void scoresMatchTheLocalScorer(int requiredCount) {
+        List<JobRequiredSkill> required = new ArrayList<>();
+        for (Skill skill : pick(requiredCount)) {
+            required.add(JobRequiredSkill.builder().skill(skill)
+                    .minRating(random.nextInt(6) == 0 ? null : 1 + random.nextInt(5)).build());
+        }
+        // A skill no candidate has rated still counts towards the total
+        if (requiredCount > 0) {
+            required.add(JobRequiredSkill.builder()
+                    .skill(Skill.builder().id(UUID.randomUUID()).name("UNRATED").build()).minRating(3).build());
+        }
+        Job job = Job.builder().minExperience(new BigDecimal("2.5")).maxExperience(new BigDecimal("8")).build();
+
+        assertMatchesScorer(required, job, CANDIDATES);
+    }
+
+    @Test
+    void openEndedExperienceRangesMatchTheLocalScorer() {
+        List<JobRequiredSkill> required = List.of(
+                JobRequiredSkill.builder().skill(skills.get(0)).minRating(4).build(),
+                JobRequiredSkill.builder().skill(skills.get(1)).minRating(2).build());
+
+        assertMatchesScorer(required, Job.builder().minExperience(new BigDecimal("5")).build(), CANDIDATES);
+        assertMatchesScorer(required, Job.builder().maxExperience(new BigDecimal("3")).build(), CANDIDATES);
+        assertMatchesScorer(required, Job.builder().build(), CANDIDATES);
+    }
+
+    @Test
+    void topCandidatesArePrefixOfTheFullRanking() {
+        List<JobRequiredSkill> required = new ArrayList<>();
+        for (Skill skill : pick(6)) {
+            required.add(JobRequiredSkill.builder().skill(skill).minRating(3).build());
+        }
+        Job job = Job.builder().minExperience(new BigDecimal("3")).maxExperience(new BigDecimal("6")).build();
+
+        List<int[]> expected = new ArrayList<>();
+        for (Map.Entry<UUID, BigDecimal> candidate : experience.entrySet()) {
+            LocalCompatibilityScorer.LocalScore score = scorer.score(userSkills.get(candidate.getKey()), required,
+                    candidate.getValue(), job);
+            expected.add(new int[] { score.getCompatibilityScore(), score.getSkillMatchScore() });
+        }
+        expected.sort(Comparator.<int[]>comparingInt(s -> s[0]).thenComparingInt(s -> s[1]).reversed());
+
+        List<CandidateRanker.CandidateMatch> top = ranker.topCandidates(requiredRatings(required),
+                job.getMinExperience(), job.getMaxExperience(), 50);
+
+        assertEquals(50, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(expected.get(i)[0], top.get(i).getCompatibilityScore(), "overall at " + i);
+            assertEquals(expected.get(i)[1], top.get(i).getSkillMatchScore(), "skill at " + i);
+        }
+    }
+
+    @Test
+    void refreshedCandidateIsScoredFromTheirNewProfile() {
+        UUID userId = experience.keySet().iterator().next();
+        List<JobRequiredSkill> required = List.of(
+                JobRequiredSkill.builder().skill(skills.get(0)).minRating(5).build());
+        Job job = Job.builder().minExperience(new BigDecimal("4")).build();
+
+        experience.put(userId, new BigDecimal("12.5"));
+        userSkills.put(userId, List.of(UserSkill.builder().skill(skills.get(0)).rating(5).build()));
+        ranker.refresh(userId);
+
+        UUID newcomer = UUID.randomUUID();
+        experience.put(newcomer, null);
+        userSkills.put(newcomer, List.of(UserSkill.builder().skill(skills.get(0)).rating(2).build()));
+        ranker.refresh(newcomer);
+
+        Map<UUID, CandidateRanker.CandidateMatch> matches = assertMatchesScorer(required, job, CANDIDATES + 1);
+        assertEquals(100, matches.get(userId).getCompatibilityScore());
+        assertNull(matches.get(newcomer).getTotalExperience());
+    }
+
+    private Map<UUID, CandidateRanker.CandidateMatch> assertMatchesScorer(List<JobRequiredSkill> required, Job job,
+            int expectedCount) {
+        List<CandidateRanker.CandidateMatch> ranked = ranker.topCandidates(requiredRatings(required),
+                job.getMinExperience(), job.getMaxExperience(), expectedCount);
+        assertEquals(expectedCount, ranked.size());
+
+        Map<UUID, CandidateRanker.CandidateMatch> byUser = new HashMap<>();
+        for (CandidateRanker.CandidateMatch match : ranked) {
+            UUID userId = match.getUserId();
+            LocalCompatibilityScorer.LocalScore score = scorer.score(userSkills.get(userId), required,
+                    experience.get(userId), job);
+            assertEquals(score.getCompatibilityScore(), match.getCompatibilityScore(), "overall of " + userId);
+            assertEquals(score.getSkillMatchScore(), match.getSkillMatchScore(), "skill of " + userId);
+            assertEquals(score.getExperienceScore(), match.getExperienceScore(), "experience of " + userId);
+            assertEquals(score.getRequiredSkillCount() - score.getGaps().size(), match.getMatchedSkills(),
+                    "matched of " + userId);
+            assertEquals(required.size(), match.getRequiredSkills());
+            assertEquals(experience.get(userId), match.getTotalExperience());
+            byUser.put(userId, match);
+        }
+        return byUser;
+    }
+
+    private static Map<UUID, Integer> requiredRatings(List<JobRequiredSkill> required) {
+        Map<UUID, Integer> ratings = new HashMap<>();
+        for (JobRequiredSkill skill : required) {
+            ratings.put(skill.getSkill().getId(), skill.getMinRating());
+        }
+        return ratings;
+    }
+
+    private List<Skill> pick(int count) {
+        List<Skill> shuffled = new ArrayList<>(skills);
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    }
+}
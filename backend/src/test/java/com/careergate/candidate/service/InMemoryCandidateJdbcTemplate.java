@@ -0,0 +1,87 @@
+package com.careergate.candidate.service;
+
+import com.careergate.entities.UserSkill;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves {@link CandidateRanker}'s candidate and skill queries from maps, which
+ * callers may change before asking the ranker to refresh a candidate.
+ */
+class InMemoryCandidateJdbcTemplate extends JdbcTemplate {
+
+    private final Map<UUID, BigDecimal> experience;
+    private final Map<UUID, List<UserSkill>> userSkills;
+
+    InMemoryCandidateJdbcTemplate(Map<UUID, BigDecimal> experience, Map<UUID, List<UserSkill>> userSkills) {
+        this.experience = experience;
+        this.userSkills = userSkills;
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler handler) {
+        try {
+            if (sql.contains("FROM user_skills")) {
+                for (Map.Entry<UUID, List<UserSkill>> entry : userSkills.entrySet()) {
+                    for (UserSkill skill : entry.getValue()) {
+                        handler.processRow(row(entry.getKey(), skill.getSkill().getId(), skill.getRating()));
+                    }
+                }
+            } else {
+                for (Map.Entry<UUID, BigDecimal> entry : experience.entrySet()) {
+                    handler.processRow(row(entry.getKey(), entry.getValue()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... args) {
+        UUID userId = (UUID) args[0];
+        try {
+            List<T> rows = new ArrayList<>();
+            if (experience.containsKey(userId)) {
+                rows.add(mapper.mapRow(row(userId, experience.get(userId)), 0));
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler handler, Object... args) {
+        try {
+            for (UserSkill skill : userSkills.getOrDefault((UUID) args[0], List.of())) {
+                handler.processRow(row(skill.getSkill().getId(), skill.getRating()));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A one-row ResultSet over the given column values (1-based, as in JDBC)
+    private static ResultSet row(Object... columns) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    Object value = columns[(Integer) args[0] - 1];
+                    return switch (method.getName()) {
+                        case "getInt" -> value != null ? ((Number) value).intValue() : 0;
+                        case "getObject", "getBigDecimal" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
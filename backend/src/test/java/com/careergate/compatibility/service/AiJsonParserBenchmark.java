@@ -0,0 +1,89 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.roadmap.dto.AiRoadmapResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AiJsonParser} with the substring-and-trim cleanup it replaced
+ * on a fenced eight-week roadmap, the largest response the app parses.
+ *
+ * Run with {@code main} from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiJsonParserBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AiJsonParser parser;
+    private String response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        parser = new AiJsonParser(objectMapper);
+
+        StringBuilder json = new StringBuilder("Here is your roadmap:\n```json\n{\"weeks\": [");
+        for (int week = 1; week <= 8; week++) {
+            json.append(week > 1 ? "," : "").append("{\"weekNo\": ").append(week).append(", \"days\": [");
+            for (int day = 1; day <= 7; day++) {
+                json.append(day > 1 ? "," : "")
+                        .append("{\"dayNo\": ").append(day)
+                        .append(", \"title\": \"Week ").append(week).append(" day ").append(day).append(": Spring Data JPA\"")
+                        .append(", \"description\": \"Map entities, write derived queries and tune fetch plans to avoid N+1 selects.\"")
+                        .append(", \"topic\": \"Spring Data JPA\"")
+                        .append(", \"youtubeVideoId\": null")
+                        .append(", \"youtubeSearchQuery\": \"spring data jpa tutorial\"")
+                        .append(", \"articleLinks\": [\"https://docs.spring.io/spring-data/jpa/reference/\", ")
+                        .append("\"https://vladmihalcea.com/n-plus-1-query-problem/\"]}");
+            }
+            json.append("]}");
+        }
+        response = json.append("]}\n```\nGood luck!").toString();
+    }
+
+    @Benchmark
+    public AiRoadmapResponse cleanThenBind() throws JsonProcessingException {
+        return objectMapper.readValue(cleanJsonResponse(response), AiRoadmapResponse.class);
+    }
+
+    @Benchmark
+    public AiRoadmapResponse streamingParser() {
+        return parser.parse(response, AiRoadmapResponse.class);
+    }
+
+    // The cleanup AiService used before AiJsonParser
+    private static String cleanJsonResponse(String content) {
+        if (content != null && content.contains("```json")) {
+            content = content.substring(content.indexOf("```json") + 7);
+            content = content.substring(0, content.lastIndexOf("```"));
+        } else if (content != null && content.contains("```")) {
+            content = content.substring(content.indexOf("```") + 3);
+            content = content.substring(0, content.lastIndexOf("```"));
+        }
+        return content != null ? content.trim() : null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AiJsonParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,130 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.roadmap.dto.AiRoadmapResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiJsonParserTest {
+
+    private final AiJsonParser parser = new AiJsonParser(new ObjectMapper());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"compatibilityScore\": 70}",
+            "  \n{\"compatibilityScore\": 70}",
+            "```json\n{\"compatibilityScore\": 70}\n```",
+            "```\n{\"compatibilityScore\": 70}\n```",
+            "Here is the analysis:\n```json\n{\"compatibilityScore\": 70}\n```\nLet me know!",
+            "Here is the analysis: {\"compatibilityScore\": 70} Hope it helps."
+    })
+    void findsThePayloadWithOrWithoutFences(String content) {
+        assertEquals(70, parser.parse(content, AiAnalysisResponse.class).getCompatibilityScore());
+    }
+
+    @Test
+    void backticksInsideBareJsonStringsAreNotAFence() {
+        String content = "{\"compatibilityScore\": 55, "
+                + "\"analysisSummary\": \"Wrap it like ```java\\n{ code }\\n``` in the README\"}";
+
+        AiAnalysisResponse response = parser.parse(content, AiAnalysisResponse.class);
+
+        assertEquals(55, response.getCompatibilityScore());
+        assertEquals("Wrap it like ```java\n{ code }\n``` in the README", response.getAnalysisSummary());
+    }
+
+    @Test
+    void backticksInsideStringsAfterAPreambleAreNotAFence() {
+        String content = "Sure:\n{\"compatibilityScore\": 40, \"analysisSummary\": \"use ```{x}```\"}";
+
+        assertEquals(40, parser.parse(content, AiAnalysisResponse.class).getCompatibilityScore());
+    }
+
+    @Test
+    void trailingCommasAreAccepted() {
+        AiAnalysisResponse response = parser.parse(
+                "{\"compatibilityScore\": 80, \"skillGaps\": [{\"skillName\": \"Java\",},],}",
+                AiAnalysisResponse.class);
+
+        assertEquals(80, response.getCompatibilityScore());
+        assertEquals(1, response.getSkillGaps().size());
+    }
+
+    @Test
+    void truncatedResponseDropsTheHalfWrittenGap() {
+        String content = "```json\n{\"compatibilityScore\": 62, \"skillGaps\": ["
+                + "{\"skillName\": \"Java\", \"gapLevel\": 2},"
+                + "{\"skillName\": \"Kafka\", \"gapLe";
+
+        AiAnalysisResponse response = parser.parse(content, AiAnalysisResponse.class);
+
+        assertEquals(62, response.getCompatibilityScore());
+        assertEquals(1, response.getSkillGaps().size());
+        assertEquals("Java", response.getSkillGaps().get(0).getSkillName());
+    }
+
+    @Test
+    void truncatedAfterAFieldNameBindsNull() {
+        AiAnalysisResponse response = parser.parse(
+                "{\"compatibilityScore\": 62, \"analysisSummary\": \"You are a str",
+                AiAnalysisResponse.class);
+
+        assertEquals(62, response.getCompatibilityScore());
+        assertNull(response.getAnalysisSummary());
+    }
+
+    @Test
+    void truncatedRoadmapKeepsCompleteDaysAndDropsTheHalfWrittenOne() {
+        String content = "{\"weeks\": ["
+                + "{\"weekNo\": 1, \"days\": [{\"dayNo\": 1, \"title\": \"A\"}, {\"dayNo\": 2, \"title\": \"B\"}]},"
+                + "{\"weekNo\": 2, \"days\": [{\"dayNo\": 1, \"title\": \"C\"},"
+                + "{\"dayNo\": 2, \"title\": \"D\", \"articleLinks\": [\"https://a\", \"https://b";
+
+        AiRoadmapResponse roadmap = parser.parse(content, AiRoadmapResponse.class);
+
+        assertEquals(2, roadmap.getWeeks().size());
+        assertEquals(2, roadmap.getWeeks().get(0).getDays().size());
+        assertEquals(1, roadmap.getWeeks().get(1).getDays().size());
+        assertEquals("C", roadmap.getWeeks().get(1).getDays().get(0).getTitle());
+    }
+
+    @Test
+    void truncatedBetweenDaysKeepsTheWeek() {
+        String content = "{\"weeks\": [{\"weekNo\": 1, \"days\": [{\"dayNo\": 1, \"title\": \"A\"},";
+
+        AiRoadmapResponse roadmap = parser.parse(content, AiRoadmapResponse.class);
+
+        assertEquals(1, roadmap.getWeeks().size());
+        assertEquals(1, roadmap.getWeeks().get(0).getDays().size());
+    }
+
+    @Test
+    void truncatedWeekWithoutDaysIsDropped() {
+        String content = "{\"weeks\": [{\"weekNo\": 1, \"days\": [{\"dayNo\": 1, \"title\": \"A\"}]},"
+                + "{\"weekNo\": 2, \"days\": [";
+
+        AiRoadmapResponse roadmap = parser.parse(content, AiRoadmapResponse.class);
+
+        assertEquals(1, roadmap.getWeeks().size());
+    }
+
+    @Test
+    void reportsWhetherTheResponseWasRepaired() {
+        assertFalse(parser.parseWithStatus("```json\n{\"weeks\": []}\n```", AiRoadmapResponse.class).isRepaired());
+        assertTrue(parser.parseWithStatus("{\"weeks\": [{\"weekNo\": 1", AiRoadmapResponse.class).isRepaired());
+    }
+
+    @Test
+    void responseWithoutJsonIsRejected() {
+        assertThrows(RuntimeException.class,
+                () -> parser.parse("I could not analyse this resume.", AiAnalysisResponse.class));
+    }
+}
@@ -0,0 +1,94 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import com.careergate.entities.Skill;
+import com.careergate.entities.UserSkill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores one candidate against one job with {@link LocalCompatibilityScorer},
+ * the path every compatibility request takes before (or instead of) the LLM.
+ * The candidate rates 40 skills and covers about two thirds of the job's
+ * required ones.
+ *
+ * Run with {@code main} from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalCompatibilityScorerBenchmark {
+
+    private static final int RATED_SKILLS = 40;
+
+    @Param({ "5", "20" })
+    private int requiredSkills;
+
+    private LocalCompatibilityScorer scorer;
+    private List<UserSkill> userSkills;
+    private List<JobRequiredSkill> jobSkills;
+    private Job job;
+    private BigDecimal totalExperience;
+
+    @Setup
+    public void setUp() {
+        scorer = new LocalCompatibilityScorer(true, 35);
+        Random random = new Random(42);
+
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < RATED_SKILLS + requiredSkills; i++) {
+            skills.add(Skill.builder().id(UUID.randomUUID()).name("Skill " + i).build());
+        }
+        userSkills = new ArrayList<>();
+        for (int i = 0; i < RATED_SKILLS; i++) {
+            userSkills.add(UserSkill.builder().skill(skills.get(i)).rating(1 + random.nextInt(5)).build());
+        }
+        // Every third required skill is one the candidate has not rated
+        jobSkills = new ArrayList<>();
+        for (int i = 0; i < requiredSkills; i++) {
+            Skill skill = i % 3 == 2 ? skills.get(RATED_SKILLS + i) : skills.get(i);
+            jobSkills.add(JobRequiredSkill.builder().skill(skill).minRating(1 + random.nextInt(5)).build());
+        }
+        job = Job.builder().minExperience(new BigDecimal("3")).maxExperience(new BigDecimal("6")).build();
+        totalExperience = new BigDecimal("4.5");
+    }
+
+    @Benchmark
+    public LocalCompatibilityScorer.LocalScore score() {
+        return scorer.score(userSkills, jobSkills, totalExperience, job);
+    }
+
+    @Benchmark
+    public AiAnalysisResponse scoreToAnalysisResponse() {
+        return scorer.toAnalysisResponse(scorer.score(userSkills, jobSkills, totalExperience, job));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LocalCompatibilityScorerBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
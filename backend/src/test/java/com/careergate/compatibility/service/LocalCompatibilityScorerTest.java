@@ -0,0 +1,179 @@
+package com.careergate.compatibility.service;
+
+import com.careergate.compatibility.dto.AiAnalysisResponse;
+import com.careergate.entities.Job;
+import com.careergate.entities.JobRequiredSkill;
+import com.careergate.entities.Skill;
+import com.careergate.entities.UserSkill;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalCompatibilityScorerTest {
+
+    private final LocalCompatibilityScorer scorer = new LocalCompatibilityScorer(true, 35);
+
+    private final Skill java = skill("Java");
+    private final Skill sql = skill("SQL");
+    private final Skill docker = skill("Docker");
+
+    @Test
+    void skillScoreAveragesCappedCreditOverRequiredSkills() {
+        // Java 2/4 = 0.5, SQL 5/2 capped at 1, Docker missing = 0
+        LocalCompatibilityScorer.LocalScore score = scorer.score(
+                List.of(rated(java, 2), rated(sql, 5)),
+                List.of(required(java, 4), required(sql, 2), required(docker, 3)),
+                new BigDecimal("3"), job("2", "5"));
+
+        assertEquals(50, score.getSkillMatchScore());
+        assertEquals(100, score.getExperienceScore());
+        assertEquals(65, score.getCompatibilityScore());
+        assertEquals(3, score.getRequiredSkillCount());
+        assertEquals(2, score.getGaps().size());
+
+        LocalCompatibilityScorer.LocalGap javaGap = score.getGaps().get(0);
+        assertEquals("Java", javaGap.getSkillName());
+        assertEquals(4, javaGap.getRequiredRating());
+        assertEquals(2, javaGap.getUserRating());
+        assertEquals(2, javaGap.getGap());
+        LocalCompatibilityScorer.LocalGap dockerGap = score.getGaps().get(1);
+        assertEquals(0, dockerGap.getUserRating());
+        assertEquals(3, dockerGap.getGap());
+    }
+
+    @Test
+    void skillScoreRoundsHalfUp() {
+        // (1/3 + 1 + 1) / 3 = 77.78 -> 78
+        LocalCompatibilityScorer.LocalScore score = scorer.score(
+                List.of(rated(java, 1), rated(sql, 3), rated(docker, 3)),
+                List.of(required(java, 3), required(sql, 3), required(docker, 3)),
+                null, job(null, null));
+
+        assertEquals(78, score.getSkillMatchScore());
+    }
+
+    @Test
+    void missingMinRatingCountsAsOne() {
+        LocalCompatibilityScorer.LocalScore score = scorer.score(
+                List.of(rated(java, 1)),
+                List.of(required(java, null)),
+                null, job(null, null));
+
+        assertEquals(100, score.getSkillMatchScore());
+        assertTrue(score.getGaps().isEmpty());
+    }
+
+    @Test
+    void zeroRequiredSkillsIsAFullSkillMatchAndNeverAClearMismatch() {
+        LocalCompatibilityScorer.LocalScore score = scorer.score(List.of(rated(java, 5)), List.of(),
+                new BigDecimal("0"), job("10", null));
+
+        assertEquals(100, score.getSkillMatchScore());
+        assertEquals(0, score.getExperienceScore());
+        assertEquals(70, score.getCompatibilityScore());
+        assertEquals(0, score.getRequiredSkillCount());
+        assertFalse(scorer.isClearMismatch(new LocalCompatibilityScorer.LocalScore(0, 0, 0, 0, List.of())));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            // experience, min, max, expected
+            "3, 2, 5, 100",
+            "2, 2, 5, 100",
+            "5, 2, 5, 100",
+            "1, 2, 5, 50",
+            "1.5, 4, null, 38",
+            "0, 2, null, 0",
+            "8, 2, 5, 70",
+            "5.5, null, 5, 95",
+            "20, 2, 5, 60",
+            "null, 2, 5, 0",
+            "null, null, null, 100",
+            "null, 0, 5, 100",
+            "null, null, 5, 100",
+            "7, null, null, 100",
+            "7, 0, null, 100",
+            "0, 0, 0, 100",
+    })
+    void experienceScore(String experience, String min, String max, int expected) {
+        assertEquals(expected, scorer.experienceScore(decimal(experience), decimal(min), decimal(max)));
+        // The primitive overload used for bulk ranking agrees, with NaN for missing values
+        assertEquals(expected, LocalCompatibilityScorer.experienceScore(
+                primitive(experience), primitive(min), primitive(max)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "100, 100, 100",
+            "0, 0, 0",
+            "50, 100, 65",
+            "100, 0, 70",
+            "0, 100, 30",
+            "75, 50, 68",
+            "33, 67, 43",
+            "1, 1, 1",
+    })
+    void overallScoreWeightsSkillsAtSeventyPercent(int skillScore, int experienceScore, int expected) {
+        assertEquals(expected, LocalCompatibilityScorer.overallScore(skillScore, experienceScore));
+    }
+
+    @Test
+    void clearMismatchHonoursThresholdAndSwitch() {
+        LocalCompatibilityScorer.LocalScore below = new LocalCompatibilityScorer.LocalScore(34, 10, 70, 3, List.of());
+        LocalCompatibilityScorer.LocalScore atThreshold = new LocalCompatibilityScorer.LocalScore(35, 20, 70, 3,
+                List.of());
+
+        assertTrue(scorer.isClearMismatch(below));
+        assertFalse(scorer.isClearMismatch(atThreshold));
+        assertFalse(new LocalCompatibilityScorer(false, 35).isClearMismatch(below));
+    }
+
+    @Test
+    void analysisResponseCarriesScoresAndGaps() {
+        LocalCompatibilityScorer.LocalScore score = scorer.score(List.of(rated(java, 1)),
+                List.of(required(java, 4), required(sql, 2)), new BigDecimal("1"), job("2", "4"));
+
+        AiAnalysisResponse response = scorer.toAnalysisResponse(score);
+
+        assertEquals(score.getCompatibilityScore(), response.getCompatibilityScore());
+        assertEquals(score.getSkillMatchScore(), response.getSkillMatchScore());
+        assertEquals(score.getExperienceScore(), response.getExperienceScore());
+        assertEquals(2, response.getSkillGaps().size());
+        assertEquals("SQL", response.getSkillGaps().get(1).getSkillName());
+        assertEquals(0, response.getSkillGaps().get(1).getUserRating());
+        assertTrue(response.getSkillGaps().get(1).getImprovementSuggestions().startsWith("Start learning SQL"));
+        assertTrue(response.getAnalysisSummary().contains("0 of the 2 skills"));
+    }
+
+    private static Skill skill(String name) {
+        return Skill.builder().id(UUID.randomUUID()).name(name).build();
+    }
+
+    private static UserSkill rated(Skill skill, int rating) {
+        return UserSkill.builder().skill(skill).rating(rating).build();
+    }
+
+    private static JobRequiredSkill required(Skill skill, Integer minRating) {
+        return JobRequiredSkill.builder().skill(skill).minRating(minRating).build();
+    }
+
+    private static Job job(String minExperience, String maxExperience) {
+        return Job.builder().minExperience(decimal(minExperience)).maxExperience(decimal(maxExperience)).build();
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static double primitive(String value) {
+        return value != null ? Double.parseDouble(value) : Double.NaN;
+    }
+}
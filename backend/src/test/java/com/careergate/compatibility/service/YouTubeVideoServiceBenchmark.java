@@ -0,0 +1,69 @@
+package com.careergate.compatibility.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the automaton lookup with the legacy map-and-split lookup
+ * ({@link YouTubeVideoServiceTest#legacyVideoIdForTopic}) over a mix of roadmap
+ * day topics: exact topics, priority matches, word matches, substring
+ * fallbacks and misses.
+ *
+ * Run with {@code main} from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YouTubeVideoServiceBenchmark {
+
+    private static final String[] TOPICS = {
+            "Java", "Advanced JavaScript Patterns", "Spring Boot Microservices", "PostgreSQL indexing",
+            "Docker + Kubernetes", "ReactJS hooks", "System Design Interview", "Golang concurrency",
+            "GitHub Actions", "Machine Learning", "HTML5 & CSS3", "learn js basics"
+    };
+
+    private YouTubeVideoService service;
+
+    @Setup
+    public void setUp() {
+        service = new YouTubeVideoService(new DefaultResourceLoader(), new ObjectMapper(),
+                "classpath:youtube/video-catalog.json");
+    }
+
+    @Benchmark
+    public void legacyLookup(Blackhole blackhole) {
+        for (String topic : TOPICS) {
+            blackhole.consume(YouTubeVideoServiceTest.legacyVideoIdForTopic(topic));
+        }
+    }
+
+    @Benchmark
+    public void automatonLookup(Blackhole blackhole) {
+        for (String topic : TOPICS) {
+            blackhole.consume(service.getVideoIdForTopic(topic));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(YouTubeVideoServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.careergate.compatibility.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the automaton-based lookup against the original map-and-split
+ * algorithm, reproduced below with its static video map.
+ */
+class YouTubeVideoServiceTest {
+
+    private static final Map<String, String> LEGACY_VIDEOS = new HashMap<>();
+
+    static {
+        LEGACY_VIDEOS.put("python", "rfscVS0vtbw");
+        LEGACY_VIDEOS.put("java", "UmnCZ7-9yDY");
+        LEGACY_VIDEOS.put("javascript", "W6NZfCO5SIk");
+        LEGACY_VIDEOS.put("typescript", "30LWjhZzg50");
+        LEGACY_VIDEOS.put("go", "un6ZyFkqFKo");
+        LEGACY_VIDEOS.put("rust", "zF34dRivLOw");
+        LEGACY_VIDEOS.put("c++", "vLnPwxZdW4Y");
+        LEGACY_VIDEOS.put("react", "bMknfKXLgFA");
+        LEGACY_VIDEOS.put("node", "Oe421EPjeBE");
+        LEGACY_VIDEOS.put("angular", "3qBXWUpoPHo");
+        LEGACY_VIDEOS.put("vue", "FXpIoQ_rT_c");
+        LEGACY_VIDEOS.put("html", "pQN-pnXPaVg");
+        LEGACY_VIDEOS.put("css", "1Rs2ND1ryYc");
+        LEGACY_VIDEOS.put("sql", "HXV3zeQKqGY");
+        LEGACY_VIDEOS.put("postgresql", "qw--VwXb71Q");
+        LEGACY_VIDEOS.put("mongodb", "c2M-rlkkT5o");
+        LEGACY_VIDEOS.put("mysql", "7S_tz1z_5bA");
+        LEGACY_VIDEOS.put("spring", "9ptm2c5Fk5U");
+        LEGACY_VIDEOS.put("spring boot", "9z_fS1jT77k");
+        LEGACY_VIDEOS.put("docker", "pTJxdL_pIWM");
+        LEGACY_VIDEOS.put("kubernetes", "X48VuDVv0do");
+        LEGACY_VIDEOS.put("git", "RGOj5yH7evk");
+        LEGACY_VIDEOS.put("aws", "f1c24P3bO2E");
+        LEGACY_VIDEOS.put("system design", "ZgdS0EUasK0");
+        LEGACY_VIDEOS.put("default", "rfscVS0vtbw");
+    }
+
+    private final YouTubeVideoService service = new YouTubeVideoService(new DefaultResourceLoader(),
+            new ObjectMapper(), "classpath:youtube/video-catalog.json");
+
+    static List<String> topics() {
+        List<String> topics = new ArrayList<>(List.of(
+                "", "   ", "Java", "  JAVA  ", "JavaScript", "Java vs JavaScript", "Advanced JavaScript Patterns",
+                "learn js basics", "js", "node js ", "Java Script", "javascripting", "Java-Spring", "spring_boot",
+                "Spring Boot Microservices", "spring boot", "springboot", "Go", "Google Cloud", "Golang concurrency",
+                "algorithms", "Django with Python", "PostgreSQL indexing", "postgres", "NoSQL", "MySQL joins",
+                "sql-server", "c++ templates", "Modern C++", "ReactJS hooks", "React Native", "Vue 3",
+                "Angular and React", "html/css layout", "HTML5 & CSS3", "Docker + Kubernetes", "k8s",
+                "Git workflows", "GitHub Actions", "AWS Lambda", "Amazon Web Services", "System Design Interview",
+                "design systems", "Rust\tbasics", "trust and safety", "default", "Default topic", "Machine Learning",
+                "typescript generics", "mongo", "MongoDB aggregation", "nodejs", "Node-RED",
+                "cassandra and redis"));
+        // Every topic on its own, inside a sentence and next to every other topic, in both orders
+        for (String topic : LEGACY_VIDEOS.keySet()) {
+            topics.add(topic);
+            topics.add("Intro to " + topic + " for beginners");
+            topics.add(topic + "ing");
+            for (String other : LEGACY_VIDEOS.keySet()) {
+                topics.add(topic + other);
+                topics.add(topic + " and " + other);
+            }
+        }
+        return topics;
+    }
+
+    @ParameterizedTest
+    @MethodSource("topics")
+    void resolvesLikeTheLegacyLookup(String topic) {
+        assertEquals(legacyVideoIdForTopic(topic), service.getVideoIdForTopic(topic), topic);
+    }
+
+    @Test
+    void javascriptIsNeverTakenForJava() {
+        assertEquals("W6NZfCO5SIk", service.getVideoIdForTopic("Java and JavaScript"));
+        assertEquals("W6NZfCO5SIk", service.getVideoIdForTopic("java with js and html"));
+        assertEquals("UmnCZ7-9yDY", service.getVideoIdForTopic("Java Streams"));
+    }
+
+    @Test
+    void firstWholeWordWinsOverALongerSubstring() {
+        // "go" is a whole word; "postgresql" only appears glued to another word
+        assertEquals("un6ZyFkqFKo", service.getVideoIdForTopic("go with postgresqlx"));
+    }
+
+    @Test
+    void nullTopicGetsTheDefaultVideo() {
+        assertEquals(LEGACY_VIDEOS.get("default"), service.getVideoIdForTopic(null));
+    }
+
+    @Test
+    void verifiedVideosMatchTheCatalog() {
+        for (String videoId : LEGACY_VIDEOS.values()) {
+            assertTrue(service.isVerifiedVideo(videoId), videoId);
+        }
+        assertFalse(service.isVerifiedVideo("dQw4w9WgXcQ"));
+    }
+
+    // The lookup as it was before the catalog and automaton
+    static String legacyVideoIdForTopic(String topic) {
+        if (topic == null || topic.trim().isEmpty()) {
+            return LEGACY_VIDEOS.get("default");
+        }
+
+        String normalizedTopic = topic.toLowerCase().trim();
+
+        if (LEGACY_VIDEOS.containsKey(normalizedTopic)) {
+            return LEGACY_VIDEOS.get(normalizedTopic);
+        }
+
+        if (normalizedTopic.contains("javascript") || normalizedTopic.contains(" js ")) {
+            return LEGACY_VIDEOS.get("javascript");
+        }
+
+        String[] words = normalizedTopic.split("[\\s\\-_]+");
+        for (String word : words) {
+            if (LEGACY_VIDEOS.containsKey(word)) {
+                return LEGACY_VIDEOS.get(word);
+            }
+        }
+
+        return LEGACY_VIDEOS.entrySet().stream()
+                .filter(e -> !e.getKey().equals("default"))
+                .sorted((e1, e2) -> Integer.compare(e2.getKey().length(), e1.getKey().length()))
+                .filter(e -> normalizedTopic.contains(e.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(LEGACY_VIDEOS.get("default"));
+    }
+}
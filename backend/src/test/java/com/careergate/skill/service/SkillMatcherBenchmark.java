@@ -0,0 +1,118 @@
+package com.careergate.skill.service;
+
+import com.careergate.entities.Skill;
+import com.careergate.skill.event.SkillsAddedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts skills from multi-megabyte resume text with {@link SkillMatcher}
+ * over a dictionary of 5,000 skills, and measures rebuilding the automaton
+ * when one more batch of skills is created.
+ *
+ * Run with {@code main} from the test classpath; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillMatcherBenchmark {
+
+    private static final int DICTIONARY_SIZE = 5_000;
+    private static final String[] WORDS = { "built", "and", "maintained", "services", "for", "payments", "using",
+            "team", "of", "engineers", "with", "on-call", "ownership", "migrated", "the", "platform", "to",
+            "reduced", "latency", "by", "40%", "while", "mentoring", "two", "juniors", "in", "Google", "Docs" };
+    private static final String[] REAL_SKILLS = { "Java", "Spring Boot", "Spring", "Kubernetes", "Go", "ASP.NET",
+            ".NET", "PostgreSQL", "Apache Kafka", "React", "TypeScript", "Docker", "AWS", "Terraform" };
+
+    @Param({ "1", "4" })
+    private int megabytes;
+
+    private SkillMatcher matcher;
+    private List<Skill> dictionary;
+    private String text;
+    private int batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        dictionary = new ArrayList<>(DICTIONARY_SIZE);
+        for (String name : REAL_SKILLS) {
+            dictionary.add(SkillMatcherTest.skill(name));
+        }
+        while (dictionary.size() < DICTIONARY_SIZE) {
+            dictionary.add(SkillMatcherTest.skill(randomName(random)));
+        }
+        matcher = new SkillMatcher(
+                SkillMatcherTest.normalizer(List.<String[]>of(new String[] { "k8s", "Kubernetes" })));
+        matcher.onSkillsAdded(new SkillsAddedEvent(dictionary));
+
+        // Prose with a skill mention every dozen words or so, some of them synthetic dictionary entries
+        StringBuilder builder = new StringBuilder(megabytes << 20);
+        while (builder.length() < megabytes << 20) {
+            for (int i = 0; i < 12; i++) {
+                builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            builder.append(random.nextBoolean()
+                    ? REAL_SKILLS[random.nextInt(REAL_SKILLS.length)]
+                    : dictionary.get(random.nextInt(DICTIONARY_SIZE)).getName());
+            builder.append(random.nextInt(8) == 0 ? ".\n" : ", ");
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public Map<Skill, Integer> extract() {
+        return matcher.extract(text);
+    }
+
+    @Benchmark
+    public SkillMatcher addSkillsAndRebuild() {
+        List<Skill> added = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            added.add(SkillMatcherTest.skill("added skill " + batch + " " + i));
+        }
+        batch++;
+        matcher.onSkillsAdded(new SkillsAddedEvent(added));
+        return matcher;
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                name.append(' ');
+            }
+            int length = 3 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return name.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SkillMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
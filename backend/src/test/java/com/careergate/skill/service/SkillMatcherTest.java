@@ -0,0 +1,107 @@
+package com.careergate.skill.service;
+
+import com.careergate.entities.Skill;
+import com.careergate.skill.event.SkillsAddedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillMatcherTest {
+
+    private final Skill go = skill("Go");
+    private final Skill google = skill("Google Cloud");
+    private final Skill spring = skill("Spring");
+    private final Skill springBoot = skill("Spring Boot");
+    private final Skill aspNet = skill("ASP.NET");
+    private final Skill dotNet = skill(".NET");
+    private final Skill kubernetes = skill("Kubernetes");
+    private final Skill c = skill("C");
+
+    private SkillMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new SkillMatcher(normalizer(List.<String[]>of(new String[] { "k8s", "Kubernetes" })));
+        matcher.onSkillsAdded(new SkillsAddedEvent(List.of(go, google, spring, springBoot, aspNet, dotNet,
+                kubernetes, c)));
+    }
+
+    @Test
+    void matchesOnlyOnWordBoundaries() {
+        assertEquals(Map.of(), matcher.extract("Shared docs with Googlers at Gopher meetups"));
+        assertEquals(Map.of(go, 1), matcher.extract("Wrote services in Go, then more"));
+    }
+
+    @Test
+    void longerSkillIsNotAlsoCountedAsItsPrefix() {
+        assertEquals(Map.of(springBoot, 1), matcher.extract("Built APIs with Spring Boot"));
+        assertEquals(Map.of(google, 1), matcher.extract("Deployed on Google Cloud"));
+        assertEquals(Map.of(spring, 1, springBoot, 2),
+                matcher.extract("Spring Boot and Spring Security; migrated to spring   boot 3"));
+    }
+
+    @Test
+    void punctuatedNamesMatchInsideLongerTokens() {
+        assertEquals(Map.of(aspNet, 1), matcher.extract("Maintained an ASP.NET MVC portal"));
+        assertEquals(Map.of(aspNet, 1, dotNet, 1), matcher.extract("asp.net front end, .NET 8 workers"));
+    }
+
+    @Test
+    void aliasMapsToItsSkill() {
+        assertEquals(Map.of(kubernetes, 2), matcher.extract("Ran K8s clusters; Kubernetes operators"));
+    }
+
+    @Test
+    void singleCharacterNamesAreNotMatched() {
+        assertEquals(Map.of(), matcher.extract("Grade C in a C course"));
+    }
+
+    @Test
+    void findsSkillsAddedAfterTheFirstBuild() {
+        Skill kotlin = skill("Kotlin");
+        Skill goLand = skill("GoLand");
+        assertEquals(Map.of(go, 1), matcher.extract("Kotlin and Go in GoLand"));
+
+        matcher.onSkillsAdded(new SkillsAddedEvent(List.of(kotlin, goLand)));
+
+        assertEquals(Map.of(kotlin, 1, go, 1, goLand, 1), matcher.extract("Kotlin and Go in GoLand"));
+    }
+
+    @Test
+    void reportsSkillsInOrderOfFirstMention() {
+        Map<Skill, Integer> found = matcher.extract("Kubernetes, Go, Spring, Go");
+
+        assertEquals(List.of(kubernetes, go, spring), new ArrayList<>(found.keySet()));
+        assertEquals(2, found.get(go));
+    }
+
+    @Test
+    void ignoresEmptyText() {
+        assertTrue(matcher.extract("").isEmpty());
+        assertTrue(matcher.extract(null).isEmpty());
+    }
+
+    static Skill skill(String name) {
+        return Skill.builder().id(UUID.randomUUID()).name(name).build();
+    }
+
+    // Serves the alias table from memory; each row is { alias, canonical name }
+    static SkillNormalizer normalizer(List<String[]> aliasRows) {
+        SkillNormalizer normalizer = new SkillNormalizer(new org.springframework.jdbc.core.JdbcTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> query(String sql, org.springframework.jdbc.core.RowMapper<T> rowMapper) {
+                return (List<T>) new ArrayList<>(aliasRows);
+            }
+        });
+        normalizer.reload();
+        return normalizer;
+    }
+}
@@ -0,0 +1,117 @@
+package com.careergate.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeTextCompactorTest {
+
+    private final ResumeTextCompactor compactor = new ResumeTextCompactor(new SimpleMeterRegistry(), 1500);
+
+    @Test
+    void dropsRepeatedPageHeaderButKeepsRepeatedTitlesAndBullets() {
+        String resume = String.join("\n",
+                "Jane Doe",
+                "Backend Engineer",
+                "jane@example.com | +1 555 123 4567",
+                "Experience",
+                "Software Engineer",
+                "Acme Corp, 2020 - 2023",
+                "- Built REST APIs in Java",
+                "Page 1 of 2",
+                "",
+                "Jane Doe",
+                "Backend Engineer",
+                "jane@example.com | +1 555 123 4567",
+                "Software Engineer",
+                "Globex, 2017 - 2020",
+                "- Built REST APIs in Java",
+                "Page 2 of 2");
+
+        assertEquals(String.join("\n",
+                "Jane Doe",
+                "Backend Engineer",
+                "jane@example.com | +1 555 123 4567",
+                "Experience",
+                "Software Engineer",
+                "Acme Corp, 2020 - 2023",
+                "- Built REST APIs in Java",
+                "Software Engineer",
+                "Globex, 2017 - 2020",
+                "- Built REST APIs in Java"), compactor.compact(resume));
+    }
+
+    @Test
+    void dropsRepeatedContactFooter() {
+        String resume = String.join("\n",
+                "John Smith",
+                "Skills",
+                "Java, SQL",
+                "linkedin.com/in/jsmith",
+                "Projects",
+                "Search engine",
+                "linkedin.com/in/jsmith");
+
+        assertEquals(String.join("\n",
+                "John Smith",
+                "Skills",
+                "Java, SQL",
+                "linkedin.com/in/jsmith",
+                "Projects",
+                "Search engine"), compactor.compact(resume));
+    }
+
+    @Test
+    void skipsDroppedSectionsUntilTheNextKeptOne() {
+        String resume = String.join("\n",
+                "Skills",
+                "Kotlin",
+                "Hobbies",
+                "Chess",
+                "Education",
+                "BSc Computer Science");
+
+        assertEquals(String.join("\n", "Skills", "Kotlin", "Education", "BSc Computer Science"),
+                compactor.compact(resume));
+    }
+
+    @Test
+    void truncatesAtALineBoundaryWithinTheBudget() {
+        ResumeTextCompactor small = new ResumeTextCompactor(new SimpleMeterRegistry(), 5);
+
+        assertEquals("first line\nsecond", small.compact("first line\nsecond\nthird line that does not fit"));
+    }
+
+    @Test
+    void cutsALineLongerThanTheWholeBudgetAtAWordBoundary() {
+        ResumeTextCompactor small = new ResumeTextCompactor(new SimpleMeterRegistry(), 5);
+
+        assertEquals("Built REST APIs in", small.compact("Built REST APIs in Java and Kotlin for payments\nSkills"));
+    }
+
+    @Test
+    void keepsAWholePageExtractedAsOneLineUpToTheBudget() {
+        String page = "Designed and shipped payment services in Java. ".repeat(200).trim();
+
+        String compacted = compactor.compact(page);
+
+        assertTrue(compacted.length() <= 1500 * 4 && compacted.length() > 1500 * 4 - 20, compacted);
+        assertEquals(page.substring(0, compacted.length()), compacted);
+    }
+
+    @Test
+    void keepsTheFittingHeadOfALongLineAfterEarlierLines() {
+        ResumeTextCompactor small = new ResumeTextCompactor(new SimpleMeterRegistry(), 5);
+
+        assertEquals("Jane Doe\nLed a team", small.compact("Jane Doe\nLed a team of five engineers\nEducation"));
+    }
+
+    @Test
+    void cutsASingleOverlongWordWhenNothingElseFits() {
+        ResumeTextCompactor small = new ResumeTextCompactor(new SimpleMeterRegistry(), 2);
+
+        assertEquals("abcdefgh", small.compact("abcdefghijklmnop"));
+    }
+}
@@ -222,18 +222,18 @@ const Dashboard = () => {
                 if (role === 'RECRUITER') {
                     const [statsRes, jobsRes] = await Promise.all([
                         api.get('/dashboard/recruiter/stats'),
-                        api.get('/jobs/my-jobs')
+                        api.get('/jobs/my-jobs', { params: { size: 3 } })
                     ]);
                     setStats(statsRes.data.data);
-                    setMyJobs(jobsRes.data.data);
+                    setMyJobs(jobsRes.data.data.items);
                 } else {
                     const [statsRes, jobsRes, roadmapsRes] = await Promise.all([
                         api.get('/dashboard/candidate/stats'),
-                        api.get('/jobs'),
+                        api.get('/jobs', { params: { size: 3 } }),
                         api.get('/roadmaps/my-roadmaps')
                     ]);
                     setStats(statsRes.data.data);
-                    setRecentJobs(jobsRes.data.data.slice(0, 3));
+                    setRecentJobs(jobsRes.data.data.items);
                     if (roadmapsRes.data.data && roadmapsRes.data.data.length > 0) {
                         setLatestRoadmap(roadmapsRes.data.data[0]);
                     }
@@ -13,17 +13,35 @@ import api from '../utils/api';
 import toast from 'react-hot-toast';
 import { useNavigate } from 'react-router-dom';
 
+const PAGE_SIZE = 20;
+
 const Jobs = () => {
     const [jobs, setJobs] = useState<any[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [search, setSearch] = useState('');
+    const [query, setQuery] = useState('');
     const navigate = useNavigate();
 
+    // One keyset page; pass the previous page's nextCursor to continue after it
+    const fetchPage = async (cursor?: string) => {
+        if (query) {
+            // Full-text search on the server, best match first
+            const { data } = await api.get('/jobs/text-search', { params: { q: query, cursor, size: PAGE_SIZE } });
+            return { items: data.data.items.map((match: any) => match.job), nextCursor: data.data.nextCursor };
+        }
+        const { data } = await api.get('/jobs', { params: { cursor, size: PAGE_SIZE } });
+        return { items: data.data.items, nextCursor: data.data.nextCursor };
+    };
+
     useEffect(() => {
         const fetchJobs = async () => {
+            setLoading(true);
             try {
-                const { data } = await api.get('/jobs');
-                setJobs(data.data);
+                const page = await fetchPage();
+                setJobs(page.items);
+                setNextCursor(page.nextCursor);
             } catch (err) {
                 toast.error('Failed to load jobs');
             } finally {
@@ -31,7 +49,21 @@ const Jobs = () => {
             }
         };
         fetchJobs();
-    }, []);
+    }, [query]);
+
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const page = await fetchPage(nextCursor);
+            setJobs(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            toast.error('Failed to load more jobs');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
 
     const timeAgo = (date: string) => {
         const seconds = Math.floor((new Date().getTime() - new Date(date).getTime()) / 1000);
@@ -48,11 +80,6 @@ const Jobs = () => {
         return Math.floor(seconds) + " seconds ago";
     };
 
-    const filteredJobs = jobs.filter(job =>
-        job.title.toLowerCase().includes(search.toLowerCase()) ||
-        job.description.toLowerCase().includes(search.toLowerCase())
-    );
-
     return (
         <div className="min-h-screen pt-32 pb-12 px-6 bg-[#030303]">
             <div className="absolute top-0 left-0 w-full h-full gradient-bg opacity-20 pointer-events-none" />
@@ -67,18 +94,19 @@ const Jobs = () => {
                             className="w-full bg-white/[0.05] border border-white/10 rounded-2xl py-4 pl-12 pr-6 outline-none focus:border-purple-500/50 transition-all font-sans text-lg"
                             value={search}
                             onChange={(e) => setSearch(e.target.value)}
+                            onKeyDown={(e) => e.key === 'Enter' && setQuery(search.trim())}
                         />
                     </div>
                     <button className="btn-secondary h-full py-4 px-8 flex items-center gap-2">
                         <Filter className="w-5 h-5" /> Filters
                     </button>
-                    <button className="btn-primary h-full py-4 px-10">
+                    <button className="btn-primary h-full py-4 px-10" onClick={() => setQuery(search.trim())}>
                         Search
                     </button>
                 </div>
 
                 <div className="flex items-center justify-between">
-                    <h2 className="text-2xl font-bold font-outfit">Showing {filteredJobs.length} Jobs</h2>
+                    <h2 className="text-2xl font-bold font-outfit">Showing {jobs.length}{nextCursor ? '+' : ''} Jobs</h2>
                 </div>
 
                 {loading ? (
@@ -90,14 +118,14 @@ const Jobs = () => {
                 ) : (
                     <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
                         <AnimatePresence mode="popLayout">
-                            {filteredJobs.map((job, idx) => (
+                            {jobs.map((job, idx) => (
                                 <motion.div
                                     key={job.id}
                                     layout
                                     initial={{ opacity: 0, scale: 0.9 }}
                                     animate={{ opacity: 1, scale: 1 }}
                                     exit={{ opacity: 0, scale: 0.9 }}
-                                    transition={{ duration: 0.3, delay: idx * 0.05 }}
+                                    transition={{ duration: 0.3, delay: (idx % PAGE_SIZE) * 0.05 }}
                                     className="glass-card flex flex-col justify-between group h-full hover:border-purple-500/30"
                                 >
                                     <div>
@@ -118,9 +146,9 @@ const Jobs = () => {
                                         </p>
 
                                         <div className="flex flex-wrap gap-2 mb-6">
-                                            {job.requiredSkills?.slice(0, 3).map((rs: any) => (
-                                                <span key={rs.id} className="text-[10px] px-2 py-1 bg-white/5 border border-white/5 rounded-md">
-                                                    {rs.skill?.name || 'Skill'}
+                                            {job.requiredSkills?.slice(0, 3).map((skill: string) => (
+                                                <span key={skill} className="text-[10px] px-2 py-1 bg-white/5 border border-white/5 rounded-md">
+                                                    {skill}
                                                 </span>
                                             ))}
                                         </div>
@@ -147,6 +175,18 @@ const Jobs = () => {
                         </AnimatePresence>
                     </div>
                 )}
+
+                {!loading && nextCursor && (
+                    <div className="flex justify-center">
+                        <button
+                            onClick={loadMore}
+                            disabled={loadingMore}
+                            className="btn-secondary py-3 px-10 font-bold disabled:opacity-50"
+                        >
+                            {loadingMore ? 'Loading...' : 'Load More Jobs'}
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -13,9 +13,13 @@ import { Link, useNavigate } from 'react-router-dom';
 import api from '../utils/api';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 20;
+
 const MyJobs = () => {
     const [jobs, setJobs] = useState<any[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const navigate = useNavigate();
 
     useEffect(() => {
@@ -24,8 +28,9 @@ const MyJobs = () => {
 
     const fetchMyJobs = async () => {
         try {
-            const { data } = await api.get('/jobs/my-jobs');
-            setJobs(data.data);
+            const { data } = await api.get('/jobs/my-jobs', { params: { size: PAGE_SIZE } });
+            setJobs(data.data.items);
+            setNextCursor(data.data.nextCursor);
         } catch (err) {
             toast.error('Failed to load your jobs');
         } finally {
@@ -33,6 +38,20 @@ const MyJobs = () => {
         }
     };
 
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const { data } = await api.get('/jobs/my-jobs', { params: { cursor: nextCursor, size: PAGE_SIZE } });
+            setJobs(prev => [...prev, ...data.data.items]);
+            setNextCursor(data.data.nextCursor);
+        } catch (err) {
+            toast.error('Failed to load more jobs');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDeleteJob = async (id: string) => {
         if (!window.confirm('Are you sure you want to delete this job post?')) return;
         try {
@@ -83,7 +102,7 @@ const MyJobs = () => {
                                     key={job.id}
                                     initial={{ opacity: 0, y: 20 }}
                                     animate={{ opacity: 1, y: 0 }}
-                                    transition={{ delay: idx * 0.1 }}
+                                    transition={{ delay: (idx % PAGE_SIZE) * 0.1 }}
                                     className="glass-card flex flex-col md:flex-row items-center justify-between gap-6 hover:border-purple-500/30 group"
                                 >
                                     <div className="flex items-center gap-5 flex-1 w-full">
@@ -124,6 +143,17 @@ const MyJobs = () => {
                                 </motion.div>
                             ))}
                         </AnimatePresence>
+                        {nextCursor && (
+                            <div className="flex justify-center pt-4">
+                                <button
+                                    onClick={loadMore}
+                                    disabled={loadingMore}
+                                    className="btn-secondary py-3 px-10 font-bold disabled:opacity-50"
+                                >
+                                    {loadingMore ? 'Loading...' : 'Load More Jobs'}
+                                </button>
+                            </div>
+                        )}
                     </div>
                 )}
             </div>